@@ -0,0 +1,64 @@
+/*
+ * JMH harness for the benchmark of the event lists.
+ */
+package Benchmarks.jmh;
+
+import Benchmarks.EventQueueBenchmark;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simbase.EventList.CalendarQueueEventList;
+import simbase.EventList.TreeSetEventList;
+import simbase.EventPool;
+
+/**
+ * Runs {@link EventQueueBenchmark} under JMH: one event is dispatched and a
+ * new one scheduled per invocation, with a steady number of pending events.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class EventQueueBenchmarks {
+
+    /**
+     * The event list: TreeSet, Calendar or CalendarPooled.
+     */
+    @Param({"TreeSet", "Calendar", "CalendarPooled"})
+    public String eventList;
+    /**
+     * The number of pending events.
+     */
+    @Param({"1000", "100000"})
+    public int pendingEvents;
+    private EventQueueBenchmark benchmark;
+
+    @Setup
+    public void setUp() {
+        if (eventList.equals("TreeSet")) {
+            benchmark = new EventQueueBenchmark(new TreeSetEventList(), pendingEvents);
+        } else if (eventList.equals("Calendar")) {
+            benchmark = new EventQueueBenchmark(new CalendarQueueEventList(), pendingEvents);
+        } else if (eventList.equals("CalendarPooled")) {
+            benchmark = new EventQueueBenchmark(new CalendarQueueEventList(), pendingEvents, new EventPool());
+        } else {
+            throw new IllegalArgumentException("Unknown event list: " + eventList);
+        }
+    }
+
+    @Benchmark
+    public long addEventRunNextEvent() {
+        return benchmark.run(1);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * JMH harness for the benchmarks of the simulator hot paths.
+ */
+package Benchmarks.jmh;
+
+import Benchmarks.ChannelReserveBenchmark;
+import Benchmarks.FindOCSRouteBenchmark;
+import Benchmarks.FindWaveLengthBenchmark;
+import Benchmarks.NetworkMarkovCostBenchmark;
+import Benchmarks.PutMsgOnLinkBenchmark;
+import Benchmarks.SyntheticTopology;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs the benchmarks of the package Benchmarks under JMH, on a small and a
+ * large synthetic topology. Every invocation runs one operation of the
+ * benchmark. Build and run with:
+ *
+ * <pre>
+ * mvn -P jmh package
+ * java -jar target/benchmarks.jar HotPathBenchmarks
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HotPathBenchmarks {
+
+    /**
+     * The number of switches of the synthetic topology.
+     */
+    @Param({"8", "32"})
+    public int nrOfSwitches;
+    /**
+     * The number of wavelengths per link.
+     */
+    @Param({"16"})
+    public int wavelengths;
+    private FindOCSRouteBenchmark findOCSRoute;
+    private FindWaveLengthBenchmark findWaveLength;
+    private ChannelReserveBenchmark channelReserve;
+    private PutMsgOnLinkBenchmark putMsgOnLink;
+    private NetworkMarkovCostBenchmark networkMarkovCost;
+
+    @Setup
+    public void setUp() {
+        SyntheticTopology topology = new SyntheticTopology(nrOfSwitches, wavelengths);
+        findOCSRoute = new FindOCSRouteBenchmark(topology);
+        findWaveLength = new FindWaveLengthBenchmark(topology, 0.75);
+        channelReserve = new ChannelReserveBenchmark(topology, 10);
+        putMsgOnLink = new PutMsgOnLinkBenchmark(topology);
+
+        SyntheticTopology circuits = new SyntheticTopology(nrOfSwitches, wavelengths);
+        circuits.establishDefaultCircuits();
+        networkMarkovCost = new NetworkMarkovCostBenchmark(circuits, 1);
+    }
+
+    @Benchmark
+    public long findOCSRoute() {
+        return findOCSRoute.run(1);
+    }
+
+    @Benchmark
+    public long findWaveLength() {
+        return findWaveLength.run(1);
+    }
+
+    @Benchmark
+    public long channelReserve() {
+        return channelReserve.run(1);
+    }
+
+    @Benchmark
+    public long putMsgOnLink() {
+        return putMsgOnLink.run(1);
+    }
+
+    @Benchmark
+    public long networkMarkovCost() {
+        return networkMarkovCost.run(1);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Base class for the micro benchmarks of the simulator hot paths.
+ */
+package Benchmarks;
+
+import java.text.DecimalFormat;
+
+/**
+ * A micro benchmark. A benchmark runs a number of warm up iterations, so that
+ * the JIT compiler has done its work, and then a number of measured
+ * iterations. Every iteration calls {@link #run(int)} with the same number of
+ * operations; the result is reported as the mean time per operation and its
+ * standard deviation over the measured iterations.
+ */
+public abstract class Benchmark {
+
+    /**
+     * The name of the benchmark.
+     */
+    private String name;
+    /**
+     * Collects the results of run, so that the work can not be optimised away.
+     */
+    private long sink = 0;
+
+    /**
+     * Constructor
+     *
+     * @param name The name of the benchmark.
+     */
+    public Benchmark(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Runs a number of operations of this benchmark.
+     *
+     * @param operations The number of operations to run.
+     * @return A value which depends on the work done.
+     */
+    public abstract long run(int operations);
+
+    /**
+     * Runs the benchmark and prints the result.
+     *
+     * @param warmupIterations The number of iterations which are not measured.
+     * @param iterations The number of measured iterations.
+     * @param operations The number of operations per iteration.
+     * @return The mean time per operation, in nanoseconds.
+     */
+    public double measure(int warmupIterations, int iterations, int operations) {
+        for (int i = 0; i < warmupIterations; i++) {
+            sink += run(operations);
+        }
+        double sum = 0;
+        double squares = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            sink += run(operations);
+            double nsPerOperation = (double) (System.nanoTime() - start) / operations;
+            sum += nsPerOperation;
+            squares += nsPerOperation * nsPerOperation;
+        }
+        double mean = sum / iterations;
+        double deviation = iterations > 1
+                ? Math.sqrt(Math.max(0, (squares - iterations * mean * mean) / (iterations - 1))) : 0;
+
+        DecimalFormat format = new DecimalFormat("0.0");
+        StringBuffer buffer = new StringBuffer();
+        buffer.append(name);
+        do {
+            buffer.append(' ');
+        } while (buffer.length() < 48);
+        buffer.append(format.format(mean));
+        buffer.append(" ns/op +/- ");
+        buffer.append(format.format(deviation));
+        buffer.append("  (");
+        buffer.append(iterations);
+        buffer.append(" x ");
+        buffer.append(operations);
+        buffer.append(" ops, sink ");
+        buffer.append(sink % 10);
+        buffer.append(")");
+        System.out.println(buffer.toString());
+        return mean;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
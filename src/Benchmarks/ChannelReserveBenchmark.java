@@ -0,0 +1,53 @@
+/*
+ * Benchmark of LambdaChannelGroup.reserve.
+ */
+package Benchmarks;
+
+import Grid.Entity;
+import Grid.Nodes.LambdaChannelGroup;
+import Grid.Port.GridOutPort;
+
+/**
+ * Reserves micro-flow channels on one wavelength of a link. The clock advances
+ * by a fixed step every operation and every channel is reserved for a fixed
+ * time, so the group holds a steady number of channels, which expire as the
+ * clock passes their free again time.
+ */
+public class ChannelReserveBenchmark extends Benchmark {
+
+    private Entity source;
+    private Entity destination;
+    private LambdaChannelGroup channelGroup;
+    private double bandwidth;
+    private double reserveTime;
+    private double clock = 0;
+
+    /**
+     * Constructor
+     *
+     * @param topology The topology which contains the link.
+     * @param liveChannels The number of channels which are reserved at the
+     * same time.
+     */
+    public ChannelReserveBenchmark(SyntheticTopology topology, int liveChannels) {
+        super("LambdaChannelGroup.reserve channels=" + liveChannels);
+        source = (Entity) topology.getSwitches().get(0);
+        destination = (Entity) topology.getSwitches().get(1);
+        GridOutPort port = source.findOutPort(destination);
+        channelGroup = source.getChannelGroup(port, 0);
+        bandwidth = port.getLinkSpeed() / liveChannels;
+        reserveTime = liveChannels;
+    }
+
+    @Override
+    public long run(int operations) {
+        long reserved = 0;
+        for (int i = 0; i < operations; i++) {
+            clock += 1;
+            if (channelGroup.reserve(source, destination, bandwidth, clock, reserveTime) != null) {
+                reserved++;
+            }
+        }
+        return reserved;
+    }
+}
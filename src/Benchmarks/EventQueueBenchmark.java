@@ -0,0 +1,78 @@
+/*
+ * Benchmark of SimBaseSimulator.addEvent and runNextEvent.
+ */
+package Benchmarks;
+
+import java.util.Random;
+import simbase.EventList.SimBaseEventList;
+import simbase.EventPool;
+import simbase.Exceptions.StopException;
+import simbase.Exceptions.TimeException;
+import simbase.SimBaseDefaultEntityImpl;
+import simbase.SimBaseMessage;
+import simbase.SimBaseSimulator;
+import simbase.Time;
+
+/**
+ * Hold model on the event list of the simulator: the queue is filled with a
+ * fixed number of pending events, and every operation executes the first
+ * event and schedules a new one, exponentially distributed in the future.
+ */
+public class EventQueueBenchmark extends Benchmark {
+
+    private SimBaseSimulator simulator;
+    private SimBaseDefaultEntityImpl sink;
+    private SimBaseMessage message = new SimBaseMessage("HOLD");
+    private Random random = new Random(42);
+
+    /**
+     * Constructor
+     *
+     * @param events The (empty) event list to benchmark.
+     * @param pendingEvents The number of events in the queue.
+     */
+    public EventQueueBenchmark(SimBaseEventList events, int pendingEvents) {
+        this(events, pendingEvents, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param events The (empty) event list to benchmark.
+     * @param pendingEvents The number of events in the queue.
+     * @param pool The pool to recycle the events in, null to allocate them.
+     */
+    public EventQueueBenchmark(SimBaseEventList events, int pendingEvents, EventPool pool) {
+        super("addEvent/runNextEvent " + events.getClass().getSimpleName() + " n=" + pendingEvents
+                + (pool != null ? " pooled" : ""));
+        simulator = new SimBaseSimulator(events);
+        simulator.setEventPool(pool);
+        sink = new SimBaseDefaultEntityImpl("SINK", simulator);
+        simulator.register(sink);
+        for (int i = 0; i < pendingEvents; i++) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        try {
+            Time time = new Time(simulator.getMasterClock().getTime() - 10 * Math.log(1 - random.nextDouble()));
+            simulator.addEvent(sink.getSelfIn(), message, time);
+        } catch (TimeException e) {
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    @Override
+    public long run(int operations) {
+        try {
+            for (int i = 0; i < operations; i++) {
+                simulator.runNextEvent();
+                schedule();
+            }
+        } catch (StopException e) {
+            throw new IllegalStateException(e.getMessage());
+        }
+        return simulator.getEventCount();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Benchmark of Routing.findOCSRoute.
+ */
+package Benchmarks;
+
+import Grid.Interfaces.Switch;
+import Grid.Route;
+import Grid.Routing.Routing;
+import java.util.List;
+
+/**
+ * Looks up the OCS route between all pairs of switches of the topology, in
+ * turn.
+ */
+public class FindOCSRouteBenchmark extends Benchmark {
+
+    private Routing routing;
+    private List<Switch> switches;
+    private int source = 0;
+    private int destination = 1;
+
+    /**
+     * Constructor
+     *
+     * @param topology The topology on which the routes are looked up.
+     */
+    public FindOCSRouteBenchmark(SyntheticTopology topology) {
+        super("Routing.findOCSRoute n=" + topology.getSwitches().size());
+        routing = topology.getSimulator().getPhysicTopology();
+        switches = topology.getSwitches();
+    }
+
+    @Override
+    public long run(int operations) {
+        long hops = 0;
+        for (int i = 0; i < operations; i++) {
+            Route route = routing.findOCSRoute(switches.get(source), switches.get(destination));
+            hops += route.size();
+            destination++;
+            if (destination == switches.size()) {
+                destination = 0;
+                source = (source + 1) % switches.size();
+            }
+            if (destination == source) {
+                destination = (destination + 1) % switches.size();
+            }
+        }
+        return hops;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Benchmark of Entity.findWaveLength.
+ */
+package Benchmarks;
+
+import Grid.Entity;
+import Grid.Port.GridOutPort;
+import simbase.Time;
+
+/**
+ * Looks up a free wavelength on a link of which a fraction of the
+ * wavelengths is busy: half of the busy wavelengths are used by circuits, the
+ * other half is still sending.
+ */
+public class FindWaveLengthBenchmark extends Benchmark {
+
+    private Entity owner;
+    private GridOutPort port;
+    private Time refTime = new Time(1);
+
+    /**
+     * Constructor
+     *
+     * @param topology The topology which contains the link.
+     * @param busyFraction The fraction of the wavelengths which is busy.
+     */
+    public FindWaveLengthBenchmark(SyntheticTopology topology, double busyFraction) {
+        super("Entity.findWaveLength busy=" + busyFraction);
+        owner = (Entity) topology.getSwitches().get(0);
+        port = owner.findOutPort((Entity) topology.getSwitches().get(1));
+        int busy = (int) (busyFraction * port.getMaxNumberOfWavelengths());
+        for (int wavelength = 0; wavelength < busy; wavelength++) {
+            if (wavelength % 2 == 0) {
+                port.addWavelength(wavelength);
+            } else {
+                owner.setPortFreeAgainTime(port, wavelength, new Time(Double.MAX_VALUE));
+            }
+        }
+    }
+
+    @Override
+    public long run(int operations) {
+        long sum = 0;
+        for (int i = 0; i < operations; i++) {
+            sum += owner.findWaveLength(port, refTime);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Benchmark of PCE.getNetworkMarkovCost.
+ */
+package Benchmarks;
+
+import Grid.Entity;
+import Grid.Interfaces.ClientNode;
+import Grid.Interfaces.ResourceNode;
+import Grid.Nodes.PCE;
+import java.util.List;
+
+/**
+ * Calculates the Markov network cost from every client to every resource of
+ * the topology, in turn.
+ */
+public class NetworkMarkovCostBenchmark extends Benchmark {
+
+    private PCE pce;
+    private List<ClientNode> clients;
+    private List<ResourceNode> resources;
+    private double jobSize;
+    private int client = 0;
+    private int resource = 0;
+
+    /**
+     * Constructor
+     *
+     * @param topology The topology on which the costs are calculated, with
+     * the default circuits established.
+     * @param jobSize The size of the jobs.
+     */
+    public NetworkMarkovCostBenchmark(SyntheticTopology topology, double jobSize) {
+        super("PCE.getNetworkMarkovCost n=" + topology.getSwitches().size());
+        pce = new PCE("PCE", topology.getSimulator(), 1, 1);
+        clients = topology.getClients();
+        resources = topology.getResources();
+        this.jobSize = jobSize;
+    }
+
+    @Override
+    public long run(int operations) {
+        double sum = 0;
+        for (int i = 0; i < operations; i++) {
+            sum += pce.getNetworkMarkovCost((Entity) resources.get(resource), (Entity) clients.get(client), jobSize, false, null);
+            resource++;
+            if (resource == resources.size()) {
+                resource = 0;
+                client = (client + 1) % clients.size();
+            }
+        }
+        return (long) sum;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Benchmark of OCSSwitchSender.putMsgOnLink.
+ */
+package Benchmarks;
+
+import Grid.Entity;
+import Grid.Nodes.Hybrid.Parallel.HybridSwitchImpl;
+import Grid.Interfaces.Messages.JobMessage;
+import Grid.Port.GridOutPort;
+import Grid.Sender.Hybrid.Parallel.HybridSwitchSender;
+import Grid.Sender.OCS.OCSSwitchSender;
+import simbase.Time;
+
+/**
+ * Puts job messages from a client to a resource on the link between the two
+ * first switches, as the head of an OCS circuit. The clock advances every
+ * operation, so earlier reservations expire. The events the sender schedules
+ * are removed at the start of every iteration.
+ */
+public class PutMsgOnLinkBenchmark extends Benchmark {
+
+    private SyntheticTopology topology;
+    private OCSSwitchSender sender;
+    private GridOutPort port;
+    private JobMessage message;
+    private double clock = 0;
+
+    /**
+     * Constructor
+     *
+     * @param topology The topology which contains the link.
+     */
+    public PutMsgOnLinkBenchmark(SyntheticTopology topology) {
+        super("OCSSwitchSender.putMsgOnLink");
+        this.topology = topology;
+        HybridSwitchImpl owner = (HybridSwitchImpl) topology.getSwitches().get(0);
+        sender = (OCSSwitchSender) ((HybridSwitchSender) owner.getSender()).getOcsSender();
+        port = owner.findOutPort((Entity) topology.getSwitches().get(1));
+
+        message = new JobMessage("BENCHMARK", new Time(0));
+        message.setSource((Entity) topology.getClients().get(0));
+        message.setDestination((Entity) topology.getResources().get(1));
+        message.setSize(1);
+        message.setWavelengthID(0);
+    }
+
+    @Override
+    public long run(int operations) {
+        topology.getSimulator().getEvents().clear();
+        long sent = 0;
+        for (int i = 0; i < operations; i++) {
+            clock += 0.01;
+            if (sender.putMsgOnLink(message, port, new Time(clock), true, 1)) {
+                sent++;
+            }
+        }
+        return sent;
+    }
+}
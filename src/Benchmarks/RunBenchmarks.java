@@ -0,0 +1,51 @@
+/*
+ * Runs the micro benchmarks of the simulator hot paths.
+ */
+package Benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import simbase.EventList.CalendarQueueEventList;
+import simbase.EventList.TreeSetEventList;
+import simbase.EventPool;
+
+/**
+ * Runs the benchmarks. The arguments are, all optional:
+ * <ol>
+ * <li>the number of switches of the synthetic topology (default 16)</li>
+ * <li>the number of wavelengths per link (default 16)</li>
+ * <li>the number of measured iterations (default 10)</li>
+ * <li>a part of the name of the benchmarks to run (default all)</li>
+ * </ol>
+ * Use a small topology and a large one to see how the hot paths scale.
+ */
+public class RunBenchmarks {
+
+    public static void main(String[] args) {
+        int nrOfSwitches = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int wavelengths = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        String filter = args.length > 3 ? args[3] : "";
+
+        SyntheticTopology topology = new SyntheticTopology(nrOfSwitches, wavelengths);
+
+        List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+        benchmarks.add(new EventQueueBenchmark(new TreeSetEventList(), 10000));
+        benchmarks.add(new EventQueueBenchmark(new CalendarQueueEventList(), 10000));
+        benchmarks.add(new EventQueueBenchmark(new CalendarQueueEventList(), 10000, new EventPool()));
+        benchmarks.add(new FindOCSRouteBenchmark(topology));
+        benchmarks.add(new FindWaveLengthBenchmark(topology, 0.75));
+        benchmarks.add(new ChannelReserveBenchmark(topology, 10));
+        benchmarks.add(new PutMsgOnLinkBenchmark(topology));
+
+        SyntheticTopology circuits = new SyntheticTopology(nrOfSwitches, wavelengths);
+        circuits.establishDefaultCircuits();
+        benchmarks.add(new NetworkMarkovCostBenchmark(circuits, 1));
+
+        for (Benchmark benchmark : benchmarks) {
+            if (benchmark.getName().contains(filter)) {
+                benchmark.measure(iterations / 2 + 1, iterations, 10000);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * A generated hybrid topology of a given size, used by the benchmarks.
+ */
+package Benchmarks;
+
+import Grid.GridSimulation;
+import Grid.GridSimulator;
+import Grid.Entity;
+import Grid.Interfaces.ClientNode;
+import Grid.Interfaces.ResourceNode;
+import Grid.Interfaces.ServiceNode;
+import Grid.Interfaces.Switch;
+import Grid.Utilities.Config;
+import Grid.Utilities.Util;
+import java.util.ArrayList;
+import java.util.List;
+import simbase.Exceptions.StopException;
+import simbase.SimulationInstance;
+
+/**
+ * A hybrid OBS/OCS topology of configurable size: a ring of hybrid switches,
+ * where every other switch also has a chord to the switch on the opposite
+ * side of the ring. Every switch has a client and a resource attached, and
+ * the broker is attached to the first switch.
+ */
+public class SyntheticTopology {
+
+    private SimulationInstance simInstance;
+    private GridSimulator simulator;
+    private ServiceNode broker;
+    private List<Switch> switches = new ArrayList<Switch>();
+    private List<ClientNode> clients = new ArrayList<ClientNode>();
+    private List<ResourceNode> resources = new ArrayList<ResourceNode>();
+
+    /**
+     * Creates, routes and initialises the topology.
+     *
+     * @param nrOfSwitches The number of switches in the ring, at least 3.
+     * @param wavelengths The number of wavelengths on every link.
+     */
+    public SyntheticTopology(int nrOfSwitches, int wavelengths) {
+        if (nrOfSwitches < 3) {
+            throw new IllegalArgumentException("A ring needs at least 3 switches: " + nrOfSwitches);
+        }
+        Config configuration = new Config();
+        configuration.setProperty(Config.ConfigEnum.defaultWavelengths.toString(), Integer.toString(wavelengths));
+        // Whatever the configuration file says, the benchmarks must not time the log.
+        configuration.setProperty(Config.ConfigEnum.output.toString(), "false");
+
+        simulator = new GridSimulator(configuration);
+        simInstance = new GridSimulation(simulator);
+        broker = Util.createHybridServiceNode("BROKER", simulator);
+
+        for (int i = 0; i < nrOfSwitches; i++) {
+            Switch sw = Util.createHybridSwitch("SWITCH" + i, simulator);
+            ClientNode client = Util.createHybridClient("CLIENT" + i, simulator, broker);
+            ResourceNode resource = Util.createHyridResourceNode("RESOURCE" + i, simulator);
+            resource.addServiceNode(broker);
+            Util.createBiDirectionalLink(client, sw);
+            Util.createBiDirectionalLink(resource, sw);
+            switches.add(sw);
+            clients.add(client);
+            resources.add(resource);
+        }
+        Util.createBiDirectionalLink(broker, switches.get(0));
+        for (int i = 0; i < nrOfSwitches; i++) {
+            Util.createBiDirectionalLink(switches.get(i), switches.get((i + 1) % nrOfSwitches));
+            int opposite = i + nrOfSwitches / 2;
+            if (i % 2 == 0 && opposite < nrOfSwitches && nrOfSwitches > 4) {
+                Util.createBiDirectionalLink(switches.get(i), switches.get(opposite));
+            }
+        }
+
+        simulator.route();
+        simulator.initEntities();
+    }
+
+    /**
+     * Sets up a permanent OCS circuit in both directions over every link
+     * between two switches, and runs the simulator until all of them are
+     * established. The PCE expects these default circuits. Pending events,
+     * such as the first jobs of the clients, are dropped.
+     */
+    public void establishDefaultCircuits() {
+        simulator.getEvents().clear();
+        for (int i = 0; i < switches.size(); i++) {
+            Entity sw = (Entity) switches.get(i);
+            for (int j = 0; j < switches.size(); j++) {
+                Entity other = (Entity) switches.get(j);
+                if (i != j && sw.findOutPort(other) != null) {
+                    Util.createOCSCircuit(sw, other, simulator, true);
+                }
+            }
+        }
+        try {
+            while (!simulator.getEvents().isEmpty()) {
+                simulator.runNextEvent();
+            }
+        } catch (StopException e) {
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    public GridSimulator getSimulator() {
+        return simulator;
+    }
+
+    public SimulationInstance getSimInstance() {
+        return simInstance;
+    }
+
+    public ServiceNode getBroker() {
+        return broker;
+    }
+
+    public List<Switch> getSwitches() {
+        return switches;
+    }
+
+    public List<ClientNode> getClients() {
+        return clients;
+    }
+
+    public List<ResourceNode> getResources() {
+        return resources;
+    }
+}
@@ -8,6 +8,13 @@ import simbase.SimBaseSimulator;
 /**
  * Discrete value hyper exponential distribution number generator. Call the
  * {@link #sample()} or {@link #sampleDouble()} method to generate samples.
+ * <p>
+ * By default the inverse of the distribution function is searched by
+ * bisection for every sample. In exact mode, see {@link #setExact}, the
+ * uniform sample selects a phase and is then rescaled to an exponential
+ * sample of that phase. This is exact, takes a single logarithm and uses
+ * one random number per sample, like the bisection; the samples differ,
+ * so the default is kept for existing experiments.
  * 
  * @version 2.0
  */
@@ -28,6 +35,17 @@ public class DDHyperExp extends DiscreteDistribution {
 	 */
 	private double[] chances;
 
+	/**
+	 * Whether the samples are drawn exactly, per phase.
+	 */
+	private boolean exact = false;
+
+	/**
+	 * The cumulative chances of the phases, normalised so that the last one
+	 * is 1. Calculated on the first exact sample.
+	 */
+	private transient double[] cumulativeChances;
+
 	/**
 	 * Constructor.
 	 */
@@ -59,6 +77,28 @@ public class DDHyperExp extends DiscreteDistribution {
 					"Array lengths are not the same !!!");
 	}
 
+	/**
+	 * Constructor. A SimBaseSimulator object is used to provide the random
+	 * {@link #engine engine}.
+	 * 
+	 * @param sim
+	 *            the SimBaseSimulator object associated with this instance.
+	 *            Will use the engine from that object.
+	 * @param lambdas
+	 *            the averages for the different phases of the hyper exponential
+	 *            distribution
+	 * @param chances
+	 *            the chances for the different phases of the hyper exponential
+	 *            distribution
+	 * @param exact
+	 *            true to sample exactly per phase, false to use bisection
+	 */
+	public DDHyperExp(SimBaseSimulator sim, double[] lambdas, double[] chances,
+			boolean exact) {
+		this(sim, lambdas, chances);
+		this.exact = exact;
+	}
+
 	/**
 	 * Searches an interval in which the desired value is situated
 	 * 
@@ -83,6 +123,39 @@ public class DDHyperExp extends DiscreteDistribution {
 			return calculate(p, high, high * 10);
 	}
 
+	/**
+	 * Inverts the chance p exactly: p selects the phase, and its position
+	 * within the chance of that phase is a uniform sample which is inverted
+	 * for the negative exponential distribution of the phase.
+	 * 
+	 * @param p
+	 *            the chance to invert
+	 * @return the inverse of the given chance p
+	 */
+	private double calculateExact(double p) {
+		if (cumulativeChances == null) {
+			double[] cumulative = new double[chances.length];
+			double total = 0;
+			for (int i = 0; i < chances.length; i++) {
+				total += chances[i];
+				cumulative[i] = total;
+			}
+			for (int i = 0; i < cumulative.length; i++)
+				cumulative[i] /= total;
+			cumulative[cumulative.length - 1] = 1;
+			cumulativeChances = cumulative;
+		}
+		int phase = 0;
+		while (phase < cumulativeChances.length - 1
+				&& p >= cumulativeChances[phase])
+			phase++;
+		double low = phase == 0 ? 0 : cumulativeChances[phase - 1];
+		double survival = 1 - (p - low) / (cumulativeChances[phase] - low);
+		if (survival <= 0)
+			survival = Double.MIN_VALUE;
+		return -lambdas[phase] * Math.log(survival);
+	}
+
 	/**
 	 * Calculates the inverse of p in the given interval
 	 * 
@@ -133,6 +206,8 @@ public class DDHyperExp extends DiscreteDistribution {
 	 * @return a sample from the discrete hyper exponential distribution
 	 */
 	public long sample() {
+		if (exact)
+			return (long) calculateExact(engine.nextDouble());
 		return (long) calculate(engine.nextDouble(), Double.MIN_VALUE, 0.01);
 	}
 
@@ -143,6 +218,8 @@ public class DDHyperExp extends DiscreteDistribution {
 	 */
 	public double sampleDouble() {
 		double val = engine.nextDouble();
+		if (exact)
+			return calculateExact(val);
 		return calculate(val, Double.MIN_VALUE, 0.01);
 	}
 
@@ -164,6 +241,7 @@ public class DDHyperExp extends DiscreteDistribution {
 
     public void setChances(double[] chances) {
         this.chances = chances;
+        cumulativeChances = null;
     }
 
     public double[] getLambdas() {
@@ -174,4 +252,16 @@ public class DDHyperExp extends DiscreteDistribution {
         this.lambdas = lambdas;
     }
 
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * @param exact true to sample exactly per phase, false to search the
+     *            inverse of the distribution function by bisection
+     */
+    public void setExact(boolean exact) {
+        this.exact = exact;
+    }
+
 }
\ No newline at end of file
@@ -7,7 +7,9 @@
  *
  * This entity also follows the MVC design pattern. We can plug in different
  * listeners {@link ChangeListener} which listen to events generated by this
- * entity. This is mainly for personal stat checking and updates.
+ * entity. This is mainly for personal stat checking and updates. The listeners
+ * are notified of every change, or when the simulator has a
+ * {@link StateSampler}, at its sampling interval.
  *
  * @version 2.0
  */
@@ -18,20 +20,22 @@ import Grid.Nodes.LambdaChannelGroup;
 import Grid.OCS.OCSRoute;
 import Grid.Port.GridOutPort;
 import Grid.Routing.Routing;
+import Grid.Utilities.ConfigSnapshot;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import javax.swing.event.EventListenerList;
 import simbase.Exceptions.StopException;
 import simbase.Port.SimBaseInPort;
 import simbase.Port.SimBaseOutPort;
+import simbase.SimBaseEntity;
 import simbase.SimBaseEntityImpl;
 import simbase.SimBaseMessage;
+import simbase.StateSampler;
 import simbase.Stats.Logger;
 import simbase.Time;
 
@@ -39,7 +43,7 @@ import simbase.Time;
  *
  * @author Jens Buysse
  */
-public abstract class Entity extends SimBaseEntityImpl {
+public abstract class Entity extends SimBaseEntityImpl implements StateSampler.Target {
 
     /**
      * A list of used OCS Wavelengths which are used by this entity.
@@ -50,21 +54,71 @@ public abstract class Entity extends SimBaseEntityImpl {
      */
     protected GridSimulator gridSim;
     /**
-     * Map containing mapping between outport and the time it is back free.
+     * The configuration of the simulator, as it was when the simulator was
+     * created.
      */
-    protected Map<GridOutPort, Map<Integer, Time>> portUsage;
+    protected ConfigSnapshot configSnapshot;
+    /**
+     * The index of this entity in the recorded hops of the messages, -1 until
+     * it is first recorded. See {@link GridSimulator#getHopIndex(Entity)}.
+     */
+    int hopIndex = -1;
+    /**
+     * The outports this entity had at init, on their index. The per wavelength
+     * tables below are indexed by [port index][wavelength].
+     */
+    protected GridOutPort[] indexedOutPorts = new GridOutPort[0];
+    /**
+     * The time each wavelength of each outport is back free.
+     */
+    protected double[][] portUsage = new double[0][];
+    /**
+     * The outports on the entity at their other end, filled lazily when the
+     * ports change. If several ports lead to the same entity they are kept in
+     * the order they were added.
+     */
+    private transient Map<SimBaseEntity, List<GridOutPort>> outPortsTo;
+    /**
+     * The outports on their id, filled lazily when the ports change.
+     */
+    private transient Map<String, GridOutPort> outPortsById;
     /**
      * List of registred listeners.
      */
     protected EventListenerList listenerList = new EventListenerList();
     /**
-     * ID for the OCS requests
+     * The micro-flow channels of each wavelength of each outport.
      */
-    public static int OCSRequestID = 0;
-    protected Map<GridOutPort, Map<Integer, LambdaChannelGroup>> mapLinkUsage;
+    protected LambdaChannelGroup[][] mapLinkUsage = new LambdaChannelGroup[0][];
 
-    public Map<GridOutPort, Map<Integer, LambdaChannelGroup>> getMapLinkUsage() {
-        return mapLinkUsage;
+    /**
+     * Returns the channels of a wavelength of an outport.
+     *
+     * @param port The outport.
+     * @param lambda The wavelength.
+     * @return The channel group, or null if the port was not on this entity
+     * at init or has no such wavelength.
+     */
+    public LambdaChannelGroup getChannelGroup(GridOutPort port, int lambda) {
+        int index = indexOf(port);
+        if (index < 0 || lambda < 0 || lambda >= mapLinkUsage[index].length) {
+            return null;
+        }
+        return mapLinkUsage[index][lambda];
+    }
+
+    /**
+     * Returns the index of an outport in the per wavelength tables.
+     *
+     * @param port The outport.
+     * @return The index, or -1 if the port was not on this entity at init.
+     */
+    protected int indexOf(GridOutPort port) {
+        int index = port.getIndex();
+        if (index >= 0 && index < indexedOutPorts.length && indexedOutPorts[index] == port) {
+            return index;
+        }
+        return -1;
     }
 
     /**
@@ -91,9 +145,31 @@ public abstract class Entity extends SimBaseEntityImpl {
     private final ChangeEvent changeEvent = new ChangeEvent(this);
 
     /**
-     * Handle a change Event and notify all listeners.
+     * Handle a change Event and notify all listeners. Does nothing if there
+     * are no listeners, or if the state is sampled.
      */
     protected void fireStateChanged() {
+        if (listenerList.getListenerCount() > 0
+                && (simulator == null || simulator.getStateSampler() == null)) {
+            notifyChangeListeners();
+        }
+    }
+
+    /**
+     * Notifies the listeners of a sample of the state.
+     *
+     * @param time The time of the sample.
+     */
+    public void sampleState(Time time) {
+        if (listenerList.getListenerCount() > 0) {
+            notifyChangeListeners();
+        }
+    }
+
+    /**
+     * Notifies all listeners.
+     */
+    private void notifyChangeListeners() {
         Object[] listeners = listenerList.getListenerList();
         for (int i = listeners.length - 2; i >= 0; i -= 2) {
             if (listeners[i] == ChangeListener.class) {
@@ -111,8 +187,7 @@ public abstract class Entity extends SimBaseEntityImpl {
     public Entity(String id, GridSimulator simulator) {
         super(id, simulator);
         inited = false;
-        portUsage = new TreeMap();
-        this.gridSim = simulator;
+        setGridSim(simulator);
     }
 
     @Override
@@ -121,29 +196,19 @@ public abstract class Entity extends SimBaseEntityImpl {
         Iterator<SimBaseOutPort> it = this.getOutPorts().iterator();
 
         //initialise the wavelengts for the links
-        while (it.hasNext()) {
+        int nrOfPorts = getOutPorts().size();
+        indexedOutPorts = new GridOutPort[nrOfPorts];
+        portUsage = new double[nrOfPorts][];
+        mapLinkUsage = new LambdaChannelGroup[nrOfPorts][];
+        for (int index = 0; it.hasNext(); index++) {
             GridOutPort outPort = (GridOutPort) it.next();
-            Map<Integer, Time> mappings = new TreeMap();
+            outPort.setIndex(index);
+            indexedOutPorts[index] = outPort;
+            portUsage[index] = new double[outPort.getMaxNumberOfWavelengths()];
+            mapLinkUsage[index] = new LambdaChannelGroup[outPort.getMaxNumberOfWavelengths()];
             for (int i = 0; i < outPort.getMaxNumberOfWavelengths(); i++) {
-                mappings.put(new Integer(i), new Time(0));
+                mapLinkUsage[index][i] = new LambdaChannelGroup(outPort, i, simulator);
             }
-            portUsage.put(outPort, mappings);
-        }
-
-        mapLinkUsage = new HashMap<GridOutPort, Map<Integer, LambdaChannelGroup>>();
-
-
-        for (SimBaseOutPort simBaseOutPort : getOutPorts()) {
-            GridOutPort outPort = (GridOutPort) simBaseOutPort;
-            Map<Integer, LambdaChannelGroup> map = new HashMap<Integer, LambdaChannelGroup>();
-
-            mapLinkUsage.put(outPort, map);
-
-            for (int i = 0; i < outPort.getMaxNumberOfWavelengths(); i++) {
-                map.put(i, new LambdaChannelGroup(outPort, i, simulator));
-            }
-
-
         }
 
 
@@ -151,8 +216,10 @@ public abstract class Entity extends SimBaseEntityImpl {
         if (simulator != null) {
             inited = true;
             route();
-            simulator.putLog(currentTime, id
-                    + " successfully created.", Logger.BLACK, 0, 0);
+            if (simulator.isLogEnabled(Logger.BLACK)) {
+                simulator.putLog(currentTime, id
+                        + " successfully created.", Logger.BLACK, 0, 0);
+            }
         }
 
 
@@ -170,46 +237,86 @@ public abstract class Entity extends SimBaseEntityImpl {
      * @return True if it is free, false if not
      */
     public boolean isOutPortFree(GridOutPort port, int lambda, Time t) {
-        Map<Integer, Time> map = portUsage.get(port);
-        if (map == null) {
-            //the outport is not in the map
+        return isOutPortFree(port, lambda, t.getTime());
+    }
+
+    /**
+     * Checks wheter this outport is free (the entity is not sending on it)
+     *
+     * @param port The port which has to be checked.
+     * @param lambda The wavelength on which we want to send.
+     * @param t The time when we want to send it.
+     * @return True if it is free, false if not
+     */
+    public boolean isOutPortFree(GridOutPort port, int lambda, double t) {
+        int index = indexOf(port);
+        if (index < 0) {
+            //the outport is not in the table
             return false;
+        } else if (lambda < 0 || lambda >= portUsage[index].length) {
+            //link has never been used so it is free
+            return true;
         } else {
-            //ouport in the map
-            Time time = map.get(new Integer(lambda));
-            if (time == null) {
-                //link has never been used so it is free
-                return true;
-            } else {
-                if (t.compareTo(time) > 0) {
-                    //the link is free
-                    return true;
-                } else {
-                    //link is not free
-                    return false;
-                }
-            }
+            //free if the link is free again before t
+            return t > portUsage[index][lambda];
         }
     }
 
+    /**
+     * Returns the time a wavelength of an outport is back free.
+     *
+     * @param port The outport.
+     * @param lambda The wavelength.
+     * @return The time the wavelength is back free.
+     */
+    public double getPortFreeAgainTime(GridOutPort port, int lambda) {
+        return portUsage[indexOf(port)][lambda];
+    }
+
+    /**
+     * Sets the time a wavelength of an outport is back free.
+     *
+     * @param port The outport.
+     * @param lambda The wavelength.
+     * @param freeAgainTime The time the wavelength is back free.
+     */
+    public void setPortFreeAgainTime(GridOutPort port, int lambda, Time freeAgainTime) {
+        setPortFreeAgainTime(port, lambda, freeAgainTime.getTime());
+    }
+
+    /**
+     * Sets the time a wavelength of an outport is back free.
+     *
+     * @param port The outport.
+     * @param lambda The wavelength.
+     * @param freeAgainTime The time the wavelength is back free.
+     */
+    public void setPortFreeAgainTime(GridOutPort port, int lambda, double freeAgainTime) {
+        portUsage[indexOf(port)][lambda] = freeAgainTime;
+    }
+
     public boolean isAnyChannelFree(double bandwidthRequested, GridOutPort port, int lambda, Time t) {
+        return isAnyChannelFree(bandwidthRequested, port, lambda, t.getTime());
+    }
 
-        Map<Integer, LambdaChannelGroup> map = mapLinkUsage.get(port);
-        LambdaChannelGroup lambdaChannelGroup = map.get(lambda);
-        return lambdaChannelGroup.isWavelengthFree(bandwidthRequested, t.getTime());
+    public boolean isAnyChannelFree(double bandwidthRequested, GridOutPort port, int lambda, double t) {
+        return getChannelGroup(port, lambda).isWavelengthFree(bandwidthRequested, t);
     }
 
     public double getFreeBandwidth(GridOutPort port, int lambda, Time t) {
+        return getFreeBandwidth(port, lambda, t.getTime());
+    }
 
-        Map<Integer, LambdaChannelGroup> map = mapLinkUsage.get(port);
-        LambdaChannelGroup lambdaChannelGroup = map.get(lambda);
-            return lambdaChannelGroup.getFreeBandwidth(t.getTime());
-        }
+    public double getFreeBandwidth(GridOutPort port, int lambda, double t) {
+        return getChannelGroup(port, lambda).getFreeBandwidth(t);
+    }
 
     public int getChannelsSize(GridOutPort port, int lambda, Time t) {
-        Map<Integer, LambdaChannelGroup> map = mapLinkUsage.get(port);
-        LambdaChannelGroup lambdaChannelGroup = map.get(lambda);
-        return lambdaChannelGroup.getChannelsSize(t.getTime());
+        return getChannelsSize(port, lambda, t.getTime());
+    }
+
+    public int getChannelsSize(GridOutPort port, int lambda, double t) {
+        return getChannelGroup(port, lambda).getChannelsSize(t);
     }
 
     public LambdaChannelGroup.Channel reserve(
@@ -221,12 +328,22 @@ public abstract class Entity extends SimBaseEntityImpl {
             Time t,
             double timeReserve) {
 
-        Map<Integer, LambdaChannelGroup> map = mapLinkUsage.get(port);
-        LambdaChannelGroup lambdaChannelGroup = map.get(lambda);
-        return lambdaChannelGroup.reserve(entitySource, entityDestination, bandwidthRequested, t.getTime(), timeReserve);
+        return reserve(entitySource, entityDestination, bandwidthRequested, port, lambda, t.getTime(), timeReserve);
 
     }
 
+    public LambdaChannelGroup.Channel reserve(
+            Entity entitySource,
+            Entity entityDestination,
+            double bandwidthRequested,
+            GridOutPort port,
+            int lambda,
+            double t,
+            double timeReserve) {
+
+        return getChannelGroup(port, lambda).reserve(entitySource, entityDestination, bandwidthRequested, t, timeReserve);
+    }
+
     /**
      * Finds a wavelength that is free, given an outport (link) to take. The way
      * it is chosen is at random and when only one wavelength exist 0 is chosen
@@ -239,18 +356,25 @@ public abstract class Entity extends SimBaseEntityImpl {
      * occupied.
      */
     public int findWaveLength(GridOutPort port, Time refTime) {
-        Map<Integer, Time> map = portUsage.get(port);
+        return findWaveLength(port, refTime.getTime());
+    }
+
+    /**
+     * Finds a wavelength that is free, given an outport (link) to take.
+     *
+     * @param port The GridOutPort on which the message needs to be send.
+     * @param time The time at which the wavelength has to be free.
+     * @return A positive integer (wavelength), or -1 if all wavelengths are
+     * occupied.
+     * @see #findWaveLength(GridOutPort, Time)
+     */
+    public int findWaveLength(GridOutPort port, double time) {
         int maxWaveLengths = port.getMaxNumberOfWavelengths();
         if (maxWaveLengths > 0) {
-
-            for (int iterator = 0; iterator < maxWaveLengths; iterator++) {
-                if (!port.isWaveUsedInCircuit(iterator)) {
-                    Integer wave = iterator;
-                    Time time = map.get(wave);
-                    if (time.compareTo(refTime) < 0) {
-                        int waveValue = wave.intValue();
-                        return waveValue;
-                    }
+            double[] times = portUsage[indexOf(port)];
+            for (int wave = port.getNexFreeWavelength(); wave != -1; wave = port.getNextFreeWavelength(wave + 1)) {
+                if (times[wave] < time) {
+                    return wave;
                 }
             }
         }
@@ -277,14 +401,15 @@ public abstract class Entity extends SimBaseEntityImpl {
      * @return The outgoing
      */
     public GridOutPort getOutport(String id) {
-        Iterator it = getOutPorts().iterator();
-        while (it.hasNext()) {
-            GridOutPort port = (GridOutPort) it.next();
-            if (port.getID().equals(id)) {
-                return port;
+        if (outPortsById == null) {
+            outPortsById = new HashMap<String, GridOutPort>();
+            for (SimBaseOutPort port : outPorts) {
+                if (!outPortsById.containsKey(port.getID())) {
+                    outPortsById.put(port.getID(), (GridOutPort) port);
+                }
             }
         }
-        return null;
+        return outPortsById.get(id);
     }
 
     /**
@@ -294,14 +419,46 @@ public abstract class Entity extends SimBaseEntityImpl {
      * @return The outgoing
      */
     public GridOutPort getOutportTo(Entity entity) {
-        Iterator it = getOutPorts().iterator();
-        while (it.hasNext()) {
-            GridOutPort port = (GridOutPort) it.next();
-            if (port.getID().endsWith(entity.getId())) {
-                return port;
+        return findOutPort(entity);
+    }
+
+    /**
+     * Returns the outports which lead to the given entity.
+     *
+     * @param entity The entity at the other end of the ports.
+     * @return The ports, in the order they were added, or null if there are
+     * none.
+     */
+    private List<GridOutPort> getOutPortsTo(SimBaseEntity entity) {
+        if (outPortsTo == null) {
+            outPortsTo = new HashMap<SimBaseEntity, List<GridOutPort>>();
+            for (SimBaseOutPort port : outPorts) {
+                if (port.getTarget() != null) {
+                    SimBaseEntity target = port.getTarget().getOwner();
+                    List<GridOutPort> ports = outPortsTo.get(target);
+                    if (ports == null) {
+                        ports = new ArrayList<GridOutPort>(1);
+                        outPortsTo.put(target, ports);
+                    }
+                    ports.add((GridOutPort) port);
+                }
             }
         }
-        return null;
+        return outPortsTo.get(entity);
+    }
+
+    @Override
+    public void addOutPort(SimBaseOutPort p) {
+        super.addOutPort(p);
+        outPortsTo = null;
+        outPortsById = null;
+    }
+
+    @Override
+    public void removePorts() {
+        super.removePorts();
+        outPortsTo = null;
+        outPortsById = null;
     }
 
     /**
@@ -320,6 +477,17 @@ public abstract class Entity extends SimBaseEntityImpl {
      */
     public void setGridSim(GridSimulator gridSim) {
         this.gridSim = gridSim;
+        configSnapshot = gridSim == null ? null : gridSim.getContext().getConfigSnapshot();
+    }
+
+    /**
+     * Returns the configuration of the simulator, as it was when the simulator
+     * was created.
+     *
+     * @return The snapshot of the configuration.
+     */
+    public ConfigSnapshot getConfigSnapshot() {
+        return configSnapshot;
     }
 
     /**
@@ -415,14 +583,8 @@ public abstract class Entity extends SimBaseEntityImpl {
      * none.
      */
     public GridOutPort findOutPort(Entity nextHop) {
-        Iterator<SimBaseOutPort> it = outPorts.iterator();
-        while (it.hasNext()) {
-            GridOutPort port = (GridOutPort) it.next();
-            if (port.getID().startsWith(id) && port.getID().endsWith(nextHop.getId())) {
-                return port;
-            }
-        }
-        return null;
+        List<GridOutPort> ports = getOutPortsTo(nextHop);
+        return ports == null ? null : ports.get(0);
     }
 
     /**
@@ -435,10 +597,9 @@ public abstract class Entity extends SimBaseEntityImpl {
      * @return The gridouport if found, null if nothing is found.
      */
     public GridOutPort findOutPort(Entity nextHop, int wavelength) {
-        Iterator<SimBaseOutPort> it = outPorts.iterator();
-        while (it.hasNext()) {
-            GridOutPort port = (GridOutPort) it.next();
-            if (port.getID().startsWith(id) && port.getID().endsWith(nextHop.getId())) {
+        List<GridOutPort> ports = getOutPortsTo(nextHop);
+        if (ports != null) {
+            for (GridOutPort port : ports) {
                 if (port.isWaveUsedInCircuit(wavelength)) {
                     return port;
                 }
@@ -451,7 +612,4 @@ public abstract class Entity extends SimBaseEntityImpl {
         return outPort.getNexFreeWavelength();
     }
 
-    public Map<GridOutPort, Map<Integer, Time>> getPortUsage() {
-        return portUsage;
-    }
 }
@@ -27,6 +27,17 @@ public class GridSimulation extends SimulationInstance{
         configuration = new Config();
         
     }
+
+    /**
+     * Constructs a new Gridsimulation for a simulator which has its own
+     * configuration. The default configuration is left alone, so that
+     * simulations can be set up in parallel threads.
+     * @param simulator The simulator, see {@link GridSimulator#GridSimulator(Config)}.
+     */
+    public GridSimulation(GridSimulator simulator) {
+        super();
+        setSimulator(simulator);
+    }
     
     
 
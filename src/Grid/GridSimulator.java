@@ -4,15 +4,24 @@
  */
 package Grid;
 
+import Grid.Interfaces.Messages.GridMessage;
 import Grid.OCS.CircuitList;
+import Grid.OCS.CircuitRegistry;
 import Grid.OCS.OCSRoute;
 import Grid.Routing.Routing;
 import Grid.Routing.RoutingViaJung;
+import Grid.Utilities.Config;
+import Grid.Utilities.ConfigSnapshot;
+import Grid.Utilities.TraceWriter;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import simbase.EventList.SimBaseEventList;
 import simbase.SimBaseSimulator;
+import simbase.SimulationInstance;
+import simbase.StateSampler;
 import simbase.Stats.Logger;
 
 /**
@@ -36,22 +45,100 @@ public class GridSimulator extends SimBaseSimulator {
      */
     private CircuitList requestedCircuits = new CircuitList();
     /**
-     * A list containing all the OCS routes which have been established in the
-     * network.
+     * A registry containing all the OCS routes which have been established in
+     * the network, indexed on source and destination.
      */
-    private transient CircuitList establishedCircuits;
+    private transient CircuitRegistry establishedCircuits;
+    /**
+     * Incremented whenever a circuit is set up or torn down, or a channel is
+     * reserved on a wavelength.
+     */
+    private long networkStateVersion = 0;
+    /**
+     * The configuration, counters and OCS statistics of this simulation.
+     */
+    private SimulationContext context;
+    /**
+     * What the messages record of the hops they pass.
+     */
+    private GridMessage.HopRecording hopRecording = GridMessage.HopRecording.FULL;
+    /**
+     * The entities which have been recorded as a hop, on their hop index.
+     */
+    private transient ArrayList<Entity> hopEntities = new ArrayList<Entity>();
 
     /**
-     * Defaultconstructor.
+     * Defaultconstructor, uses the default configuration of
+     * {@link SimulationInstance}.
      */
     public GridSimulator() {
+        this(SimulationInstance.configuration);
+    }
+
+    /**
+     * Constructor. Simulations which run in parallel should each have their
+     * own configuration.
+     *
+     * @param configuration The configuration of this simulation.
+     */
+    public GridSimulator(Config configuration) {
         super();
+        context = new SimulationContext(configuration);
         this.resetAllStats();
         routing = new RoutingViaJung(this, "routing");
 //        routing = new ShortesPathRouting(this);
 
         physicTopology = new RoutingViaJung(this, "physicTopology");
         logger = new Logger(12);
+        if (context.getConfigSnapshot() != null) {
+            configure(context.getConfigSnapshot());
+        }
+    }
+
+    /**
+     * Sets up the logger, the hop recording and the state sampling from the
+     * configuration.
+     *
+     * @param settings The configuration.
+     */
+    private void configure(ConfigSnapshot settings) {
+        // Without the output flag everything is logged, as it always was.
+        if (settings.getOutput() != null) {
+            logger.setEnabled(settings.getOutput());
+        }
+        openTrace(settings);
+        hopRecording = settings.getHopRecording();
+        if (settings.contains(Config.ConfigEnum.stateSampleInterval)) {
+            setStateSampler(new StateSampler(settings.getStateSampleInterval()));
+        }
+    }
+
+    /**
+     * Writes the log to the trace file of the configuration, if it has one.
+     *
+     * @param settings The configuration.
+     */
+    private void openTrace(ConfigSnapshot settings) {
+        String traceFile = settings.getTraceFile();
+        if (traceFile != null) {
+            try {
+                logger.setTraceWriter(new TraceWriter(new File(traceFile)));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot create the trace " + traceFile + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Constructor which uses the given event list, for example a
+     * {@link simbase.EventList.CalendarQueueEventList} for simulations with
+     * many pending events.
+     *
+     * @param events The (empty) event list of the simulator.
+     */
+    public GridSimulator(SimBaseEventList events) {
+        this();
+        setEvents(events);
     }
 
     /**
@@ -77,7 +164,8 @@ public class GridSimulator extends SimBaseSimulator {
      * enitities asking for it and prepares the physical Topology.
      */
     public void route() {
-        establishedCircuits = new CircuitList();
+        establishedCircuits = new CircuitRegistry();
+        networkStateChanged();
         routing.route();
         physicTopology.route();
     }
@@ -115,6 +203,7 @@ public class GridSimulator extends SimBaseSimulator {
         if (requestedCircuits.contains(route)) {
             requestedCircuits.remove(route);
             routing.OCSCircuitInserted(route);
+            networkStateChanged();
 
             if (establishedCircuits.add(route)) {
 //                System.out.println("Inserto OCS entre " + route.getSource() + "->" + route.getDestination() + " con Color:" + route.getWavelength());
@@ -146,15 +235,7 @@ public class GridSimulator extends SimBaseSimulator {
      * @param destination The destiantion of the ocs-circuit.
      */
     public boolean ocsCircuitAvailable(Entity source, Entity destination) {
-        Iterator<OCSRoute> it = establishedCircuits.iterator();
-//        //System.out.println("GridSimulator  - source :" + source + " destination " + destination);
-        while (it.hasNext()) {
-            OCSRoute ocsRoute = it.next();
-            if (ocsRoute.getSource().equals(source) && ocsRoute.getDestination().equals(destination)) {
-                return true;
-            }
-        }
-        return false;
+        return establishedCircuits.contains(source, destination);
     }
     HashSet<String> conx = new HashSet<String>();
 
@@ -166,20 +247,7 @@ public class GridSimulator extends SimBaseSimulator {
      * @return The ocs route between source and destination.
      */
     public List returnOcsCircuit(Entity source, Entity destination) {
-        ArrayList<OCSRoute> circuits = new ArrayList();
-        Iterator<OCSRoute> establishedCircuitsIt = establishedCircuits.iterator();
-
-        while (establishedCircuitsIt.hasNext()) {
-            OCSRoute ocsRoute = establishedCircuitsIt.next();
-            if (ocsRoute.getSource().equals(source) && ocsRoute.getDestination().equals(destination)) {
-                circuits.add(ocsRoute);
-            }
-        }
-        if (circuits.isEmpty()) {
-            return null;
-        } else {
-            return circuits;
-        }
+        return establishedCircuits.get(source, destination);
     }
 
     /**
@@ -190,25 +258,10 @@ public class GridSimulator extends SimBaseSimulator {
      */
     public boolean circuitTearDown(OCSRoute route, int lambdaToSetFree) {
 
-        int ocsIndexToRemove = -1;
-        int circuitCounter = 0;
-
-        for (OCSRoute establishedOCS : establishedCircuits) {
+        OCSRoute removedOCS = establishedCircuits.remove(route.getSource(), route.getDestination(), lambdaToSetFree);
 
-            if (establishedOCS.getWavelength() == lambdaToSetFree
-                    && establishedOCS.getSource().equals(route.getSource())
-                    && establishedOCS.getDestination().equals(route.getDestination())) {
-//                OCSsToRemove.add(establishedOCS);
-                ocsIndexToRemove = circuitCounter;
-//                System.out.println("Saco OCS de la coleccion del simulador.");
-
-                break;
-            }
-            circuitCounter++;
-        }
-        OCSRoute removedOCS = establishedCircuits.remove(ocsIndexToRemove);
-
-        if (ocsIndexToRemove != -1) {
+        if (removedOCS != null) {
+            networkStateChanged();
             return true;
         } else {
             throw new IllegalArgumentException("No se pudo remover OCS:" + route.toString());
@@ -229,7 +282,101 @@ public class GridSimulator extends SimBaseSimulator {
         this.physicTopology = physicTopology;
     }
 
-    public CircuitList getEstablishedCircuits() {
+    public CircuitRegistry getEstablishedCircuits() {
         return establishedCircuits;
     }
+
+    /**
+     * Returns the version of the state of the network: the established
+     * circuits and the channels reserved on the wavelengths. Together with the
+     * time at which it is looked at, the version identifies the state, so
+     * results calculated from it can be reused as long as it did not change.
+     * Channels which expire do not change the version.
+     *
+     * @return The version of the network state.
+     */
+    public long getNetworkStateVersion() {
+        return networkStateVersion;
+    }
+
+    /**
+     * Marks the state of the network as changed.
+     */
+    public void networkStateChanged() {
+        networkStateVersion++;
+    }
+
+    /**
+     * Returns what the messages record of the hops they pass.
+     *
+     * @return The hop recording mode.
+     */
+    public GridMessage.HopRecording getHopRecording() {
+        return hopRecording;
+    }
+
+    /**
+     * Sets what the messages record of the hops they pass. Messages keep the
+     * mode which was set when their route was started.
+     *
+     * @param hopRecording The hop recording mode.
+     */
+    public void setHopRecording(GridMessage.HopRecording hopRecording) {
+        this.hopRecording = hopRecording;
+    }
+
+    /**
+     * Returns the hop index of an entity, which is given out when the entity
+     * is first recorded as a hop.
+     *
+     * @param entity The entity.
+     * @return The hop index of the entity.
+     */
+    public int getHopIndex(Entity entity) {
+        if (entity.hopIndex < 0) {
+            if (hopEntities == null) {
+                hopEntities = new ArrayList<Entity>();
+            }
+            entity.hopIndex = hopEntities.size();
+            hopEntities.add(entity);
+        }
+        return entity.hopIndex;
+    }
+
+    /**
+     * Returns the entity with the given hop index.
+     *
+     * @param hopIndex The hop index, see {@link #getHopIndex(Entity)}.
+     * @return The entity.
+     */
+    public Entity getHopEntity(int hopIndex) {
+        return hopEntities.get(hopIndex);
+    }
+
+    /**
+     * Returns the configuration, counters and OCS statistics of this
+     * simulation.
+     *
+     * @return The context of this simulation.
+     */
+    public SimulationContext getContext() {
+        return context;
+    }
+
+    /**
+     * Resets the simulation. The pending circuit requests, whose events are
+     * gone, the counters and the OCS statistics are dropped as well. The established
+     * circuits are part of the network state and are kept.
+     */
+    @Override
+    public void resetSimulation() {
+        super.resetSimulation();
+        requestedCircuits.clear();
+        conx.clear();
+        context.reset();
+        // The trace of the previous run was closed at its end.
+        if (context.getConfigSnapshot() != null && !logger.isTracing()) {
+            openTrace(context.getConfigSnapshot());
+        }
+    }
 }
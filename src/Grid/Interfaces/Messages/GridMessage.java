@@ -8,10 +8,12 @@
 package Grid.Interfaces.Messages;
 
 import Grid.Entity;
+import Grid.GridSimulator;
 import Grid.Nodes.Hybrid.Parallel.HybridSwitchImpl;
 import Grid.OCS.OCSRoute;
 import Grid.Route;
 import Grid.Sender.Hybrid.Parallel.HybridSwitchSender;
+import java.util.Arrays;
 import simbase.Port.SimBaseInPort;
 import simbase.SimBaseMessage;
 import simbase.Time;
@@ -43,9 +45,35 @@ public abstract class GridMessage extends SimBaseMessage {
      */
     protected Entity destination = null;
     /**
-     * Route followed by the message
+     * Route followed by the message, built from the recorded hops when it is
+     * asked for.
      */
     protected Route route = null;
+    /**
+     * Is the route started, hops are only recorded once it is.
+     */
+    private boolean routeStarted = false;
+    /**
+     * Are all the hops recorded, or only their number.
+     */
+    private boolean fullPath = true;
+    /**
+     * The simulator which gives out the hop indexes.
+     */
+    private GridSimulator hopSimulator;
+    /**
+     * The hop indexes of the recorded hops, -1 for null. Only kept for the
+     * full path.
+     */
+    private int[] hops;
+    /**
+     * The number of hops on the route, including the first one.
+     */
+    private int hopCount = 0;
+    /**
+     * The last hop added to the route.
+     */
+    private Entity previousHop;
     /**
      * Message size in bits
      */
@@ -88,6 +116,22 @@ public abstract class GridMessage extends SimBaseMessage {
 
         OCSMESSAGE, OBSMESSAGE
     }
+
+    /**
+     * What a message records of the hops it passes. The previous hop and the
+     * number of hops are always kept, they are needed by the switches.
+     */
+    public enum HopRecording {
+
+        /**
+         * Only the previous hop and the number of hops, there is no route.
+         */
+        COUNT,
+        /**
+         * Every hop, as the hop index of the entity.
+         */
+        FULL
+    }
     protected HybridSwitchImpl firstSwitch;
     protected int firstWaveLengthID;
 
@@ -117,11 +161,37 @@ public abstract class GridMessage extends SimBaseMessage {
         this.offSet = offSet;
     }
 
+    /**
+     * Returns the route followed by the message. The route is a copy of the
+     * recorded hops, it does not follow the hops added later on.
+     *
+     * @return The route, null if it is not started or only the hops are
+     * counted.
+     */
     public Route getRoute() {
+        if (route == null && routeStarted && fullPath) {
+            route = new Route(getHop(0), destination);
+            route.setSource(source);
+            for (int i = 1; i < hopCount; i++) {
+                route.addHop(getHop(i));
+            }
+        }
         return route;
     }
 
+    /**
+     * Replaces the recorded hops by the given route.
+     *
+     * @param route The route, null to clear the recorded hops.
+     */
     public void setRoute(Route route) {
+        routeStarted = false;
+        if (route != null) {
+            startRoute(route.isEmpty() ? null : route.get(0));
+            for (int i = 1; i < route.size(); i++) {
+                recordHop(route.get(i));
+            }
+        }
         this.route = route;
     }
 
@@ -159,10 +229,10 @@ public abstract class GridMessage extends SimBaseMessage {
      */
     public void setSource(Entity source) {
         this.source = source;
-        if (route == null) {
-            route = new Route(source, null);
+        if (!routeStarted) {
+            startRoute(source);
         } else {
-            route.setSource(source);
+            route = null;
         }
     }
 
@@ -173,10 +243,11 @@ public abstract class GridMessage extends SimBaseMessage {
      */
     public void setDestination(Entity destination) {
         this.destination = destination;
-        if (route == null) {
-            route = new Route(null, destination);
+        if (!routeStarted) {
+            hopSimulator = destination == null ? null : destination.getGridSim();
+            startRoute(null);
         } else {
-            route.setDestination(destination);
+            route = null;
         }
     }
 
@@ -199,7 +270,8 @@ public abstract class GridMessage extends SimBaseMessage {
      * Initiates a new Route object with given source and destination nodes
      */
     public void initRoute() {
-        route = new Route(source, destination);
+        routeStarted = false;
+        startRoute(source);
     }
 
     /**
@@ -208,8 +280,8 @@ public abstract class GridMessage extends SimBaseMessage {
      * @param hop the next hop
      */
     public void addHop(Entity hop) {
-        if (route != null) {
-            route.addHop(hop);
+        if (routeStarted) {
+            recordHop(hop);
         }
     }
 
@@ -219,7 +291,65 @@ public abstract class GridMessage extends SimBaseMessage {
      * @return the previous hop on the path
      */
     public Entity getPreviousHop() {
-        return route.getLastHopAddedToPath();
+        return previousHop;
+    }
+
+    /**
+     * Returns the number of hops on the path, including the first one.
+     *
+     * @return the number of hops on the path
+     */
+    public int getHopCount() {
+        return hopCount;
+    }
+
+    /**
+     * Starts the route with the given first hop, with the hop recording mode
+     * of the simulator.
+     *
+     * @param first the first hop, may be null
+     */
+    private void startRoute(Entity first) {
+        if (first != null) {
+            hopSimulator = first.getGridSim();
+        }
+        fullPath = hopSimulator == null
+                || hopSimulator.getHopRecording() == HopRecording.FULL;
+        routeStarted = true;
+        hopCount = 0;
+        recordHop(first);
+    }
+
+    /**
+     * Records a hop.
+     *
+     * @param hop the hop
+     */
+    private void recordHop(Entity hop) {
+        if (fullPath) {
+            if (hopSimulator == null && hop != null) {
+                hopSimulator = hop.getGridSim();
+            }
+            if (hops == null) {
+                hops = new int[4];
+            } else if (hopCount == hops.length) {
+                hops = Arrays.copyOf(hops, 2 * hopCount);
+            }
+            hops[hopCount] = hop == null ? -1 : hopSimulator.getHopIndex(hop);
+        }
+        hopCount++;
+        previousHop = hop;
+        route = null;
+    }
+
+    /**
+     * Returns a recorded hop.
+     *
+     * @param index the position of the hop on the path
+     * @return the hop
+     */
+    private Entity getHop(int index) {
+        return hops[index] < 0 ? null : hopSimulator.getHopEntity(hops[index]);
     }
 
     /**
@@ -12,10 +12,6 @@ import simbase.Time;
  */
 public class JobRequestMessage extends GridMessage {
 
-    /**
-     * Static variable for making ID's for the jobs.
-     */
-    public static int jobCounter = 0;
     /**
      * Amount of flops of this job in Mflops units.
      */
@@ -9,10 +9,6 @@ import simbase.Time;
  */
 public class OCSRequestTeardownMessage extends GridMessage {
 
-    /**
-     * Static variable for making ID's for the jobs.
-     */
-    public static int teardownReqCounter = 0;
     /**
      * The wavelength of the OCS route.
      */
@@ -46,7 +42,7 @@ public class OCSRequestTeardownMessage extends GridMessage {
      * @param wavelength The wavelength with the ocs starts.
      */
     public OCSRequestTeardownMessage(String id, Time generationTime, int wavelength, MultiCostMessage multiCostMsg) {
-        super(id + "-reqTeardownOCS_" + teardownReqCounter++, generationTime);
+        super(id, generationTime);
         this.wavelenght = wavelength;
         this.multiCostMessage = multiCostMsg;
     }
@@ -59,7 +55,7 @@ public class OCSRequestTeardownMessage extends GridMessage {
      * @param route The ocs route which has to be tear down.
      */
     public OCSRequestTeardownMessage(String id, Time generationTime, OCSRoute ocsRoute) {
-        super(id + "-reqTeardownOCS_" + teardownReqCounter++, generationTime);
+        super(id, generationTime);
         this.ocsRoute = ocsRoute;
     }
 
@@ -72,7 +68,7 @@ public class OCSRequestTeardownMessage extends GridMessage {
      * @param route The ocs route which has to be tear down.
      */
     public OCSRequestTeardownMessage(String id, Time generationTime, int wavelength, GridOutPort outport, OCSRoute ocsRoute, MultiCostMessage multiCostMsg, OCSRoute ocsExecutedInstruction) {
-        super(id + "-reqTeardownOCS_" + teardownReqCounter++, generationTime);
+        super(id, generationTime);
         this.ocsRoute = ocsRoute;
         this.wavelenght = wavelength;
         this.outport = outport;
@@ -51,7 +51,7 @@ public class OCSTeardownMessage extends GridMessage {
      */
     public OCSTeardownMessage(String id, Time generationTime, OCSRoute route) {
         super(id, generationTime);
-        this.route = route;
+        setRoute(route);
     }
 
     /**
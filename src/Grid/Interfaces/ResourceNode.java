@@ -138,8 +138,10 @@ public abstract class ResourceNode extends Entity {
         JobCompletedMessage doneMsg = new JobCompletedMessage(this,job.getMsg().getId()+"-done",job.getMsg(),endTime);
         doneMsg.setSize(job.getMsg().getSize());
         doneMsg.setQueuedJob(job);
-        simulator.putLog(currentTime, "Job " + job.getMsg().getId()+" scheduled (start: " + job.getStartTime() +
-                ", completion: " + endTime + " by " + cpu.getId() + ")." + "(" + this.getNrOfJobsInQueue() + "/" + this.maxQueueSize + ")", Logger.GREEN, 0, 0);
+        if (simulator.isLogEnabled(Logger.GREEN)) {
+            simulator.putLog(currentTime, "Job " + job.getMsg().getId()+" scheduled (start: " + job.getStartTime() +
+                    ", completion: " + endTime + " by " + cpu.getId() + ")." + "(" + this.getNrOfJobsInQueue() + "/" + this.maxQueueSize + ")", Logger.GREEN, 0, 0);
+        }
         sendSelf(doneMsg, endTime);
     }
 
@@ -123,8 +123,10 @@ public abstract class AbstractSwitch extends Switch {
      */
     protected void dropMessage(GridMessage m) {
         m.dropMessage();
-        simulator.putLog(currentTime, "FAIL: " + this.getId()
-                + " dropped a message : " + m.getId(), Logger.RED, m.getSize(), m.getWavelengthID());
+        if (simulator.isLogEnabled(Logger.RED)) {
+            simulator.putLog(currentTime, "FAIL: " + this.getId()
+                    + " dropped a message : " + m.getId(), Logger.RED, m.getSize(), m.getWavelengthID());
+        }
 
         if (m instanceof JobMessage) {
             simulator.addStat(this, Stat.SWITCH_JOBMESSAGE_DROPPED);
@@ -66,7 +66,7 @@ public abstract class AbstractClient extends ClientNode {
     public void sendJob() {
 
         //Make job request 
-        JobRequestMessage job = state.generateJob(this, id + "-job_" + JobRequestMessage.jobCounter++,
+        JobRequestMessage job = state.generateJob(this, id + "-job_" + gridSim.getContext().nextJobNumber(),
                 new Time(currentTime.getTime()));
         //simulator.putLog(currentTime, "New job request created at " + job.getSource() + " : " + job.getId(), Logger.BLUE, job.getSize(), job.getWavelengthID());
         job.setDestination(broker);
@@ -76,14 +76,20 @@ public abstract class AbstractClient extends ClientNode {
         if (sender.send(job, currentTime, true)) {
             activeJobRequests.add(job);
             if (job.getTypeOfMessage() == GridMessage.MessageType.OBSMESSAGE) {
-                 simulator.putLog(currentTime, "---> Job request (OBS) " + job.getId() + " sent to " + job.getDestination().getId() + " by " + job.getSource(), Logger.BLUE, job.getSize(), job.getWavelengthID());
+                 if (simulator.isLogEnabled(Logger.BLUE)) {
+                     simulator.putLog(currentTime, "---> Job request (OBS) " + job.getId() + " sent to " + job.getDestination().getId() + " by " + job.getSource(), Logger.BLUE, job.getSize(), job.getWavelengthID());
+                 }
             } else {
-                simulator.putLog(currentTime, "---> Job request (OCS) " + job.getId() + " sent to " + job.getDestination().getId() + " by " + job.getSource(), Logger.BLUE, job.getSize(), job.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.BLUE)) {
+                    simulator.putLog(currentTime, "---> Job request (OCS) " + job.getId() + " sent to " + job.getDestination().getId() + " by " + job.getSource(), Logger.BLUE, job.getSize(), job.getWavelengthID());
+                }
             }
             simulator.addStat(this, Stat.CLIENT_REQ_SENT);
         } else {
             simulator.addStat(this, Stat.CLIENT_NO_REQ_SENT);
-            simulator.putLog(currentTime, "FAIL: " + id + " could not send " + job.getId(), Logger.RED, job.getWavelengthID(), (int) job.getSize());
+            if (simulator.isLogEnabled(Logger.RED)) {
+                simulator.putLog(currentTime, "FAIL: " + id + " could not send " + job.getId(), Logger.RED, job.getWavelengthID(), (int) job.getSize());
+            }
         }
 
     }
@@ -115,21 +121,29 @@ public abstract class AbstractClient extends ClientNode {
                 // send it out
                 if (sender.send(jobMsg, currentTime, true)) {
                     if (jobMsg.getTypeOfMessage() == GridMessage.MessageType.OBSMESSAGE) {
-                        simulator.putLog(currentTime, "--> Job  (" + jobMsg.getId() + ")sent into OBS network by " + id + " to "
-                                + ackMsg.getResource(), Logger.BLUE, jobMsg.getSize(), jobMsg.getWavelengthID());
+                        if (simulator.isLogEnabled(Logger.BLUE)) {
+                            simulator.putLog(currentTime, "--> Job  (" + jobMsg.getId() + ")sent into OBS network by " + id + " to "
+                                    + ackMsg.getResource(), Logger.BLUE, jobMsg.getSize(), jobMsg.getWavelengthID());
+                        }
                     } else {
-                        simulator.putLog(currentTime, "--> Job  (" + jobMsg.getId() + ")sent into OCS network by " + id + " to "
-                                + ackMsg.getResource(), Logger.BLUE, jobMsg.getSize(), jobMsg.getWavelengthID());
+                        if (simulator.isLogEnabled(Logger.BLUE)) {
+                            simulator.putLog(currentTime, "--> Job  (" + jobMsg.getId() + ")sent into OCS network by " + id + " to "
+                                    + ackMsg.getResource(), Logger.BLUE, jobMsg.getSize(), jobMsg.getWavelengthID());
+                        }
                     }
                     simulator.addStat(this, Stat.CLIENT_JOB_SENT);
 
                 } else {
-                    simulator.putLog(currentTime, "FAIL: " + id + " could not send " + jobMsg.getId(), Logger.RED, -1, -1);
+                    if (simulator.isLogEnabled(Logger.RED)) {
+                        simulator.putLog(currentTime, "FAIL: " + id + " could not send " + jobMsg.getId(), Logger.RED, -1, -1);
+                    }
                     simulator.addStat(this, Stat.CLIENT_SENDING_FAILED);
 
                 }
             } else {
-                simulator.putLog(currentTime, id + " got a REQ-ACK message with no resource (all resources busy)>", Logger.BLUE, ackMsg.getSize(), ackMsg.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.BLUE)) {
+                    simulator.putLog(currentTime, id + " got a REQ-ACK message with no resource (all resources busy)>", Logger.BLUE, ackMsg.getSize(), ackMsg.getWavelengthID());
+                }
                 simulator.addStat(this, Stat.CLIENT_RESOURCES_BUSY_MSG);
 
             }
@@ -191,7 +205,9 @@ public abstract class AbstractClient extends ClientNode {
      */
     protected void handleJobResultMessage(SimBaseInPort inPort, JobResultMessage m) {
         simulator.addStat(this, Stat.CLIENT_RESULTS_RECEIVED);
-        simulator.putLog(currentTime, "<-- Job results " + m.getId() + " arrived at " + id + ".", Logger.BLUE, 0, 0);
+        if (simulator.isLogEnabled(Logger.BLUE)) {
+            simulator.putLog(currentTime, "<-- Job results " + m.getId() + " arrived at " + id + ".", Logger.BLUE, 0, 0);
+        }
     }
 
     /**
@@ -119,11 +119,15 @@ public abstract class AbstractResourceNode extends ResourceNode {
         ETA.addTime(currentTime);
         //check if there are cpus free which can take this job.
         if (message.getTypeOfMessage() == GridMessage.MessageType.OBSMESSAGE) {
-            simulator.putLog(currentTime, "<-- OBS First part of Job inf arrived at " + id
-                    + " for job: " + message.getId() + ". ETA of full job: " + ETA, Logger.GREEN, message.getSize(), message.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.GREEN)) {
+                simulator.putLog(currentTime, "<-- OBS First part of Job inf arrived at " + id
+                        + " for job: " + message.getId() + ". ETA of full job: " + ETA, Logger.GREEN, message.getSize(), message.getWavelengthID());
+            }
         } else {
-            simulator.putLog(currentTime, "<-- OCS Job inf arrived at " + id
-                    + " for job: " + message.getId() + ". ETA of full job: " + ETA, Logger.GREEN, message.getSize(), message.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.GREEN)) {
+                simulator.putLog(currentTime, "<-- OCS Job inf arrived at " + id
+                        + " for job: " + message.getId() + ". ETA of full job: " + ETA, Logger.GREEN, message.getSize(), message.getWavelengthID());
+            }
         }
         simulator.addStat(this, Stat.RESOURCE_JOB_RECEIVED);
 
@@ -141,16 +145,22 @@ public abstract class AbstractResourceNode extends ResourceNode {
                 //Stil some place free in the queue
                 handleQueuedJob();
                 if (queue.add(job)) {
-                    simulator.putLog(currentTime, job.getMsg().getId() + " has been queued in the "
-                            + "resource : " + this.getID() + "  " + queue.size() + "/" + maxQueueSize, Logger.GREEN, message.getSize(), message.getWavelengthID());
+                    if (simulator.isLogEnabled(Logger.GREEN)) {
+                        simulator.putLog(currentTime, job.getMsg().getId() + " has been queued in the "
+                                + "resource : " + this.getID() + "  " + queue.size() + "/" + maxQueueSize, Logger.GREEN, message.getSize(), message.getWavelengthID());
+                    }
                 } else {
-                    simulator.putLog(currentTime, "FAIL: " + job.getMsg().getId() + " " + job.getQueueTime() + " has not been queued in the "
-                            + "resource : " + this.getID() + "  " + queue.size() + "/" + maxQueueSize, Logger.RED, message.getSize(), message.getWavelengthID());
+                    if (simulator.isLogEnabled(Logger.RED)) {
+                        simulator.putLog(currentTime, "FAIL: " + job.getMsg().getId() + " " + job.getQueueTime() + " has not been queued in the "
+                                + "resource : " + this.getID() + "  " + queue.size() + "/" + maxQueueSize, Logger.RED, message.getSize(), message.getWavelengthID());
+                    }
                 }
             } else {
                 // No place in the queue and no free CPU
                 simulator.addStat(this, Stat.RESOURCE_FAIL_NO_FREE_PLACE);
-                simulator.putLog(currentTime, "FAIL : No free CPU/No queue space for : " + message.getId(), Logger.RED, message.getSize(), message.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.RED)) {
+                    simulator.putLog(currentTime, "FAIL : No free CPU/No queue space for : " + message.getId(), Logger.RED, message.getSize(), message.getWavelengthID());
+                }
 
             }
         }
@@ -194,13 +204,17 @@ public abstract class AbstractResourceNode extends ResourceNode {
         jobResultMsg.addHop(this);
         if (sender.send(jobResultMsg, currentTime, true)) {
             if (jobResultMsg.getTypeOfMessage() == GridMessage.MessageType.OBSMESSAGE) {
-                simulator.putLog(currentTime,
-                        "--> OBS Execution results sent back to client by " + id
-                        + " for job: " + msg.getJob().getId() + ".", Logger.GREEN, jobResultMsg.getSize(), jobResultMsg.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.GREEN)) {
+                    simulator.putLog(currentTime,
+                            "--> OBS Execution results sent back to client by " + id
+                            + " for job: " + msg.getJob().getId() + ".", Logger.GREEN, jobResultMsg.getSize(), jobResultMsg.getWavelengthID());
+                }
             } else {
-                simulator.putLog(currentTime,
-                        "--> OCS Execution results sent back to client by " + id
-                        + " for job: " + msg.getJob().getId() + ".", Logger.GREEN, jobResultMsg.getSize(), jobResultMsg.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.GREEN)) {
+                    simulator.putLog(currentTime,
+                            "--> OCS Execution results sent back to client by " + id
+                            + " for job: " + msg.getJob().getId() + ".", Logger.GREEN, jobResultMsg.getSize(), jobResultMsg.getWavelengthID());
+                }
             }
             simulator.addStat(this, Stat.RESOURCE_RESULTS_SENT);
         } else {
@@ -212,9 +226,11 @@ public abstract class AbstractResourceNode extends ResourceNode {
         if (maxQueueSize > 0 && queue.size() > 0) {
             CPU cpu = msg.getQueuedJob().getCpu();
             QueuedJob job = (QueuedJob) queue.poll();
-            simulator.putLog(currentTime, job.getMsg().getId()
-                    + " got out of the queue and is being sheduled for execution. queue: "
-                    + queue.size() + "/" + maxQueueSize, Logger.YELLOW, msg.getSize(), msg.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.YELLOW)) {
+                simulator.putLog(currentTime, job.getMsg().getId()
+                        + " got out of the queue and is being sheduled for execution. queue: "
+                        + queue.size() + "/" + maxQueueSize, Logger.YELLOW, msg.getSize(), msg.getWavelengthID());
+            }
             executeJob(job, cpu, currentTime);
 
         }
@@ -244,13 +260,17 @@ public abstract class AbstractResourceNode extends ResourceNode {
         reg.addHop(this);
         if (sendNow(serviceNode, reg, time)) {
             serviceNodes.add(serviceNode);
-            simulator.putLog(currentTime,
-                    "Service node registration send by " + id
-                    + " to  " + serviceNode + ".", Logger.GREEN, reg.getSize(), reg.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.GREEN)) {
+                simulator.putLog(currentTime,
+                        "Service node registration send by " + id
+                        + " to  " + serviceNode + ".", Logger.GREEN, reg.getSize(), reg.getWavelengthID());
+            }
         } else {
-            simulator.putLog(currentTime,
-                    "Sending Failed" + id
-                    + " to  " + serviceNode + ".", Logger.RED, reg.getSize(), reg.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.RED)) {
+                simulator.putLog(currentTime,
+                        "Sending Failed" + id
+                        + " to  " + serviceNode + ".", Logger.RED, reg.getSize(), reg.getWavelengthID());
+            }
         }
 
     }
@@ -112,7 +112,9 @@ public abstract class AbstractServiceNode extends ServiceNode {
             ResourceRegistrationMessage msg) {
         // add ResourceInfo from the message to the resource list
         resources.add(msg.getResource());
-        simulator.putLog(currentTime, "<-- Resource reg for " + msg.getResource().getID() + " received by " + id + ".", Logger.BROWN, 0, 0);
+        if (simulator.isLogEnabled(Logger.BROWN)) {
+            simulator.putLog(currentTime, "<-- Resource reg for " + msg.getResource().getID() + " received by " + id + ".", Logger.BROWN, 0, 0);
+        }
         simulator.addStat(this, Stat.SERVICENODE_REGISTRATION_RECEIVED);
     }
 
@@ -152,7 +154,9 @@ public abstract class AbstractServiceNode extends ServiceNode {
                // simulator.putLog(currentTime, "--t> Job Ack sent by " + id + ". (" + ackMsg.getId() + ")", Logger.BROWN, msg.getSize(), msg.getWavelengthID());
                 simulator.addStat(this, Stat.SERVICENODE_REQ_ACK_SENT);
             } else {
-                simulator.putLog(currentTime, "FAIL " + inPort.getOwner().getId() + "could not send " + msg.getId(), Logger.RED, msg.getSize(), msg.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.RED)) {
+                    simulator.putLog(currentTime, "FAIL " + inPort.getOwner().getId() + "could not send " + msg.getId(), Logger.RED, msg.getSize(), msg.getWavelengthID());
+                }
                 simulator.addStat(this, Stat.SERVICENODE_SENDING_FAILED);
             }
         }
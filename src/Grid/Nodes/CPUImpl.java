@@ -44,10 +44,6 @@ public class CPUImpl implements CPU, Serializable {
      * The id of the CPU
      */
     protected String id;
-    /**
-     * Class variable which states the number of CPUS which already have been made by the simulator.
-     */
-    private static int cpuNR = 0;
     /**
      * The number of jobs served by this CPU.
      */
@@ -72,8 +68,7 @@ public class CPUImpl implements CPU, Serializable {
         this.maxQueueSize = maxQueueSize;
         StringBuffer buffer = new StringBuffer(owner.getID());
         buffer.append(" ");
-        buffer.append(cpuNR);
-        cpuNR++;
+        buffer.append(simulator.getContext().nextCpuNumber());
         id = buffer.toString();
     }
 
@@ -89,8 +84,7 @@ public class CPUImpl implements CPU, Serializable {
         this.simulator = simulator;
         StringBuffer buffer = new StringBuffer(owner.getID());
         buffer.append(" ");
-        buffer.append(cpuNR);
-        cpuNR++;
+        buffer.append(simulator.getContext().nextCpuNumber());
         id = buffer.toString();
     }
 
@@ -64,7 +64,9 @@ public class DummyServiceNode extends ServiceNode {
 
     @Override
     public void requestOCSCircuit(OCSRoute ocsRoute,boolean permanent,Time time) {
-        simulator.putLog(currentTime, id + " is an OBS Node and cannot request an OCS circuit", Logger.RED, -1, -1);
+        if (simulator.isLogEnabled(Logger.RED)) {
+            simulator.putLog(currentTime, id + " is an OBS Node and cannot request an OCS circuit", Logger.RED, -1, -1);
+        }
     }
 
     @Override
@@ -81,7 +81,9 @@ public class HybridResourceNode extends AbstractResourceNode {
         //check if this is the last hop on the path
         OCSRoute ocsRoute = m.getOCSRoute();
         if (((HyrbidEndSender) sender).handleOCSSetup(m, this)) {
-            simulator.putLog(currentTime, "OCS: OCS requestmessage send from <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.BLACK)) {
+                simulator.putLog(currentTime, "OCS: OCS requestmessage send from <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            }
         }
     }
 
@@ -90,8 +92,10 @@ public class HybridResourceNode extends AbstractResourceNode {
     }
 
     public void handleOCSConfirmSetupMessage(OCSConfirmSetupMessage msg) {
-        simulator.putLog(currentTime, id + " : Confirmation of OCS Setup between " + msg.getOcsRoute().getSource() + " and " +
-                msg.getOcsRoute().getDestination() + " has been received.", -1, -1, -1);
+        if (simulator.isLogEnabled(-1)) {
+            simulator.putLog(currentTime, id + " : Confirmation of OCS Setup between " + msg.getOcsRoute().getSource() + " and " +
+                    msg.getOcsRoute().getDestination() + " has been received.", -1, -1, -1);
+        }
         ((HyrbidEndSender) sender).handleConfirmMessage(msg);
     }
 
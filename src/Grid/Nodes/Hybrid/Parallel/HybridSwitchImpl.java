@@ -5,7 +5,6 @@ import Grid.GridSimulator;
 import Grid.Interfaces.Messages.*;
 import Grid.Interfaces.Switches.AbstractSwitch;
 import Grid.OCS.OCSRoute;
-import Grid.OCS.stats.ManagerOCS;
 import Grid.Port.GridOutPort;
 import Grid.Sender.Hybrid.Parallel.HybridSwitchSender;
 import Grid.Sender.Hybrid.Parallel.HyrbidEndSender;
@@ -41,7 +40,7 @@ public class HybridSwitchImpl extends AbstractSwitch {
         super.receive(inPort, m);
         if (m instanceof OCSRequestMessage) {
             OCSRequestMessage oCSRequestMessage = (OCSRequestMessage) m;
-            ManagerOCS.getInstance().addInstaceOCS(oCSRequestMessage, getCurrentTime().getTime());
+            gridSim.getContext().getManagerOCS().addInstaceOCS(oCSRequestMessage, getCurrentTime().getTime());
             handleOCSSetupMessage(inPort, (OCSRequestMessage) m);
         } else if (m instanceof OCSTeardownMessage) {
             handleTeardownMessage((OCSTeardownMessage) m, inPort);
@@ -65,8 +64,10 @@ public class HybridSwitchImpl extends AbstractSwitch {
     }
 
     public void handleOCSConfirmSetupMessage(OCSConfirmSetupMessage msg) {
-        simulator.putLog(currentTime, id + " : Confirmation of OCS Setup between " + msg.getOcsRoute().getSource() + " and "
-                + msg.getOcsRoute().getDestination() + " has been received.", -1, -1, -1);
+        if (simulator.isLogEnabled(-1)) {
+            simulator.putLog(currentTime, id + " : Confirmation of OCS Setup between " + msg.getOcsRoute().getSource() + " and "
+                    + msg.getOcsRoute().getDestination() + " has been received.", -1, -1, -1);
+        }
         ((HybridSwitchSender) sender).handleConfirmMessage(msg, currentTime);
     }
 
@@ -86,9 +87,13 @@ public class HybridSwitchImpl extends AbstractSwitch {
         if (((HybridSwitchSender) sender).send(m, inport, currentTime)) {
 
             if (m.getTypeOfMessage() == GridMessage.MessageType.OBSMESSAGE) {
-                simulator.putLog(currentTime, this.getId() + " OBS switched " + m.getId(), Logger.BLACK, m.getSize(), m.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.BLACK)) {
+                    simulator.putLog(currentTime, this.getId() + " OBS switched " + m.getId(), Logger.BLACK, m.getSize(), m.getWavelengthID());
+                }
             } else if (m.getTypeOfMessage() == GridMessage.MessageType.OCSMESSAGE) {
-                simulator.putLog(currentTime, this.getId() + " OCS switched " + m.getId(), Logger.BLACK, m.getSize(), m.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.BLACK)) {
+                    simulator.putLog(currentTime, this.getId() + " OCS switched " + m.getId(), Logger.BLACK, m.getSize(), m.getWavelengthID());
+                }
             }
 
             if (m instanceof JobMessage) {
@@ -87,10 +87,14 @@ public class OuputSwitchForHybridCase extends AbstractSwitch {
 
             if (m.getTypeOfMessage() == GridMessage.MessageType.OBSMESSAGE) {
 
-                simulator.putLog(currentTime, this.getId() + " OBS switched " + m.getId(), Logger.BLACK, m.getSize(), m.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.BLACK)) {
+                    simulator.putLog(currentTime, this.getId() + " OBS switched " + m.getId(), Logger.BLACK, m.getSize(), m.getWavelengthID());
+                }
 
             } else if (m.getTypeOfMessage() == GridMessage.MessageType.OCSMESSAGE) {
-                simulator.putLog(currentTime, this.getId() + " OCS switched " + m.getId(), Logger.BLACK, m.getSize(), m.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.BLACK)) {
+                    simulator.putLog(currentTime, this.getId() + " OCS switched " + m.getId(), Logger.BLACK, m.getSize(), m.getWavelengthID());
+                }
             //putLog(currentTime, this.getId() + " OCS switched " + m.getId(), Logger.BLACK, m.getSize(), m.getWavelengthID());
             }
             if (m instanceof JobMessage) {
@@ -120,7 +124,9 @@ public class OuputSwitchForHybridCase extends AbstractSwitch {
     }
 
     public void teardDownOCSCircuit(Entity ent, int wavelength, GridOutPort port, Time time) {
-        simulator.putLog(currentTime, id + " is an OCS Switch and cannot tear down an OCS circuit on its own ", Logger.RED, -1, -1);
+        if (simulator.isLogEnabled(Logger.RED)) {
+            simulator.putLog(currentTime, id + " is an OCS Switch and cannot tear down an OCS circuit on its own ", Logger.RED, -1, -1);
+        }
     }
 
     public Sender getSender() {
@@ -1,23 +1,37 @@
 package Grid.Nodes;
 
 import Grid.Entity;
+import Grid.GridSimulator;
 import Grid.Port.GridOutPort;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
 import simbase.SimBaseSimulator;
 import simbase.Stats.Logger;
 
+/**
+ * The micro-flow channels reserved on one wavelength of a link. The channels
+ * are ordered on the time they are free again, so expired channels are
+ * reclaimed from the head of the queue, and the reserved bandwidth is kept as
+ * a running total.
+ */
 public class LambdaChannelGroup implements Serializable {
 
     private GridOutPort gridOutPort;
     private int wavelengthID;
-    private ArrayList<Channel> channels;
+    private PriorityQueue<Channel> channels;
+    /**
+     * The sum of the speeds of the channels in the queue.
+     */
+    private double reservedBandwidth = 0;
     private SimBaseSimulator simulator;
 
     public LambdaChannelGroup(GridOutPort gridOutPort, int wavelengthID, SimBaseSimulator simulator) {
         this.gridOutPort = gridOutPort;
         this.wavelengthID = wavelengthID;
-        channels = new ArrayList<Channel>();
+        channels = new PriorityQueue<Channel>(11, FREE_AGAIN_ORDER);
         this.simulator = simulator;
     }
 
@@ -31,43 +45,40 @@ public class LambdaChannelGroup implements Serializable {
      * @return The Bandwidth free in a time en Mbps.
      */
     public double getFreeBandwidth(double time) {
-        double bandwidthFree = gridOutPort.getLinkSpeed();
-
         deleteLazyChannels(time);
-
-        for (Channel channel : channels) {
-            bandwidthFree -= channel.getChannelSpeed(); // Resta lo ocupado.            
-        }
-        return bandwidthFree;
+        return gridOutPort.getLinkSpeed() - reservedBandwidth;
     }
 
     public double getFreeBandwidthNoDeleteLazy(double time) {
-        double bandwidthFree = gridOutPort.getLinkSpeed();
-
-        for (Channel channel : channels) {
-            bandwidthFree -= channel.getChannelSpeed(); // Resta lo ocupado.            
-        }
-        return bandwidthFree;
+        return gridOutPort.getLinkSpeed() - reservedBandwidth;
     }
 
+    /**
+     * Removes the channels which are free again at the given time.
+     *
+     * @param time
+     */
     public void deleteLazyChannels(double time) {
-        ArrayList<Channel> channelsToRemove = new ArrayList<Channel>();
-        for (Channel channel : channels) {
-            if (channel.getFreeAgainTime() <= time) {
-
-                channelsToRemove.add(channel);
-            }
+        while (!channels.isEmpty() && channels.peek().getFreeAgainTime() <= time) {
+            reservedBandwidth -= channels.poll().getChannelSpeed();
+        }
+        if (channels.isEmpty()) {
+            // Do not let rounding errors accumulate.
+            reservedBandwidth = 0;
         }
-        channels.removeAll(channelsToRemove);
     }
 
+    /**
+     * Checks if the requested bandwidth is free at the given time. The
+     * channels which are free again at that time are removed first.
+     *
+     * @param bandwidthRequested
+     * @param time
+     * @return True if the bandwidth is free.
+     */
     public boolean isWavelengthFree(double bandwidthRequested, double time) {
-        double bandwidthFree = gridOutPort.getLinkSpeed();
-        for (Channel channel : channels) {
-            if (channel.getFreeAgainTime() > time) {
-                bandwidthFree -= channel.getChannelSpeed(); // Resta lo ocupado.
-            }
-        }
+        deleteLazyChannels(time);
+        double bandwidthFree = gridOutPort.getLinkSpeed() - reservedBandwidth;
         if (bandwidthFree >= bandwidthRequested) {
             return true;
         }
@@ -84,8 +95,14 @@ public class LambdaChannelGroup implements Serializable {
         channel.setChannelSpeed(bandwidthRequested);
         channel.setFreeAgainTime(time + timeReserve);
         channels.add(channel);
+        reservedBandwidth += bandwidthRequested;
+        if (simulator instanceof GridSimulator) {
+            ((GridSimulator) simulator).networkStateChanged();
+        }
 
-        simulator.putLog(entitySource.getCurrentTime(), "OCS Micro-Flow reserve: " + entitySource + " ->" + entityDestination + " Bandwidth : " + bandwidthRequested + " Duration: " + timeReserve, Logger.ORANGE, 0, 0);
+        if (simulator.isLogEnabled(Logger.ORANGE)) {
+            simulator.putLog(entitySource.getCurrentTime(), "OCS Micro-Flow reserve: " + entitySource + " ->" + entityDestination + " Bandwidth : " + bandwidthRequested + " Duration: " + timeReserve, Logger.ORANGE, 0, 0);
+        }
 
 
         return channel;
@@ -107,8 +124,24 @@ public class LambdaChannelGroup implements Serializable {
         this.wavelengthID = wavelengthID;
     }
 
-    public ArrayList<Channel> getChannels() {
-        return channels;
+    /**
+     * @return The reserved channels, in no particular order. The channels
+     * must not be changed while they are reserved.
+     */
+    public Collection<Channel> getChannels() {
+        return Collections.unmodifiableCollection(channels);
+    }
+
+    /**
+     * Orders the channels on the time they are free again.
+     */
+    private static final Comparator<Channel> FREE_AGAIN_ORDER = new FreeAgainComparator();
+
+    private static class FreeAgainComparator implements Comparator<Channel>, Serializable {
+
+        public int compare(Channel c1, Channel c2) {
+            return Double.compare(c1.getFreeAgainTime(), c2.getFreeAgainTime());
+        }
     }
 
     public static class Channel implements Serializable {
@@ -10,6 +10,8 @@ import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
 /**
+ * Averages the number of jobs in a resource, over the changes of the resource
+ * or, when the simulator has a {@link simbase.StateSampler}, over time.
  *
  * @author Jens Buysse - Jens.Buysse@intec.ugent.be
  */
@@ -9,18 +9,17 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import simbase.Time;
 
+/**
+ * Calculates the multi-cost Markov cost of sending a request over the optical
+ * network. The analyzer keeps no intermediate results: every evaluation
+ * returns a {@link MarkovCost}, so one analyzer can evaluate several candidates
+ * at the same time, from several threads. The cost coefficients should be set
+ * before the analyzer is shared.
+ */
 public class MultiCostMarkovAnalyzer implements Serializable {
 
     private GridSimulator simulator;
-    private double Wtotal;//Suma total de Wsing+Wsw+Wb
-    private double Wb;
-    private double Wsign_0 = 0;
-    private double Wsign_1 = 0;
-    private double Wsw = 0;
     private double Ccap = 1; // Coeficciente de costo de ancho de banda por unidad de capacidad.
-    private double W; //Capacidad de cada lambda.
-    private int Hf; //Numero de saltos.
-    private double T; // Tiempo de duracion de la solicitud. 
     ///Variables para costo de senializacion
     private double a = 1; // Accion sobre la capa lambda. 
     private double Csign = 1.25; //FIXME:Valor anterior 0.4;//*Costo de señalizacion de la informacion a todos los nodos involucrados. 
@@ -32,23 +31,17 @@ public class MultiCostMarkovAnalyzer implements Serializable {
     // Variable para costo de comutacion
     private double C_lambda = 0.35; //Coeficiente para la conmutacion opto-elect en el final de camino de luz 
     private double Copt = 0.25; //Coeficiete para la conmutacion de lamdaSP en los comutadores opticos de camino 
-    private double Y;
-    private Integer acciontaken = null;
-    private double B_total;
 
     public MultiCostMarkovAnalyzer(GridSimulator simulator) {
         this.simulator = simulator;
     }
 
-    public int getAcciontaken() {
-        if (acciontaken == null) {
-            throw new IllegalStateException("The Multi Markov Analyzer has not taken accion yet");
-        }
-
-        return acciontaken.intValue();
-    }
-
-    public Double getCostP_LambdaOrCreateNewDirectOCS(HybridSwitchImpl firstSwicth,
+    /**
+     * Decides between sending over the OCSs of the shortest path (action 0)
+     * and creating a new direct OCS (action 1), and returns the cost of the
+     * decision.
+     */
+    public MarkovCost getCostP_LambdaOrCreateNewDirectOCS(HybridSwitchImpl firstSwicth,
             HybridSwitchImpl lastSwicth, ArrayList<OCSRoute> ocsSupportRequest, ArrayList<OCSRoute> ocsNotSupportRequest,
             Time firstSwitchCurrentTime, PCE.OpticFlow opticFlow,
             double bandwidthRequested, double messagerSize) {
@@ -56,40 +49,34 @@ public class MultiCostMarkovAnalyzer implements Serializable {
         GridOutPort gridOutPort = PCE.getGridOutPort(firstSwicth, lastSwicth);
 
         //Costo de ancho de banda
-        W = gridOutPort.getLinkSpeed();
-        Hf = simulator.getPhysicTopology().getNrOfHopsBetween(firstSwicth, lastSwicth) + 1;
-        T = messagerSize / bandwidthRequested;
-        Wb = Ccap * W * Hf * T;
+        double W = gridOutPort.getLinkSpeed();
+        int Hf = simulator.getPhysicTopology().getNrOfHopsBetween(firstSwicth, lastSwicth) + 1;
+        double T = messagerSize / bandwidthRequested;
+        double Wb = Ccap * W * Hf * T;
 
         //Costo de conmutacion                                 
-        Y = (((Hf - 1) * Copt) + C_lambda);
+        double Y = (((Hf - 1) * Copt) + C_lambda);
 
         double Bth = getThresholdBetween(firstSwicth, lastSwicth, ocsSupportRequest, ocsNotSupportRequest, bandwidthRequested, W, T);
 
         //FIXME: TErminar la desicion .
 
-        B_total = opticFlow.getB_Fiber() + opticFlow.getB_lambda() + bandwidthRequested;
+        double B_total = opticFlow.getB_Fiber() + opticFlow.getB_lambda() + bandwidthRequested;
 
         if (B_total > Bth) {
-            acciontaken = 1;
             double Wsw_1 = Y * (opticFlow.getB_lambda() + opticFlow.getB_Fiber() + bandwidthRequested) * T; // se toma la accion 
-            Wsign_1 = Cx + (Cy * Hf);
-            Wtotal = Wsign_1 + Wsw_1 + Wb;
-            //   System.out.println("Costo accion 1 Wb:"+Wb+" Wsign_1:"+Wsign_1+" Wsw_1:"+Wsw_1+" Total:"+Wtotal);
-
-            return Wtotal;
+            double Wsign_1 = Cx + (Cy * Hf);
+            return new MarkovCost(1, Wsign_1, Wsw_1, Wb);
         } else {
-            acciontaken = 0;
             double Wsw_0 = ((Y * opticFlow.getB_lambda()) + (C_lambda * Hf * (opticFlow.getB_Fiber() + bandwidthRequested))) * T;
-            Wsign_0 = 0;
-            Wtotal = Wsign_0 + Wsw_0 + Wb;
-            //  System.out.println("Costo accion 0 Wb:"+Wb+" Wsign_0:"+Wsign_0+" Wsw_0:"+Wsw_0+" Total:"+Wtotal);
-
-            return Wtotal;
+            return new MarkovCost(0, 0, Wsw_0, Wb);
         }
     }
 
-    public Double getCostOCSDirect(OCSRoute directOCS, Time firstSwitchCurrentTime, double bandwidthRequested, PCE.OpticFlow opticFlow, double messageSize) {
+    /**
+     * The cost of sending over a direct OCS which is already created.
+     */
+    public MarkovCost getCostOCSDirect(OCSRoute directOCS, Time firstSwitchCurrentTime, double bandwidthRequested, PCE.OpticFlow opticFlow, double messageSize) {
 
         Entity ocsSource = directOCS.getSource();
 //        int wavelenghtStartsOCS = directOCS.getWavelength();
@@ -97,28 +84,24 @@ public class MultiCostMarkovAnalyzer implements Serializable {
         GridOutPort outportToNextHop = ocsSource.findOutPort(nextHop);
 
         //Costo de ancho de banda
-        W = outportToNextHop.getLinkSpeed();
-        Hf = simulator.getPhysicTopology().getNrOfHopsBetween(ocsSource, directOCS.getDestination()) + 1;
-        T = messageSize / bandwidthRequested;
-        Wb = Ccap * W * Hf * T;
-
-        //Costo de señalizacion es 0 porque el OCS ya esta creado.                             
-        Wsign_0 = 0;
+        double W = outportToNextHop.getLinkSpeed();
+        int Hf = simulator.getPhysicTopology().getNrOfHopsBetween(ocsSource, directOCS.getDestination()) + 1;
+        double T = messageSize / bandwidthRequested;
+        double Wb = Ccap * W * Hf * T;
 
         //Costo de conmutacion                                 
-        Y = (((Hf - 1) * Copt) + C_lambda);
+        double Y = (((Hf - 1) * Copt) + C_lambda);
         //Costo de conmutacion  es con la accion 0 porque  se enruta por un OCS ya creado. 
         double Wsw_0 = ((Y * opticFlow.getB_lambda()) + (C_lambda * Hf * (opticFlow.getB_Fiber() + bandwidthRequested))) * T;
 
-        Wtotal = Wsign_0 + Wsw_0 + Wb;
-
-        //    System.out.println("Costo directo Wb:"+Wb+" Wsign_0:"+Wsign_0+" Wsw_0:"+Wsw_0+" Total:"+Wtotal);
-
-        return Wtotal;
-
+        //Costo de señalizacion es 0 porque el OCS ya esta creado.                             
+        return new MarkovCost(0, 0, Wsw_0, Wb);
     }
 
-    public Double getCostOCSDirectToCreate(
+    /**
+     * The cost of creating a direct OCS and sending over it.
+     */
+    public MarkovCost getCostOCSDirectToCreate(
             HybridSwitchImpl firstSwicth,
             HybridSwitchImpl lastSwicth,
             Time firstSwitchCurrentTime,
@@ -130,19 +113,17 @@ public class MultiCostMarkovAnalyzer implements Serializable {
         GridOutPort gridOutPort = PCE.getGridOutPort(firstSwicth, lastSwicth);
 
         //Costo de ancho de banda
-        W = gridOutPort.getLinkSpeed();
-        Hf = simulator.getPhysicTopology().getNrOfHopsBetween(firstSwicth, lastSwicth) + 1;
-        T = messageSize / bandwidthRequested;
-        Wb = Ccap * W * Hf * T;
+        double W = gridOutPort.getLinkSpeed();
+        int Hf = simulator.getPhysicTopology().getNrOfHopsBetween(firstSwicth, lastSwicth) + 1;
+        double T = messageSize / bandwidthRequested;
+        double Wb = Ccap * W * Hf * T;
 
-        Y = (((Hf - 1) * Copt) + C_lambda);
+        double Y = (((Hf - 1) * Copt) + C_lambda);
 
         double Wsw_1 = Y * (opticFlow.getB_lambda() + opticFlow.getB_Fiber() + bandwidthRequested) * T; // se toma la accion 
-        Wsign_1 = Cx + (Cy * Hf);
-        Wtotal = Wsign_1 + Wsw_1 + Wb;
-
-        return Wtotal;
+        double Wsign_1 = Cx + (Cy * Hf);
 
+        return new MarkovCost(1, Wsign_1, Wsw_1, Wb);
     }
 
     public double getThresholdBetween(Entity source, Entity destination, ArrayList<OCSRoute> ocsSupportRequest,
@@ -203,7 +184,7 @@ public class MultiCostMarkovAnalyzer implements Serializable {
     public void setCfind(double Cfindλ) {
         this.Cfind = Cfindλ;
     }
-    
+
     public double getCallocate() {
         return Callocate;
     }
@@ -219,4 +200,64 @@ public class MultiCostMarkovAnalyzer implements Serializable {
     public void setCy(double Cy) {
         this.Cy = Cy;
     }
+
+    /**
+     * #########################################################################
+     * The result of an evaluation: the action taken and the parts of the cost.
+     * #########################################################################
+     */
+    public static final class MarkovCost implements Serializable {
+
+        /**
+         * 1 if a new OCS is created, 0 if existing OCSs are used.
+         */
+        private final int acciontaken;
+        private final double Wsign;
+        private final double Wsw;
+        private final double Wb;
+
+        public MarkovCost(int acciontaken, double Wsign, double Wsw, double Wb) {
+            this.acciontaken = acciontaken;
+            this.Wsign = Wsign;
+            this.Wsw = Wsw;
+            this.Wb = Wb;
+        }
+
+        public int getAcciontaken() {
+            return acciontaken;
+        }
+
+        /**
+         * @return The signaling cost.
+         */
+        public double getWsign() {
+            return Wsign;
+        }
+
+        /**
+         * @return The switching cost.
+         */
+        public double getWsw() {
+            return Wsw;
+        }
+
+        /**
+         * @return The bandwidth cost.
+         */
+        public double getWb() {
+            return Wb;
+        }
+
+        /**
+         * @return The total cost, Wsign + Wsw + Wb.
+         */
+        public double getWtotal() {
+            return Wsign + Wsw + Wb;
+        }
+
+        @Override
+        public String toString() {
+            return " MarkovCost => accion:" + acciontaken + " Wsign:" + Wsign + " Wsw:" + Wsw + " Wb:" + Wb;
+        }
+    }
 }
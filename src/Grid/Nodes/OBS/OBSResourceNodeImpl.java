@@ -87,12 +87,16 @@ public class OBSResourceNodeImpl extends AbstractResourceNode {
 
     @Override
     public void requestOCSCircuit(OCSRoute ocsRoute, boolean permanent, Time time) {
-        simulator.putLog(currentTime, id + " is an OBS Node and cannot request an OCS circuit " + ocsRoute, Logger.RED, -1, -1);
+        if (simulator.isLogEnabled(Logger.RED)) {
+            simulator.putLog(currentTime, id + " is an OBS Node and cannot request an OCS circuit " + ocsRoute, Logger.RED, -1, -1);
+        }
     }
 
     @Override
     public void teardDownOCSCircuit(Entity ent, int wavelength, GridOutPort port, Time time) {
-        simulator.putLog(currentTime, id + " is an OBS Node and cannot tear down an OCS circuit ", Logger.RED, -1, -1);
+        if (simulator.isLogEnabled(Logger.RED)) {
+            simulator.putLog(currentTime, id + " is an OBS Node and cannot tear down an OCS circuit ", Logger.RED, -1, -1);
+        }
     }
 
     @Override
@@ -62,12 +62,16 @@ public class OBSServiceNodeImpl extends AbstractServiceNode {
 
     @Override
     public void requestOCSCircuit(OCSRoute ocsRoute, boolean permanent, Time t) {
-        simulator.putLog(currentTime, id + " is an OBS Node and cannot request an OCS circuit", Logger.RED, -1, -1);
+        if (simulator.isLogEnabled(Logger.RED)) {
+            simulator.putLog(currentTime, id + " is an OBS Node and cannot request an OCS circuit", Logger.RED, -1, -1);
+        }
     }
 
     @Override
     public void teardDownOCSCircuit(Entity ent, int wavelength, GridOutPort port, Time time) {
-        simulator.putLog(currentTime, id + " is an OBS Node and cannot tear down an OCS circuit ", Logger.RED, -1, -1);
+        if (simulator.isLogEnabled(Logger.RED)) {
+            simulator.putLog(currentTime, id + " is an OBS Node and cannot tear down an OCS circuit ", Logger.RED, -1, -1);
+        }
     }
 }
 
@@ -84,10 +84,12 @@ public class OBSSwitchImpl extends OBSSwitch {
             if (sender.send(m, t, true)) {
                 simulator.addStat(this, Stat.SWITCH_MESSAGE_SWITCHED);
 
-                simulator.putLog(currentTime, this.getId()
-                        + " switched : " + m.getId() + " from " + m.getSource() + " to " + m.getDestination()
-                        + " handledelay : " + this.getHandleDelay() + " on "
-                        + m.getWavelengthID(), Logger.ORANGE, m.getSize(), m.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.ORANGE)) {
+                    simulator.putLog(currentTime, this.getId()
+                            + " switched : " + m.getId() + " from " + m.getSource() + " to " + m.getDestination()
+                            + " handledelay : " + this.getHandleDelay() + " on "
+                            + m.getWavelengthID(), Logger.ORANGE, m.getSize(), m.getWavelengthID());
+                }
                 if (m instanceof JobMessage) {
                     simulator.addStat(this, Stat.SWITCH_JOBMESSAGE_SWITCHED);
 
@@ -98,19 +100,25 @@ public class OBSSwitchImpl extends OBSSwitch {
                 dropMessage(m);
             }
         } else {
-            simulator.putLog(currentTime, "FAIL: " + this.getId()
-                    + " got a OCS-message :s : " + m.getId(), Logger.RED, m.getSize(), m.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.RED)) {
+                simulator.putLog(currentTime, "FAIL: " + this.getId()
+                        + " got a OCS-message :s : " + m.getId(), Logger.RED, m.getSize(), m.getWavelengthID());
+            }
             dropMessage(m);
         }
     }
 
     @Override
     public void requestOCSCircuit(OCSRoute ocsRoute, boolean permanent, Time time) {
-        simulator.putLog(currentTime, id + " is an OBS Node and cannot request an OCS circuit", Logger.RED, -1, -1);
+        if (simulator.isLogEnabled(Logger.RED)) {
+            simulator.putLog(currentTime, id + " is an OBS Node and cannot request an OCS circuit", Logger.RED, -1, -1);
+        }
     }
 
     @Override
     public void teardDownOCSCircuit(Entity ent, int wavelength, GridOutPort port, Time time) {
-        simulator.putLog(currentTime, id + " is an OBS Node and cannot tear down an OCS circuit ", Logger.RED, -1, -1);
+        if (simulator.isLogEnabled(Logger.RED)) {
+            simulator.putLog(currentTime, id + " is an OBS Node and cannot tear down an OCS circuit ", Logger.RED, -1, -1);
+        }
     }
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package Grid.Nodes.OCS;
 
 import Grid.Entity;
-import Grid.GridSimulation;
 import Grid.GridSimulator;
 import Grid.Interfaces.Messages.GeneratorMessage;
 import Grid.Interfaces.Messages.JobAckMessage;
@@ -15,7 +14,6 @@ import Grid.Nodes.*;
 import Grid.OCS.OCSRoute;
 import Grid.Port.GridOutPort;
 import Grid.Sender.OCS.OCSEndSender;
-import Grid.Utilities.Config;
 import simbase.Exceptions.StopException;
 import simbase.Port.SimBaseInPort;
 import simbase.SimBaseMessage;
@@ -36,13 +34,13 @@ public class OCSClientNodeImpl extends AbstractClient {
      */
     public OCSClientNodeImpl(String id, GridSimulator gridSim) {
         super(id, gridSim);
-        sender = new OCSEndSender(gridSim, this,5*GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.OCSSetupHandleTime));
+        sender = new OCSEndSender(gridSim, this,5*configSnapshot.getOCSSetupHandleTime());
 
     }
 
     public OCSClientNodeImpl(String id, GridSimulator gridSim, ServiceNode broker) {
         super(id, gridSim, broker);
-        sender = new OCSEndSender(gridSim, this,5*GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.OCSSetupHandleTime));
+        sender = new OCSEndSender(gridSim, this,5*configSnapshot.getOCSSetupHandleTime());
     }
     
     
@@ -79,9 +77,13 @@ public class OCSClientNodeImpl extends AbstractClient {
         //check if this is the last hop on the path
         OCSRoute ocsRoute = m.getOCSRoute();
         if (((OCSEndSender)sender).handleOCSSetup(m, this)) {
-            simulator.putLog(currentTime, "OCS: OCS requestmessage send from <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.BLACK)) {
+                simulator.putLog(currentTime, "OCS: OCS requestmessage send from <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            }
         } else {
-            simulator.putLog(currentTime, "OCS: OCS Requestmessage could not be send <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.BLACK)) {
+                simulator.putLog(currentTime, "OCS: OCS Requestmessage could not be send <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            }
         }
     }
 
@@ -125,8 +127,10 @@ public class OCSClientNodeImpl extends AbstractClient {
      *              client of an OCS circuit setup.
      */
     public void handleOCSConfirmSetupMessage(OCSConfirmSetupMessage msg) {
-        simulator.putLog(currentTime, id + " : Confirmation of OCS Setup between " + msg.getOcsRoute().getSource() + " and " +
-                msg.getOcsRoute().getDestination() + " has been received.", -1, -1, -1);
+        if (simulator.isLogEnabled(-1)) {
+            simulator.putLog(currentTime, id + " : Confirmation of OCS Setup between " + msg.getOcsRoute().getSource() + " and " +
+                    msg.getOcsRoute().getDestination() + " has been received.", -1, -1, -1);
+        }
         ((OCSEndSender)sender).handleConfirmMessage(msg);
     }
 }
@@ -2,7 +2,6 @@ package Grid.Nodes.OCS;
 
 import Distributions.DiscreteDistribution;
 import Grid.Entity;
-import Grid.GridSimulation;
 import Grid.GridSimulator;
 import Grid.Interfaces.Messages.JobCompletedMessage;
 import Grid.Interfaces.Messages.JobMessage;
@@ -16,7 +15,6 @@ import Grid.Nodes.Selector.FCFSCPUSelector;
 import Grid.OCS.OCSRoute;
 import Grid.Port.GridOutPort;
 import Grid.Sender.OCS.OCSEndSender;
-import Grid.Utilities.Config;
 import simbase.Exceptions.StopException;
 import simbase.Port.SimBaseInPort;
 import simbase.SimBaseMessage;
@@ -37,7 +35,7 @@ public class OCSResourceNodeImpl extends AbstractResourceNode {
     public OCSResourceNodeImpl(String id, GridSimulator gridSim) {
         super(id, gridSim);
         selector = new FCFSCPUSelector();
-        sender = new OCSEndSender(gridSim, this, 5*GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.OCSSetupHandleTime));
+        sender = new OCSEndSender(gridSim, this, 5*configSnapshot.getOCSSetupHandleTime());
     }
 
     @Override
@@ -66,9 +64,13 @@ public class OCSResourceNodeImpl extends AbstractResourceNode {
         //check if this is the last hop on the path
         OCSRoute ocsRoute = m.getOCSRoute();
         if (((OCSEndSender)sender).handleOCSSetup(m, this)) {
-            simulator.putLog(currentTime, "OCS: OCS requestmessage send from <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.BLACK)) {
+                simulator.putLog(currentTime, "OCS: OCS requestmessage send from <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            }
         } else {
-            simulator.putLog(currentTime, "OCS: OCS Requestmessage could not be send <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.BLACK)) {
+                simulator.putLog(currentTime, "OCS: OCS Requestmessage could not be send <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            }
         }
     }
 
@@ -121,8 +123,10 @@ public class OCSResourceNodeImpl extends AbstractResourceNode {
      *              client of an OCS circuit setup.
      */
     public void handleOCSConfirmSetupMessage(OCSConfirmSetupMessage msg) {
-        simulator.putLog(currentTime, id + " : Confirmation of OCS Setup between " + msg.getOcsRoute().getSource() + " and " +
-                msg.getOcsRoute().getDestination() + " has been received.", -1, -1, -1);
+        if (simulator.isLogEnabled(-1)) {
+            simulator.putLog(currentTime, id + " : Confirmation of OCS Setup between " + msg.getOcsRoute().getSource() + " and " +
+                    msg.getOcsRoute().getDestination() + " has been received.", -1, -1, -1);
+        }
         ((OCSEndSender)sender).handleConfirmMessage(msg);
     }
 
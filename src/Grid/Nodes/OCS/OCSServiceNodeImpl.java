@@ -1,7 +1,6 @@
 package Grid.Nodes.OCS;
 
 import Grid.Entity;
-import Grid.GridSimulation;
 import Grid.GridSimulator;
 import Grid.Interfaces.Messages.OCSConfirmSetupMessage;
 import Grid.Interfaces.Messages.OCSRequestMessage;
@@ -11,7 +10,6 @@ import Grid.Nodes.AbstractServiceNode;
 import Grid.OCS.OCSRoute;
 import Grid.Port.GridOutPort;
 import Grid.Sender.OCS.OCSEndSender;
-import Grid.Utilities.Config;
 import simbase.Exceptions.StopException;
 import simbase.Port.SimBaseInPort;
 import simbase.SimBaseMessage;
@@ -36,7 +34,7 @@ public class OCSServiceNodeImpl extends AbstractServiceNode {
      */
     public OCSServiceNodeImpl(String id, GridSimulator sim) {
         super(id, sim);
-        sender = new OCSEndSender(sim, this,5*GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.OCSSetupHandleTime));
+        sender = new OCSEndSender(sim, this,5*configSnapshot.getOCSSetupHandleTime());
 
     }
 
@@ -45,9 +43,13 @@ public class OCSServiceNodeImpl extends AbstractServiceNode {
     private void handleOCSSetupMessage(SimBaseInPort inport, OCSRequestMessage m) {
         OCSRoute ocsRoute = m.getOCSRoute();
         if (((OCSEndSender)sender).handleOCSSetup(m, this)) {
-            simulator.putLog(currentTime, "OCS: OCS requestmessage send from <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.BLACK)) {
+                simulator.putLog(currentTime, "OCS: OCS requestmessage send from <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            }
         } else {
-            simulator.putLog(currentTime, "OCS: OCS Requestmessage could not be send <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.BLACK)) {
+                simulator.putLog(currentTime, "OCS: OCS Requestmessage could not be send <b>" + this.getId() + "</b> to <b>" + ocsRoute.get(ocsRoute.indexOf(this) + 1) + "</b>", Logger.BLACK, m.getSize(), m.getWavelengthID());
+            }
         }
     }
 
@@ -111,8 +113,10 @@ public class OCSServiceNodeImpl extends AbstractServiceNode {
      *              client of an OCS circuit setup.
      */
     public void handleOCSConfirmSetupMessage(OCSConfirmSetupMessage msg) {
-        simulator.putLog(currentTime, id+ " : Confirmation of OCS Setup between " + msg.getOcsRoute().getSource() + " and " +
-                msg.getOcsRoute().getDestination() + " has been received.", -1, -1, -1);
+        if (simulator.isLogEnabled(-1)) {
+            simulator.putLog(currentTime, id+ " : Confirmation of OCS Setup between " + msg.getOcsRoute().getSource() + " and " +
+                    msg.getOcsRoute().getDestination() + " has been received.", -1, -1, -1);
+        }
         ((OCSEndSender)sender).handleConfirmMessage(msg);
     }
 }
@@ -1,7 +1,6 @@
 package Grid.Nodes.OCS;
 
 import Grid.Entity;
-import Grid.GridSimulation;
 import Grid.GridSimulator;
 import Grid.Interfaces.Messages.GridMessage;
 import Grid.Interfaces.Messages.JobMessage;
@@ -14,7 +13,6 @@ import Grid.OCS.OCSRoute;
 import Grid.Port.GridInPort;
 import Grid.Port.GridOutPort;
 import Grid.Sender.OCS.OCSSwitchSender;
-import Grid.Utilities.Config;
 import simbase.Exceptions.StopException;
 import simbase.Port.SimBaseInPort;
 import simbase.SimBaseMessage;
@@ -39,7 +37,7 @@ public class OCSSwitchImpl extends OCSSwitch {
      */
     public OCSSwitchImpl(String id, GridSimulator simulator) {
         super(id, simulator);
-        sender = new OCSSwitchSender(simulator, this,GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.OCSSetupHandleTime));
+        sender = new OCSSwitchSender(simulator, this,configSnapshot.getOCSSetupHandleTime());
 
     }
 
@@ -75,7 +73,9 @@ public class OCSSwitchImpl extends OCSSwitch {
         if (sender.send(m, inport,currentTime,true)) {
             simulator.addStat(this, Stat.SWITCH_MESSAGE_SWITCHED);
 
-            simulator.putLog(currentTime, this.getId() + " switched " + m.getId() + m.getWavelengthID(), Logger.BLACK, m.getSize(), m.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.BLACK)) {
+                simulator.putLog(currentTime, this.getId() + " switched " + m.getId() + m.getWavelengthID(), Logger.BLACK, m.getSize(), m.getWavelengthID());
+            }
             if (m instanceof JobMessage) {
                 simulator.addStat(this, Stat.SWITCH_JOBMESSAGE_SWITCHED);
 
@@ -101,7 +101,9 @@ public class OCSSwitchImpl extends OCSSwitch {
 
     @Override
     public void teardDownOCSCircuit(Entity ent, int wavelength, GridOutPort port,Time time) {
-        simulator.putLog(currentTime, id + " is an OCS Switch and cannot tear down an OCS circuit on its own ", Logger.RED, -1, -1);
+        if (simulator.isLogEnabled(Logger.RED)) {
+            simulator.putLog(currentTime, id + " is an OCS Switch and cannot tear down an OCS circuit on its own ", Logger.RED, -1, -1);
+        }
     }
 
     public OCSSwitchSender getSender() {
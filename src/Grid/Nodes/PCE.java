@@ -22,6 +22,15 @@ public class PCE extends HybridSwitchImpl {
     private transient Routing routing;
     private MultiCostMarkovAnalyzer multiCostMarkovAnalyzer;
     public static final boolean TRACK_INSTRUCTION = true;
+    /**
+     * The evaluations of the paths between edge routers, valid for
+     * {@link #evaluationsVersion}.
+     */
+    private transient Map<PathKey, PathEvaluation> evaluations;
+    /**
+     * The network state version of the simulator the evaluations were made in.
+     */
+    private transient long evaluationsVersion = -1;
 
     public PCE(String id, GridSimulator simulator, double costFindCommonWavelenght, double costAllocateWavelenght) {
         super(id, simulator, costFindCommonWavelenght, costAllocateWavelenght);
@@ -75,23 +84,15 @@ public class PCE extends HybridSwitchImpl {
 
             return 0D;
         }
-        OpticFlow opticFlow = findBs(firstSwicth, lastSwicth);
-
-        ArrayList<OCSRoute> ocsShortesPath = getOCSShortesPath(firstSwicth, lastSwicth);
-
-        double b = getEstimatedBandwidhtToGrant(clientNode.getState().getTrafficPriority(), firstSwitchCurrentTime, ocsShortesPath);
+        PathEvaluation evaluation = getPathEvaluation(firstSwicth, lastSwicth, clientNode.getState().getTrafficPriority(), firstSwitchCurrentTime);
+        OpticFlow opticFlow = evaluation.opticFlow;
+        double b = evaluation.b;
         double costAllRoutesFullBusy = Double.MAX_VALUE;
 
-        if (b == Sender.INVALID_BANDWIDHT) {
-
-//            System.out.println("Recalculando b en directo OCS b: "+b);
-            OCSRoute ocsRoute = simulator.getPhysicTopology().findOCSRoute(firstSwicth, lastSwicth);
-            Entity nextHop = ocsRoute.findNextHop(firstSwicth);
-            GridOutPort outportToNextHop = firstSwicth.findOutPort(nextHop);
-
-            b = Sender.getBandwidthToGrant(outportToNextHop.getLinkSpeed(), clientNode.getState().getTrafficPriority(), 0);
+        if (evaluation.directOCSToCreate != null) {
 
-            costAllRoutesFullBusy = multiCostMarkovAnalyzer.getCostOCSDirectToCreate(firstSwicth, lastSwicth, firstSwitchCurrentTime, this, opticFlow, b, jobSize);
+            OCSRoute ocsRoute = evaluation.directOCSToCreate;
+            costAllRoutesFullBusy = multiCostMarkovAnalyzer.getCostOCSDirectToCreate(firstSwicth, lastSwicth, firstSwitchCurrentTime, this, opticFlow, b, jobSize).getWtotal();
 
             if (trackInstructions) {
                 OCS_Instructions.add(ocsRoute);
@@ -106,32 +107,9 @@ public class PCE extends HybridSwitchImpl {
 
         if (routingMapFirtSwitch.containsKey(destination.getId())) {
 
-            ArrayList<OCSRoute> ocsSupportBWRequest = new ArrayList();
-            ArrayList<OCSRoute> ocsNotSupportBWRequest = new ArrayList();
-
-            for (OCSRoute ocs : ocsShortesPath) {
-
-                Entity ocsSource = ocs.getSource();
-                int wavelenghtStartsOCS = ocs.getWavelength();
-                Entity nextHop = ocs.findNextHop(ocsSource);
-                GridOutPort outportToNextHop = ocsSource.findOutPort(nextHop);
-
-                //   System.out.println("*Iniciando en: " + ocsSource + " FreeBW: " + ocsSource.getFreeBandwidth(outportToNextHop, wavelenghtStartsOCS, firstSwitchCurrentTime));
-                if (b <= ocsSource.getFreeBandwidth(outportToNextHop, wavelenghtStartsOCS, firstSwitchCurrentTime)) {
-                    ocsSupportBWRequest.add(ocs);
-                } else {
-                    //Si todos los ocss default tienen capacidad para alojar b los trae, sin tan solo uno no, la lista es nula. 
-                    ArrayList<OCSRoute> fullDefaultOCSsSupportBWRequest = getFullDefaultOCSsSupportBWRequest(b, firstSwitchCurrentTime, ocs);
+            ArrayList<OCSRoute> ocsSupportBWRequest = evaluation.ocsSupportBWRequest;
+            ArrayList<OCSRoute> ocsNotSupportBWRequest = evaluation.ocsNotSupportBWRequest;
 
-                    //Si es nulla entonces deja el circuito optico q con anterioridad no soportaba a b
-                    if (fullDefaultOCSsSupportBWRequest == null) {
-                        ocsNotSupportBWRequest.add(ocs);
-                    } else {
-                        //Si todos los defaults q hacen parte de ocs soportan b, entonces los introduzco en los q si soportan b
-                        ocsSupportBWRequest.addAll(fullDefaultOCSsSupportBWRequest);
-                    }
-                }
-            }
 //            System.out.println("Existe directo con capacidad "+ (ocsSupportBWRequest.size() == 1 && ocsNotSupportBWRequest.isEmpty()) );
             //Por si existe un ocs directo
             if (ocsSupportBWRequest.size() == 1 && ocsNotSupportBWRequest.isEmpty()) {
@@ -142,18 +120,13 @@ public class PCE extends HybridSwitchImpl {
 
                 if (probableSource.equals(firstSwicth) && probableDestination.equals(lastSwicth)) {
                     //Returna el costo de usar el OCS directo ya creado. 
-                    Double directOCScost = multiCostMarkovAnalyzer.getCostOCSDirect(probableDirectOCS, firstSwitchCurrentTime, b, opticFlow, jobSize);
-
-                    if (directOCScost != null) {
-//                        System.out.println("Return. Existe un directo con capacidad** b:"+b+" Costo:"+directOCScost+" Destino:"+resourceNode);
-                        return directOCScost;
-                    }
+                    double directOCScost = multiCostMarkovAnalyzer.getCostOCSDirect(probableDirectOCS, firstSwitchCurrentTime, b, opticFlow, jobSize).getWtotal();
+//                    System.out.println("Return. Existe un directo con capacidad** b:"+b+" Costo:"+directOCScost+" Destino:"+resourceNode);
+                    return directOCScost;
                 }
             }
 
-            double costByDecisionThreshold = -1;
-
-            costByDecisionThreshold = multiCostMarkovAnalyzer.getCostP_LambdaOrCreateNewDirectOCS(
+            MultiCostMarkovAnalyzer.MarkovCost decision = multiCostMarkovAnalyzer.getCostP_LambdaOrCreateNewDirectOCS(
                     firstSwicth,
                     lastSwicth,
                     ocsSupportBWRequest,
@@ -162,10 +135,11 @@ public class PCE extends HybridSwitchImpl {
                     opticFlow,
                     b,
                     jobSize);
+            double costByDecisionThreshold = decision.getWtotal();
 
-            if (ocsNotSupportBWRequest.isEmpty() || (multiCostMarkovAnalyzer.getAcciontaken() == 1)) {
+            if (ocsNotSupportBWRequest.isEmpty() || (decision.getAcciontaken() == 1)) {
 
-                if (trackInstructions && multiCostMarkovAnalyzer.getAcciontaken() == 1) {
+                if (trackInstructions && decision.getAcciontaken() == 1) {
                     OCSRoute OCS_Route = new OCSRoute(firstSwicth, lastSwicth, -1);
                     OCS_Instructions.add(OCS_Route);
 //                    System.out.println("Return. TOMO ACCION con costo calculado por Bth:"+costByDecisionThreshold+" Destino:"+resourceNode);
@@ -182,7 +156,7 @@ public class PCE extends HybridSwitchImpl {
 
                     HybridSwitchImpl firstMiddleSwicth = (HybridSwitchImpl) ocsNotSupport.getSource();
                     HybridSwitchImpl lastMiddleSwicth = (HybridSwitchImpl) ocsNotSupport.getDestination();
-                    costByDecisionThreshold += multiCostMarkovAnalyzer.getCostOCSDirectToCreate(firstMiddleSwicth, lastMiddleSwicth, firstSwitchCurrentTime, this, opticFlow, b, jobSize);
+                    costByDecisionThreshold += multiCostMarkovAnalyzer.getCostOCSDirectToCreate(firstMiddleSwicth, lastMiddleSwicth, firstSwitchCurrentTime, this, opticFlow, b, jobSize).getWtotal();
 
                     if (trackInstructions) {
                         OCS_Instructions.add(ocsNotSupport);
@@ -197,6 +171,82 @@ public class PCE extends HybridSwitchImpl {
         return Double.MAX_VALUE;
     }
 
+    /**
+     * Evaluates the state of the network between two edge routers: the flows,
+     * the OCSs of the shortest path, the bandwidth to grant and which OCSs
+     * support it. This part of the network cost does not depend on the size
+     * of the job, so it is calculated once and reused for all jobs and
+     * resources until the network state version of the simulator or the
+     * current time of the first switch changes.
+     *
+     * @param firstSwicth The ingress router.
+     * @param lastSwicth The egress router.
+     * @param trafficPriority The traffic priority of the client.
+     * @param firstSwitchCurrentTime The current time of the ingress router.
+     * @return The evaluation of the path.
+     */
+    private PathEvaluation getPathEvaluation(HybridSwitchImpl firstSwicth, HybridSwitchImpl lastSwicth,
+            int trafficPriority, Time firstSwitchCurrentTime) {
+
+        long version = simulator.getNetworkStateVersion();
+        if (evaluations == null || evaluationsVersion != version) {
+            evaluations = new HashMap<PathKey, PathEvaluation>();
+            evaluationsVersion = version;
+        }
+        PathKey key = new PathKey(firstSwicth, lastSwicth, trafficPriority);
+        PathEvaluation evaluation = evaluations.get(key);
+        if (evaluation != null && evaluation.time == firstSwitchCurrentTime.getTime()) {
+            return evaluation;
+        }
+
+        evaluation = new PathEvaluation(firstSwitchCurrentTime.getTime());
+        evaluation.opticFlow = findBs(firstSwicth, lastSwicth);
+
+        ArrayList<OCSRoute> ocsShortesPath = getOCSShortesPath(firstSwicth, lastSwicth);
+
+        double b = getEstimatedBandwidhtToGrant(trafficPriority, firstSwitchCurrentTime, ocsShortesPath);
+
+        if (b == Sender.INVALID_BANDWIDHT) {
+
+            OCSRoute ocsRoute = simulator.getPhysicTopology().findOCSRoute(firstSwicth, lastSwicth);
+            Entity nextHop = ocsRoute.findNextHop(firstSwicth);
+            GridOutPort outportToNextHop = firstSwicth.findOutPort(nextHop);
+
+            evaluation.b = Sender.getBandwidthToGrant(outportToNextHop.getLinkSpeed(), trafficPriority, 0,
+                    simulator.getContext().getMinBandwidthToGrant());
+            evaluation.directOCSToCreate = ocsRoute;
+        } else {
+            evaluation.b = b;
+            evaluation.ocsSupportBWRequest = new ArrayList<OCSRoute>();
+            evaluation.ocsNotSupportBWRequest = new ArrayList<OCSRoute>();
+
+            for (OCSRoute ocs : ocsShortesPath) {
+
+                Entity ocsSource = ocs.getSource();
+                int wavelenghtStartsOCS = ocs.getWavelength();
+                Entity nextHop = ocs.findNextHop(ocsSource);
+                GridOutPort outportToNextHop = ocsSource.findOutPort(nextHop);
+
+                if (b <= ocsSource.getFreeBandwidth(outportToNextHop, wavelenghtStartsOCS, firstSwitchCurrentTime)) {
+                    evaluation.ocsSupportBWRequest.add(ocs);
+                } else {
+                    //Si todos los ocss default tienen capacidad para alojar b los trae, sin tan solo uno no, la lista es nula. 
+                    ArrayList<OCSRoute> fullDefaultOCSsSupportBWRequest = getFullDefaultOCSsSupportBWRequest(b, firstSwitchCurrentTime, ocs);
+
+                    //Si es nulla entonces deja el circuito optico q con anterioridad no soportaba a b
+                    if (fullDefaultOCSsSupportBWRequest == null) {
+                        evaluation.ocsNotSupportBWRequest.add(ocs);
+                    } else {
+                        //Si todos los defaults q hacen parte de ocs soportan b, entonces los introduzco en los q si soportan b
+                        evaluation.ocsSupportBWRequest.addAll(fullDefaultOCSsSupportBWRequest);
+                    }
+                }
+            }
+        }
+        evaluations.put(key, evaluation);
+        return evaluation;
+    }
+
     /**
      * Find the flows between two Switches. The sum of direct flows over the
      * direct OCSs and the flow over default OCSs.
@@ -231,7 +281,7 @@ public class PCE extends HybridSwitchImpl {
         }
 
         for (int i = 0; i < gridOutPort.getMaxNumberOfWavelengths(); i++) {
-            LambdaChannelGroup channelGroup = source.getMapLinkUsage().get(gridOutPort).get(i);
+            LambdaChannelGroup channelGroup = source.getChannelGroup(gridOutPort, i);
             if (lambdaList.contains(i)) {
                 B_lambda += gridOutPort.getLinkSpeed() - channelGroup.getFreeBandwidth(source.getCurrentTime().getTime());
             } else {
@@ -440,7 +490,8 @@ public class PCE extends HybridSwitchImpl {
 
         int avgNumberOfChannels = aggregateNumberOfChannels / circuitsAmount;
 
-        return Sender.getBandwidthToGrant((BANDWIDHT_FIT_PERCENT * avgBandwidthAvai), trafficPriority, avgNumberOfChannels);
+        return Sender.getBandwidthToGrant((BANDWIDHT_FIT_PERCENT * avgBandwidthAvai), trafficPriority, avgNumberOfChannels,
+                simulator.getContext().getMinBandwidthToGrant());
     }
 
     private ArrayList<OCSRoute> getFullDefaultOCSsSupportBWRequest(double b, Time evaluationTime, OCSRoute ocsToExtractDefaults) {
@@ -530,6 +581,61 @@ public class PCE extends HybridSwitchImpl {
         }
     }
 
+    /**
+     * Identifies a path between two edge routers for a traffic priority.
+     */
+    private static class PathKey {
+
+        private Entity first;
+        private Entity last;
+        private int trafficPriority;
+
+        public PathKey(Entity first, Entity last, int trafficPriority) {
+            this.first = first;
+            this.last = last;
+            this.trafficPriority = trafficPriority;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PathKey)) {
+                return false;
+            }
+            PathKey other = (PathKey) o;
+            return first == other.first && last == other.last && trafficPriority == other.trafficPriority;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * System.identityHashCode(first) + System.identityHashCode(last)) * 31 + trafficPriority;
+        }
+    }
+
+    /**
+     * The part of the network cost of a path which does not depend on the
+     * size of the job, evaluated at a time.
+     */
+    private static class PathEvaluation {
+
+        private double time;
+        private OpticFlow opticFlow;
+        /**
+         * The bandwidth to grant.
+         */
+        private double b;
+        /**
+         * The direct OCS to create if the OCSs of the shortest path have no
+         * bandwidth left, null otherwise.
+         */
+        private OCSRoute directOCSToCreate;
+        private ArrayList<OCSRoute> ocsSupportBWRequest;
+        private ArrayList<OCSRoute> ocsNotSupportBWRequest;
+
+        public PathEvaluation(double time) {
+            this.time = time;
+        }
+    }
+
     public static GridOutPort getGridOutPort(HybridSwitchImpl firstSwicth, HybridSwitchImpl lastSwicth) {
         OBSSender obsSender = (OBSSender) ((HybridSwitchSender) firstSwicth.getSender()).getObsSender();
         Map<String, GridOutPort> routingMap = ((OBSSender) obsSender).getRoutingMap();
@@ -9,6 +9,7 @@ import Distributions.DiscreteDistribution;
 import Grid.Interfaces.ClientNode;
 import Grid.Interfaces.Messages.JobRequestMessage;
 import java.io.Serializable;
+import simbase.RandomStreams;
 import simbase.SimBaseSimulator;
 import simbase.Time;
 
@@ -66,12 +67,50 @@ public class ClientState implements Serializable {
 
     public void setResultSizeDistribution(DiscreteDistribution resultSizeDistribution) {
         this.resultSizeDistribution = resultSizeDistribution;
+        useStream(resultSizeDistribution, "result");
     }
     
     private int trafficPriority = 5;
+    /**
+     * The streams the distributions draw from, null if they use the engine
+     * they were created with.
+     */
+    private RandomStreams randomStreams = null;
 
     public ClientState(String id, SimBaseSimulator simulator) {
         this.id = id;
+        if (simulator != null) {
+            randomStreams = simulator.getRandomStreams();
+        }
+    }
+
+    /**
+     * Lets every distribution of this state draw from its own stream, named
+     * after the ID of the state and the purpose: iat, flops, maxDelay, size,
+     * ack and result. Distributions which are set later get their stream as
+     * well. A state takes the streams of its simulator when it is created.
+     *
+     * @param randomStreams The streams, or null to keep the engines of the
+     * distributions.
+     */
+    public void setRandomStreams(RandomStreams randomStreams) {
+        this.randomStreams = randomStreams;
+        useStream(jobInterArrival, "iat");
+        useStream(flops, "flops");
+        useStream(maxDelayInterval, "maxDelay");
+        useStream(sizeDistribution, "size");
+        useStream(ackSizeDistribution, "ack");
+        useStream(resultSizeDistribution, "result");
+    }
+
+    public RandomStreams getRandomStreams() {
+        return randomStreams;
+    }
+
+    private void useStream(DiscreteDistribution distribution, String purpose) {
+        if (randomStreams != null && distribution != null) {
+            distribution.setMersenneTwister(randomStreams.getStream(id + "." + purpose));
+        }
     }
 
     /**
@@ -113,10 +152,12 @@ public class ClientState implements Serializable {
 
     public void setAckSizeDistribution(DiscreteDistribution ackSizeDistribution) {
         this.ackSizeDistribution = ackSizeDistribution;
+        useStream(ackSizeDistribution, "ack");
     }
 
     public void setFlops(DiscreteDistribution flops) {
         this.flops = flops;
+        useStream(flops, "flops");
     }
 
     public String getId() {
@@ -133,6 +174,7 @@ public class ClientState implements Serializable {
 
     public void setJobInterArrival(DiscreteDistribution jobInterArrival) {
         this.jobInterArrival = jobInterArrival;
+        useStream(jobInterArrival, "iat");
     }
 
     public DiscreteDistribution getMaxDelayInterval() {
@@ -141,6 +183,7 @@ public class ClientState implements Serializable {
 
     public void setMaxDelayInterval(DiscreteDistribution maxDelayInterval) {
         this.maxDelayInterval = maxDelayInterval;
+        useStream(maxDelayInterval, "maxDelay");
     }
 
     public DiscreteDistribution getSizeDistribution() {
@@ -149,6 +192,7 @@ public class ClientState implements Serializable {
 
     public void setSizeDistribution(DiscreteDistribution sizeDistribution) {
         this.sizeDistribution = sizeDistribution;
+        useStream(sizeDistribution, "size");
     }
 
     /**
@@ -34,7 +34,9 @@ public class TestClientNode extends Entity {
         job.setSource(this);
 
         sender.send(job, t, true);
-        simulator.putLog(simulator.getMasterClock(), "Job has been scheduled to be send at : " + t, Logger.BLUE, (double) job.getWavelengthID(), (int) job.getSize());
+        if (simulator.isLogEnabled(Logger.BLUE)) {
+            simulator.putLog(simulator.getMasterClock(), "Job has been scheduled to be send at : " + t, Logger.BLUE, (double) job.getWavelengthID(), (int) job.getSize());
+        }
     }
 
     @Override
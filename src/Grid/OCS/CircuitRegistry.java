@@ -0,0 +1,204 @@
+/*
+ * This class keeps the circuits which are established in the network, indexed
+ * so that they can be found without scanning all the circuits.
+ */
+package Grid.OCS;
+
+import Grid.Entity;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Registry of OCS circuits, indexed by (source, destination) and by
+ * (source, destination, wavelength), i.e. by the virtual link a circuit forms
+ * and the wavelength it uses. Circuits between the same two entities are kept
+ * in the order they were added, so lookups return them in the same order as a
+ * scan over a CircuitList would.
+ */
+public class CircuitRegistry implements Iterable<OCSRoute>, Serializable {
+
+    /**
+     * The circuits by source and destination.
+     */
+    private HashMap<CircuitKey, ArrayList<OCSRoute>> byEndPoints = new HashMap<CircuitKey, ArrayList<OCSRoute>>();
+    /**
+     * The circuits by source, destination and wavelength.
+     */
+    private HashMap<CircuitKey, ArrayList<OCSRoute>> byWavelength = new HashMap<CircuitKey, ArrayList<OCSRoute>>();
+    /**
+     * The number of circuits.
+     */
+    private int size = 0;
+
+    /**
+     * Adds a circuit.
+     *
+     * @param route The circuit
+     * @return true
+     */
+    public boolean add(OCSRoute route) {
+        addTo(byEndPoints, new CircuitKey(route.getSource(), route.getDestination(), CircuitKey.ANY_WAVELENGTH), route);
+        addTo(byWavelength, new CircuitKey(route.getSource(), route.getDestination(), route.getWavelength()), route);
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns whether there is a circuit between source and destination.
+     *
+     * @param source The source of the circuit.
+     * @param destination The destination of the circuit.
+     * @return true if there is at least one circuit.
+     */
+    public boolean contains(Entity source, Entity destination) {
+        return byEndPoints.containsKey(new CircuitKey(source, destination, CircuitKey.ANY_WAVELENGTH));
+    }
+
+    /**
+     * Returns the circuits between source and destination.
+     *
+     * @param source The source of the circuits.
+     * @param destination The destination of the circuits.
+     * @return A new list with the circuits, in the order they were added, or
+     * null if there are none.
+     */
+    public List<OCSRoute> get(Entity source, Entity destination) {
+        ArrayList<OCSRoute> circuits = byEndPoints.get(new CircuitKey(source, destination, CircuitKey.ANY_WAVELENGTH));
+        return circuits == null ? null : new ArrayList<OCSRoute>(circuits);
+    }
+
+    /**
+     * Returns the first added circuit between source and destination on the
+     * given wavelength.
+     *
+     * @param source The source of the circuit.
+     * @param destination The destination of the circuit.
+     * @param wavelength The wavelength of the circuit.
+     * @return The circuit, or null if there is none.
+     */
+    public OCSRoute get(Entity source, Entity destination, int wavelength) {
+        ArrayList<OCSRoute> circuits = byWavelength.get(new CircuitKey(source, destination, wavelength));
+        return circuits == null ? null : circuits.get(0);
+    }
+
+    /**
+     * Removes the first added circuit between source and destination on the
+     * given wavelength.
+     *
+     * @param source The source of the circuit.
+     * @param destination The destination of the circuit.
+     * @param wavelength The wavelength of the circuit.
+     * @return The removed circuit, or null if there was none.
+     */
+    public OCSRoute remove(Entity source, Entity destination, int wavelength) {
+        CircuitKey key = new CircuitKey(source, destination, wavelength);
+        ArrayList<OCSRoute> circuits = byWavelength.get(key);
+        if (circuits == null) {
+            return null;
+        }
+        OCSRoute route = circuits.remove(0);
+        if (circuits.isEmpty()) {
+            byWavelength.remove(key);
+        }
+
+        key = new CircuitKey(source, destination, CircuitKey.ANY_WAVELENGTH);
+        circuits = byEndPoints.get(key);
+        for (int i = 0; i < circuits.size(); i++) {
+            if (circuits.get(i) == route) {
+                circuits.remove(i);
+                break;
+            }
+        }
+        if (circuits.isEmpty()) {
+            byEndPoints.remove(key);
+        }
+        size--;
+        return route;
+    }
+
+    /**
+     * Returns the number of circuits.
+     *
+     * @return The number of circuits.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all circuits.
+     */
+    public void clear() {
+        byEndPoints.clear();
+        byWavelength.clear();
+        size = 0;
+    }
+
+    /**
+     * Iterates over all circuits, grouped by source and destination.
+     *
+     * @return An iterator over the circuits.
+     */
+    public Iterator<OCSRoute> iterator() {
+        ArrayList<OCSRoute> all = new ArrayList<OCSRoute>(size);
+        for (ArrayList<OCSRoute> circuits : byEndPoints.values()) {
+            all.addAll(circuits);
+        }
+        return all.iterator();
+    }
+
+    private static void addTo(HashMap<CircuitKey, ArrayList<OCSRoute>> map, CircuitKey key, OCSRoute route) {
+        ArrayList<OCSRoute> circuits = map.get(key);
+        if (circuits == null) {
+            circuits = new ArrayList<OCSRoute>(2);
+            map.put(key, circuits);
+        }
+        circuits.add(route);
+    }
+
+    /**
+     * Key of the indexes. Entities are compared on identity, like the
+     * circuit lookups always did.
+     */
+    private static class CircuitKey implements Serializable {
+
+        /**
+         * Wavelength of a key which does not look at the wavelength.
+         */
+        private static final int ANY_WAVELENGTH = Integer.MIN_VALUE;
+        private Entity source;
+        private Entity destination;
+        private int wavelength;
+
+        public CircuitKey(Entity source, Entity destination, int wavelength) {
+            this.source = source;
+            this.destination = destination;
+            this.wavelength = wavelength;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof CircuitKey) {
+                CircuitKey key = (CircuitKey) obj;
+                return source == key.source && destination == key.destination && wavelength == key.wavelength;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 5;
+            hash = 71 * hash + System.identityHashCode(source);
+            hash = 71 * hash + System.identityHashCode(destination);
+            hash = 71 * hash + wavelength;
+            return hash;
+        }
+    }
+}
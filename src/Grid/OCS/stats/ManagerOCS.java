@@ -1,47 +1,40 @@
 package Grid.OCS.stats;
 
 import Grid.Entity;
-import Grid.GridSimulator;
 import Grid.Interfaces.Messages.*;
 import Grid.Nodes.Hybrid.Parallel.HybridSwitchImpl;
 import Grid.OCS.OCSRoute;
 import java.util.ArrayList;
 import java.util.HashMap;
-import simbase.SimulationInstance;
 
 /**
+ * The OCS statistics of a simulation, see
+ * {@link Grid.SimulationContext#getManagerOCS()}.
  *
  * @author AG2
  */
 public class ManagerOCS {
 
-    private static ManagerOCS managerOCS;
     private HashMap<OCSRequestMessage, InstanceOCS> mapInstanceOCS;
     private HashMap<SourceDestination, SumaryOCS> mapSumaryOCS;
     private NotificableOCS notificableOCS;
     private HashMap<InfoLinkWavelenghtOCS, InstanceOCS> mapInstanceOCSConfirmed;
     private HashMap<InfoLinkWavelenghtOCS, InstanceOCS> mapInstanceOCSRequested;
 
-    public static ManagerOCS getInstance() {
-
-        if (managerOCS == null) {
-            managerOCS = new ManagerOCS();
+    /**
+     * Forgets all the OCS instances of the previous run. The listener is kept.
+     */
+    public void clean() {
+        if (notificableOCS != null) {
+            notificableOCS.clean();
         }
-
-        return managerOCS;
-    }
-
-    public static void clean() {
-        managerOCS.getNotificableOCS().clean();
-
-        NotificableOCS notificable = managerOCS.getNotificableOCS();
-
-        managerOCS = new ManagerOCS();
-
-        managerOCS.setNotificableOCS(notificable);
+        mapInstanceOCS.clear();
+        mapSumaryOCS.clear();
+        mapInstanceOCSConfirmed.clear();
+        mapInstanceOCSRequested.clear();
     }
 
-    private ManagerOCS() {
+    public ManagerOCS() {
         mapInstanceOCS = new HashMap<OCSRequestMessage, InstanceOCS>();
         mapSumaryOCS = new HashMap<SourceDestination, SumaryOCS>();
         mapInstanceOCSConfirmed = new HashMap<InfoLinkWavelenghtOCS, InstanceOCS>();
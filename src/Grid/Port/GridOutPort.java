@@ -5,6 +5,7 @@
 package Grid.Port;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import simbase.Port.SimBaseOutPort;
 import simbase.SimBaseEntity;
@@ -16,9 +17,20 @@ import simbase.SimBaseEntity;
 public class GridOutPort extends SimBaseOutPort {
 
     /**
-     * The list with used wavelengths for OCS circuits.
+     * The wavelengths used by OCS circuits, one bit per wavelength.
      */
-    private List<Integer> usedOCSwavelengths;
+    private BitSet usedOCSwavelengths;
+    /**
+     * Wavelengths which were added but do not fit in the bitset: negative
+     * wavelengths, wavelengths beyond the maximum and wavelengths which were
+     * added a second time. Null as long as there are none.
+     */
+    private List<Integer> otherOCSwavelengths;
+    /**
+     * The index of this port in the per wavelength tables of its owner, -1
+     * as long as the owner has not been inited.
+     */
+    private int index = -1;
     /**
      * The maximum number of wavelengths this port containts.
      */
@@ -40,7 +52,7 @@ public class GridOutPort extends SimBaseOutPort {
     public GridOutPort(String id, SimBaseEntity owner, double switchingSpeed, double linkSpeed, int maxWavelengths) {
         super(id, owner);
         this.switchSpeed = switchingSpeed;
-        usedOCSwavelengths = new ArrayList<Integer>(maxWavelengths);
+        usedOCSwavelengths = new BitSet(maxWavelengths);
         this.maxNumberOfWavelengths = maxWavelengths;
         this.linkSpeed = linkSpeed;
     }
@@ -67,7 +79,15 @@ public class GridOutPort extends SimBaseOutPort {
      * @return True if adding worked, false if not.
      */
     public boolean addWavelength(int wave) {
-        return usedOCSwavelengths.add(new Integer(wave));
+        if (wave >= 0 && wave < maxNumberOfWavelengths && !usedOCSwavelengths.get(wave)) {
+            usedOCSwavelengths.set(wave);
+        } else {
+            if (otherOCSwavelengths == null) {
+                otherOCSwavelengths = new ArrayList<Integer>(2);
+            }
+            otherOCSwavelengths.add(wave);
+        }
+        return true;
     }
 
     /**
@@ -77,8 +97,17 @@ public class GridOutPort extends SimBaseOutPort {
      * @return True if removing worked, false if not.
      */
     public boolean removeWavelength(int wave) {
-        Integer w = new Integer(wave);
-        return usedOCSwavelengths.remove(w);
+        if (otherOCSwavelengths != null && otherOCSwavelengths.remove(Integer.valueOf(wave))) {
+            if (otherOCSwavelengths.isEmpty()) {
+                otherOCSwavelengths = null;
+            }
+            return true;
+        }
+        if (wave >= 0 && usedOCSwavelengths.get(wave)) {
+            usedOCSwavelengths.clear(wave);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -88,8 +117,10 @@ public class GridOutPort extends SimBaseOutPort {
      */
     public boolean isWaveUsedInCircuit(int wave) {
         if (wave >= 0) {
-            Integer w = new Integer(wave);
-            return usedOCSwavelengths.contains(w);
+            if (usedOCSwavelengths.get(wave)) {
+                return true;
+            }
+            return otherOCSwavelengths != null && otherOCSwavelengths.contains(wave);
         } else {
             throw new IllegalArgumentException("Cannot check fo a wavelength <0");
         }
@@ -106,8 +137,8 @@ public class GridOutPort extends SimBaseOutPort {
 
     public void setMaxNumberOfWavelengths(int maxNumberOfWavelengths) {
         this.maxNumberOfWavelengths = maxNumberOfWavelengths;
-        usedOCSwavelengths = new ArrayList<Integer>(maxNumberOfWavelengths);
-        
+        usedOCSwavelengths = new BitSet(maxNumberOfWavelengths);
+        otherOCSwavelengths = null;
     }
 
     /**
@@ -116,15 +147,35 @@ public class GridOutPort extends SimBaseOutPort {
      * @return A new wavelengths, usuable for a new OCS circuit.
      */
     public int getNexFreeWavelength() {
-        int wavelength = -1;
-        for (int i = 0; i < maxNumberOfWavelengths; i++) {
-            if (isWaveUsedInCircuit(i)) {
-                continue;
-            } else {
-                return i;
-            }
-        }
-        return wavelength;
+        return getNextFreeWavelength(0);
+    }
+
+    /**
+     * Return the first wavelength from the given one on, which is not used
+     * by a circuit on this port.
+     * @param from The first wavelength to consider.
+     * @return A free wavelength >= from, or -1 if there is none.
+     */
+    public int getNextFreeWavelength(int from) {
+        int wavelength = usedOCSwavelengths.nextClearBit(from);
+        return wavelength < maxNumberOfWavelengths ? wavelength : -1;
+    }
+
+    /**
+     * Returns the index of this port in the per wavelength tables of its
+     * owner.
+     * @return The index, or -1 if the owner has not been inited.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Sets the index of this port in the per wavelength tables of its owner.
+     * @param index The new index.
+     */
+    public void setIndex(int index) {
+        this.index = index;
     }
 
     /**
@@ -28,6 +28,12 @@ public class RoutingViaJung implements Routing, Serializable {
     private GridVertexSet hybridSet = new GridVertexSet();
     private GridVertexSet OBSSet = new GridVertexSet();
     private GridVertexSet OCSSet = new GridVertexSet();
+    /**
+     * The shortest paths which have been computed in each network.
+     */
+    private PathCache OBSPaths = new PathCache();
+    private PathCache OCSPaths = new PathCache();
+    private PathCache hybridPaths = new PathCache();
 
     public String name ;
     public RoutingViaJung(GridSimulator sim, String n ) {
@@ -67,6 +73,7 @@ public class RoutingViaJung implements Routing, Serializable {
             GridVertex destinationVertex = set.findVertex(destination);
             GridEdge edge = new GridEdge(sourceVertex, destinationVertex);
             graph.addEdge(edge, sourceVertex, destinationVertex);
+            ((PathCache) list.get(1)).invalidate();
 
             //Ojo q esto si lo hacen en la clase de shortestPathRouting en OCSCircuitInserted
             //y lo mas probable es q toque darle init() a la entidad.
@@ -81,21 +88,23 @@ public class RoutingViaJung implements Routing, Serializable {
      */
     @Override
     public void clear() {
-        OBSNetwork = null;
-        OcSNetwork = null;
-        HybridNetwork = null;
-        hybridSet = null;
-        OBSSet = null;
-        OCSSet = null;
-        
-        System.gc();
-
         OBSNetwork = new DirectedSparseGraph();
         OcSNetwork = new DirectedSparseGraph();
         HybridNetwork = new DirectedSparseGraph();
         hybridSet = new GridVertexSet();
         OBSSet = new GridVertexSet();
         OCSSet = new GridVertexSet();
+        invalidateRoutes();
+    }
+
+    /**
+     * Forgets all the shortest paths which have been computed. Has to be
+     * called when one of the networks is changed from outside this class.
+     */
+    public void invalidateRoutes() {
+        OBSPaths.invalidate();
+        OCSPaths.invalidate();
+        hybridPaths.invalidate();
     }
 
     public Graph getHybridNetwork() {
@@ -104,6 +113,7 @@ public class RoutingViaJung implements Routing, Serializable {
 
     public void setHybridNetwork(Graph HybridNetwork) {
         this.HybridNetwork = HybridNetwork;
+        hybridPaths.invalidate();
     }
 
     public Graph getOBSNetwork2() {
@@ -112,6 +122,7 @@ public class RoutingViaJung implements Routing, Serializable {
 
     public void setOBSNetwork(Graph OBSNetwork) {
         this.OBSNetwork = OBSNetwork;
+        OBSPaths.invalidate();
     }
 
     public GridVertexSet getOBSSet() {
@@ -120,6 +131,7 @@ public class RoutingViaJung implements Routing, Serializable {
 
     public void setOBSSet(GridVertexSet OBSSet) {
         this.OBSSet = OBSSet;
+        OBSPaths.invalidate();
     }
 
     public Graph getOcSNetwork() {
@@ -128,6 +140,7 @@ public class RoutingViaJung implements Routing, Serializable {
 
     public void setOcSNetwork(Graph OcSNetwork) {
         this.OcSNetwork = OcSNetwork;
+        OCSPaths.invalidate();
     }
 
     public GridVertexSet getHybridSet() {
@@ -136,6 +149,7 @@ public class RoutingViaJung implements Routing, Serializable {
 
     public void setHybridSet(GridVertexSet hybridSet) {
         this.hybridSet = hybridSet;
+        hybridPaths.invalidate();
     }
 
     public void initialiseNetworks() {
@@ -194,6 +208,7 @@ public class RoutingViaJung implements Routing, Serializable {
         createEdges(OBSNetwork, OBSSet);
         createEdges(OcSNetwork, OCSSet);
         createEdges(HybridNetwork, hybridSet);
+        invalidateRoutes();
     }
 
     /**
@@ -209,17 +224,21 @@ public class RoutingViaJung implements Routing, Serializable {
         TreeMap<String, GridOutPort> map = new TreeMap();
 
 
-        DijkstraShortestPath<GridVertex, GridVertex> alg;
+        PathCache paths;
+        Graph graph;
         if (entity.supportsOBS() && entity.supportsOCS()) {
-            alg = new DijkstraShortestPath(HybridNetwork);
+            paths = hybridPaths;
+            graph = HybridNetwork;
             set = hybridSet;
             source = hybridSet.findVertex(entity);
         } else if (entity.supportsOCS() && !entity.supportsOBS()) {
-            alg = new DijkstraShortestPath(OcSNetwork);
+            paths = OCSPaths;
+            graph = OcSNetwork;
             set = OCSSet;
             source = OCSSet.findVertex(entity);
         } else {
-            alg = new DijkstraShortestPath(OBSNetwork);
+            paths = OBSPaths;
+            graph = OBSNetwork;
             set = OBSSet;
             source = OBSSet.findVertex(entity);
             //Hybrid part
@@ -227,9 +246,8 @@ public class RoutingViaJung implements Routing, Serializable {
 
         for (GridVertex destination : set) {
             if (!destination.equals(source)) {
-                List l = alg.getPath(source, destination);
-                GridEdge edge = (GridEdge) l.get(0);
-                Entity nextHop = edge.getTo().getTheEntity();
+                List<Entity> l = paths.getPath(graph, source, destination);
+                Entity nextHop = l.get(0);
                 GridOutPort theOutport = entity.getOutportTo(nextHop);
                 map.put(destination.getTheEntity().getId(), theOutport);
             }
@@ -252,23 +270,54 @@ public class RoutingViaJung implements Routing, Serializable {
 
     @Override
     public int getNrOfHopsBetween(Entity source, Entity destination) {
-        List list = findSetAndNetwork(source, destination);
-        DijkstraShortestPath<GridVertex, GridVertex> alg = (DijkstraShortestPath) list.get(1);
-        GridVertexSet set = (GridVertexSet) list.get(0);
-        GridVertex destinationVertex = set.findVertex(destination);
-        GridVertex sourceVertex = set.findVertex(source);
-        List l = alg.getPath(sourceVertex, destinationVertex);
+        List l = findPath(source, destination);
         return l.size() - 1;
 
     }
 
+    /**
+     * Returns the shortest path between source and destination, looked up in
+     * the path cache of the network they belong to.
+     *
+     * @param source The source entity
+     * @param destination The destination entity
+     * @return The entities on the path, after the source.
+     */
+    private List<Entity> findPath(Entity source, Entity destination) {
+        PathCache paths = findPathCache(source, destination);
+        List<Entity> path = paths.getPath(source, destination);
+        if (path == null) {
+            List list = findSetAndNetwork(source, destination);
+            GridVertexSet set = (GridVertexSet) list.get(0);
+            path = paths.getPath((Graph) list.get(2), set.findVertex(source), set.findVertex(destination));
+        }
+        return path;
+    }
+
+    private PathCache findPathCache(Entity source, Entity destination) {
+        if (source.supportsOBS() && source.supportsOCS()) {
+            if (destination.supportsOBS() && destination.supportsOCS()) {
+                return hybridPaths;
+            }
+        } else if (source.supportsOCS() && !source.supportsOBS()) {
+            if (destination.supportsOCS() && !destination.supportsOBS()) {
+                return OCSPaths;
+            }
+        } else if (!source.supportsOCS() && source.supportsOBS()) {
+            if (!destination.supportsOCS() && destination.supportsOBS()) {
+                return OBSPaths;
+            }
+        }
+        throw new IllegalArgumentException("Cannot compute for : " + source + " " + destination);
+    }
+
     private List findSetAndNetwork(Entity source, Entity destination) {
-        DijkstraShortestPath<GridVertex, GridVertex> alg = null;
+        PathCache paths = null;
         GridVertexSet set = null;
         Graph graph = null;
         if (source.supportsOBS() && source.supportsOCS()) {
             if (destination.supportsOBS() && destination.supportsOCS()) {
-                alg = new DijkstraShortestPath(HybridNetwork);
+                paths = hybridPaths;
                 set = hybridSet;
                 graph = HybridNetwork;
             } else {
@@ -276,7 +325,7 @@ public class RoutingViaJung implements Routing, Serializable {
             }
         } else if (source.supportsOCS() && !source.supportsOBS()) {
             if (destination.supportsOCS() && !destination.supportsOBS()) {
-                alg = new DijkstraShortestPath(OcSNetwork);
+                paths = OCSPaths;
                 set = OCSSet;
                 graph = OcSNetwork;
             } else {
@@ -284,7 +333,7 @@ public class RoutingViaJung implements Routing, Serializable {
             }
         } else if (!source.supportsOCS() && source.supportsOBS()) {
             if (!destination.supportsOCS() && destination.supportsOBS()) {
-                alg = new DijkstraShortestPath(OBSNetwork);
+                paths = OBSPaths;
                 set = OBSSet;
                 graph = OBSNetwork;
             } else {
@@ -293,25 +342,17 @@ public class RoutingViaJung implements Routing, Serializable {
         }
         ArrayList list = new ArrayList(2);
         list.add(set);
-        list.add(alg);
+        list.add(paths);
         list.add(graph);
         return list;
     }
 
     @Override
     public OCSRoute findOCSRoute(Entity source, Entity destination) {
-        List list = findSetAndNetwork(source, destination);
-        DijkstraShortestPath<GridVertex, GridVertex> alg = (DijkstraShortestPath) list.get(1);
-        GridVertexSet set = (GridVertexSet) list.get(0);
-        GridVertex destinationVertex = set.findVertex(destination);
-        GridVertex sourceVertex = set.findVertex(source);
-        List path = alg.getPath(sourceVertex, destinationVertex);
+        List<Entity> path = findPath(source, destination);
         OCSRoute ocsRoute = new OCSRoute(source, destination, -1);
-        for (Object edges : path) {
-            GridEdge edge = (GridEdge) edges;
-            StringTokenizer tok = new StringTokenizer(edge.toString(), "-");
-            tok.nextToken();
-            ocsRoute.addHop((Entity) simulator.getEntityWithId(tok.nextToken()));
+        for (Entity hop : path) {
+            ocsRoute.addHop(hop);
         }
         return ocsRoute;
     }
@@ -320,4 +361,66 @@ public class RoutingViaJung implements Routing, Serializable {
     public void setSimulator(GridSimulator simulator) {
         this.simulator = simulator;
     }
+
+    /**
+     * Lazily filled table with the shortest paths in one of the networks. A
+     * path is kept as the list of entities on the path after the source, so
+     * looking up a route does not need a graph search anymore.
+     */
+    private static class PathCache implements Serializable {
+
+        /**
+         * The shortest path algorithm, which caches the distances from every
+         * source it has been asked for.
+         */
+        private transient DijkstraShortestPath<GridVertex, GridEdge> alg;
+        /**
+         * The paths, by source and destination.
+         */
+        private Map<Entity, Map<Entity, List<Entity>>> paths = new HashMap<Entity, Map<Entity, List<Entity>>>();
+
+        /**
+         * Returns the cached path between source and destination.
+         *
+         * @return the path, or null if it has not been computed yet
+         */
+        public List<Entity> getPath(Entity source, Entity destination) {
+            Map<Entity, List<Entity>> fromSource = paths.get(source);
+            return fromSource == null ? null : fromSource.get(destination);
+        }
+
+        /**
+         * Returns the path between the two vertices, computing it if it is
+         * not in the table yet.
+         */
+        public List<Entity> getPath(Graph graph, GridVertex source, GridVertex destination) {
+            Map<Entity, List<Entity>> fromSource = paths.get(source.getTheEntity());
+            if (fromSource == null) {
+                fromSource = new HashMap<Entity, List<Entity>>();
+                paths.put(source.getTheEntity(), fromSource);
+            }
+            List<Entity> path = fromSource.get(destination.getTheEntity());
+            if (path == null) {
+                if (alg == null) {
+                    alg = new DijkstraShortestPath(graph);
+                }
+                List edges = alg.getPath(source, destination);
+                List<Entity> hops = new ArrayList<Entity>(edges.size());
+                for (Object edge : edges) {
+                    hops.add(((GridEdge) edge).getTo().getTheEntity());
+                }
+                path = Collections.unmodifiableList(hops);
+                fromSource.put(destination.getTheEntity(), path);
+            }
+            return path;
+        }
+
+        /**
+         * Forgets all paths, has to be called when the network changes.
+         */
+        public void invalidate() {
+            alg = null;
+            paths.clear();
+        }
+    }
 }
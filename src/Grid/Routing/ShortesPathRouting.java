@@ -419,15 +419,6 @@ public class ShortesPathRouting implements Routing, Serializable {
      * Clears every routing mechanism
      */
     public void clear() {
-        OBSNetwork = null;
-        OBSnetworkRouting = null;
-        OCSNetwork = null;
-        OCSnetworkRouting = null;
-        HyrbridNetwork = null;
-        HybridNetworkRouting = null;
-
-        System.gc();
-
         OBSNetwork = new Network();
         OCSNetwork = new Network();
         HyrbridNetwork = new Network();
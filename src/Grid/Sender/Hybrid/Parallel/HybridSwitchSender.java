@@ -1,13 +1,11 @@
 package Grid.Sender.Hybrid.Parallel;
 
 import Grid.Entity;
-import Grid.GridSimulation;
 import Grid.GridSimulator;
 import Grid.Interfaces.Messages.*;
 import Grid.Nodes.Hybrid.Parallel.HybridSwitchImpl;
 import Grid.Nodes.PCE;
 import Grid.OCS.OCSRoute;
-import Grid.OCS.stats.ManagerOCS;
 import Grid.Port.GridOutPort;
 import Grid.Route;
 import Grid.Sender.OBS.OBSSender;
@@ -15,7 +13,6 @@ import Grid.Sender.OBS.OBSSwitchSenderImpl;
 import Grid.Sender.OBS.OBSWavConSwitchSender;
 import Grid.Sender.OCS.OCSSwitchSender;
 import Grid.Sender.Sender;
-import Grid.Utilities.Config;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -31,7 +28,6 @@ import simbase.Time;
 public class HybridSwitchSender extends AbstractHybridSender {
 
     private Queue<GridMessage> messageQueue;
-public static int numeroMsg = 0;
     /**
      * Constructor
      *
@@ -40,7 +36,7 @@ public static int numeroMsg = 0;
      */
     public HybridSwitchSender(Entity owner, GridSimulator simulator, boolean wavelengthConversion) {
         super(owner, simulator);
-        ocsSender = new OCSSwitchSender(simulator, owner, GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.OCSSetupHandleTime));
+        ocsSender = new OCSSwitchSender(simulator, owner, owner.getConfigSnapshot().getOCSSetupHandleTime());
         messageQueue = new ArrayBlockingQueue<GridMessage>(10);
         if (wavelengthConversion) {
             obsSender = new OBSWavConSwitchSender(owner, simulator);
@@ -78,10 +74,9 @@ public static int numeroMsg = 0;
     //NOTA: Donde se verifica el si existe un CIRCUITO  y si se usa o se crea otro.
     public boolean send(GridMessage message, SimBaseInPort inport, final Time t) {
 
-        if(numeroMsg==0){
+        if(simulator.getContext().countSwitchedMessage()==0){
             System.out.println("Cantidad de ocs´s vivos al INICIO de la simulacion:" + ((Grid.GridSimulator) simulator).getEstablishedCircuits().size());
         }
-        numeroMsg++;
         //testTearDownOCSs(t);
         if (((OCSSwitchSender) ocsSender).send(message, inport, t, false)) {
             //message was send on a circuit
@@ -111,7 +106,7 @@ public static int numeroMsg = 0;
                     //Could be the HEAD or an intermediate switch node
                     MultiCostMessage multiCostMsg = (MultiCostMessage) message;
 
-                    if (!multiCostMsg.isRealMarkovCostEvaluated() && Sender.isAg2ResourceSelectorSelected()) {
+                    if (!multiCostMsg.isRealMarkovCostEvaluated() && simulator.getContext().isAg2ResourceSelectorSelected()) {
                         //It should enter just the first time when the JobMsg arrive at a 
                         //switch (in the HEAD switch of the OCS), NOT latter switches, just one time per JobMsg.
                         PCE domainPCE = multiCostMsg.getDomainPCE();
@@ -322,7 +317,7 @@ public static int numeroMsg = 0;
     public boolean handleOCSPathSetupMessage(OCSRequestMessage m, SimBaseInPort inport) {
 
         boolean result = ((OCSSwitchSender) ocsSender).handleOCSPathSetupMessage(m, inport);
-        ManagerOCS.getInstance().addWavelengthID(m, m.getWavelengthID(), owner);
+        simulator.getContext().getManagerOCS().addWavelengthID(m, m.getWavelengthID(), owner);
         return result;
     }
 
@@ -378,7 +373,7 @@ public static int numeroMsg = 0;
                 }
             }
 //            System.out.println("Verificando fin de ocs en: "+owner+" Mensaje "+message);
-            ManagerOCS.getInstance().addTraffic(message, message.getFirstSwitch(),(HybridSwitchImpl) message.getOcsRoute().getDestination(), message.getOcsRoute().getWavelength());
+            simulator.getContext().getManagerOCS().addTraffic(message, message.getFirstSwitch(),(HybridSwitchImpl) message.getOcsRoute().getDestination(), message.getOcsRoute().getWavelength());
         }
     }
 }
@@ -1,7 +1,6 @@
 package Grid.Sender.Hybrid.Parallel;
 
 import Grid.Entity;
-import Grid.GridSimulation;
 import Grid.GridSimulator;
 import Grid.Interfaces.Messages.GridMessage;
 import Grid.Interfaces.Messages.OCSConfirmSetupMessage;
@@ -12,7 +11,6 @@ import Grid.OCS.OCSRoute;
 import Grid.Port.GridOutPort;
 import Grid.Sender.OBS.OBSEndSender;
 import Grid.Sender.OCS.OCSEndSender;
-import Grid.Utilities.Config;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -31,7 +29,7 @@ public class HyrbidEndSender extends AbstractHybridSender {
     public HyrbidEndSender(Entity owner, GridSimulator simulator) {
         super(owner, simulator);
         this.simulator = simulator;
-        ocsSender = new OCSEndSender(simulator, owner, 5*GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.OCSSetupHandleTime));
+        ocsSender = new OCSEndSender(simulator, owner, 5*owner.getConfigSnapshot().getOCSSetupHandleTime());
         obsSender = new OBSEndSender(simulator, owner);
     }
 
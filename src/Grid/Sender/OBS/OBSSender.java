@@ -89,7 +89,7 @@ public abstract class OBSSender extends Sender implements Units{
             return owner.send(port, message, owner.getCurrentTime());
         }
         
-        if (owner.isOutPortFree(port, message.getWavelengthID(), t)) {
+        if (owner.isOutPortFree(port, message.getWavelengthID(), t.getTime())) {
             
             double messageSize = message.getSize();
             double switchingSpeed = port.getSwitchingSpeed();
@@ -101,20 +101,18 @@ public abstract class OBSSender extends Sender implements Units{
 //            //System.out.println(" Tamaño  "+messageSize+" Vel.Comutacion: "+speed+" Vel.Canal: "+linkSpeed  );
 
             //Calculate the portFreeAgainTime, the time the link will be free again
-            Time portFreeAgainTime = new Time(0);
-            Time reachingTime = new Time(0);
+            double portFreeAgainTime = 0;
+            double reachingTime = 0;
             if (switchingSpeed > 0) {
-                portFreeAgainTime.addTime(sendTime);
-                reachingTime.addTime(messageSize/linkSpeed);
+                portFreeAgainTime += sendTime;
+                reachingTime += messageSize/linkSpeed;
             }
-            portFreeAgainTime.addTime(t);
-            reachingTime.addTime(t);
+            portFreeAgainTime += t.getTime();
+            reachingTime += t.getTime();
 
             //update linkusage mappings
 
-            Map<Integer, Time> map = owner.getPortUsage().get(port);
-            map.put(new Integer(message.getWavelengthID()), portFreeAgainTime);
-            owner.getPortUsage().put(port, map);
+            owner.setPortFreeAgainTime(port, message.getWavelengthID(), portFreeAgainTime);
 
             return owner.send(port, message, reachingTime);
         } else {
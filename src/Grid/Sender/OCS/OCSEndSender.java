@@ -69,8 +69,10 @@ public class OCSEndSender extends Sender {
             // If no entry is found no OCS setup has yet been done
             if (routeList == null || routeList.isEmpty()) {
                 if (outputFail) {
-                    simulator.putLog(simulator.getMasterClock(), "FAIL: Sending failed because no OCS-circuit has been setup " +
-                            owner.getId() + "-->" + message.getDestination().getId() + " : " + message.getId(), Logger.RED, message.getSize(), message.getWavelengthID());
+                    if (simulator.isLogEnabled(Logger.RED)) {
+                        simulator.putLog(simulator.getMasterClock(), "FAIL: Sending failed because no OCS-circuit has been setup " +
+                                owner.getId() + "-->" + message.getDestination().getId() + " : " + message.getId(), Logger.RED, message.getSize(), message.getWavelengthID());
+                    }
                 }
                 messageQueue.offer(message);
                 Grid.Utilities.Util.createOCSCircuit(owner, message.getDestination(), simulator, false);
@@ -102,9 +104,11 @@ public class OCSEndSender extends Sender {
         //END OF CIRCUIT REACHED?
         OCSRoute ocsRoute = msg.getOCSRoute();
         if (ocsRoute.getDestination().equals(newHop)) {
-            simulator.putLog(simulator.getMasterClock(), "<u>OCS: end of OCS Path reached" + ocsRoute +
-                    " " + ocsRoute.getWavelength() + "</u>",
-                    Logger.ORANGE, msg.getSize(), msg.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.ORANGE)) {
+                simulator.putLog(simulator.getMasterClock(), "<u>OCS: end of OCS Path reached" + ocsRoute +
+                        " " + ocsRoute.getWavelength() + "</u>",
+                        Logger.ORANGE, msg.getSize(), msg.getWavelengthID());
+            }
             if (msg.isPermanent()) {
                 //only permanent circuits get a confirm message
                 simulator.confirmRequestedCircuit(ocsRoute);
@@ -113,9 +117,11 @@ public class OCSEndSender extends Sender {
                 OCSConfirmSetupMessage confirm = new OCSConfirmSetupMessage("confirm:" + ocsRoute.getSource() + "-" + ocsRoute.getDestination(), addedTime, ocsRoute);
                 confirm.setSource(owner);
                 confirm.setDestination(ocsRoute.getSource());
-                simulator.putLog(simulator.getMasterClock(), owner + " send out a confirmation for " + ocsRoute +
-                        " " + ocsRoute.getWavelength(),
-                        Logger.ORANGE, confirm.getSize(), confirm.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.ORANGE)) {
+                    simulator.putLog(simulator.getMasterClock(), owner + " send out a confirmation for " + ocsRoute +
+                            " " + ocsRoute.getWavelength(),
+                            Logger.ORANGE, confirm.getSize(), confirm.getWavelengthID());
+                }
                 owner.sendNow(ocsRoute.getSource(), confirm, addedTime);
             }
             simulator.addStat(newHop, Stat.OCS_CIRCUIT_SET_UP);
@@ -136,8 +142,10 @@ public class OCSEndSender extends Sender {
             }
             //Have we found the correct Outport?
             if (outPort == null) {
-                simulator.putLog(simulator.getMasterClock(), "FAIL: OCS Setup failed because no OCS-link exist to send to" +
-                        newHopOnCircuit, Logger.RED, msg.getSize(), msg.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.RED)) {
+                    simulator.putLog(simulator.getMasterClock(), "FAIL: OCS Setup failed because no OCS-link exist to send to" +
+                            newHopOnCircuit, Logger.RED, msg.getSize(), msg.getWavelengthID());
+                }
                 simulator.addStat(newHop, Stat.OCS_CIRCUIT_SETUP_DID_NOT_WORK);
                 if (msg.isPermanent()) {
                     simulator.circuitTearDown(ocsRoute, msg.getWavelengthID());
@@ -161,9 +169,11 @@ public class OCSEndSender extends Sender {
                     }
                     destinationList.add(outGoingPair);
                     msg.setWavelengthID(newWavelenghth);
-                    simulator.putLog(simulator.getMasterClock(),
-                            "OCS: OCS link setup between <b>" + newHop.getId() + "</b> and <b>" + newHopOnCircuit + "</b> on " + newWavelenghth +
-                            ocsRoute, Logger.ORANGE, msg.getSize(), msg.getWavelengthID());
+                    if (simulator.isLogEnabled(Logger.ORANGE)) {
+                        simulator.putLog(simulator.getMasterClock(),
+                                "OCS: OCS link setup between <b>" + newHop.getId() + "</b> and <b>" + newHopOnCircuit + "</b> on " + newWavelenghth +
+                                ocsRoute, Logger.ORANGE, msg.getSize(), msg.getWavelengthID());
+                    }
                     Time addedTime = new Time(owner.getCurrentTime().getTime() + OCSSetupHandleTime);
                     int newHopIndex = ocsRoute.indexOf(owner) + 1;
                     Entity nextHop = ocsRoute.get(newHopIndex);
@@ -172,7 +182,9 @@ public class OCSEndSender extends Sender {
                     return true;
                 } else {
                     //No free wavelength found
-                    simulator.putLog(simulator.getMasterClock(), "FAIL: OCS setup failed, no free wavelength for " + outPort, Logger.RED, msg.getSize(), msg.getWavelengthID());
+                    if (simulator.isLogEnabled(Logger.RED)) {
+                        simulator.putLog(simulator.getMasterClock(), "FAIL: OCS setup failed, no free wavelength for " + outPort, Logger.RED, msg.getSize(), msg.getWavelengthID());
+                    }
                     return false;
                 }
             }
@@ -186,8 +198,7 @@ public class OCSEndSender extends Sender {
     public void requestOCSCircuit(OCSRoute ocsRoute, boolean permanent, Time time) {
         StringBuffer buffer = new StringBuffer();
         buffer.append("ocsRequest ");
-        buffer.append(Entity.OCSRequestID);
-        Entity.OCSRequestID++;
+        buffer.append(simulator.getContext().nextOCSRequestNumber());
         buffer.append(":");
         buffer.append(ocsRoute.getSource().getId());
         buffer.append("-");
@@ -214,8 +225,10 @@ public class OCSEndSender extends Sender {
         int wavelength = theOutport.getNexFreeWavelength();
 
         if (wavelength == -1) {
-            simulator.putLog(owner.getCurrentTime(), owner.getId() + " could not find a free wavelength for a new circuit..." +
-                    ocsRoute, Logger.RED, -1, -1);
+            if (simulator.isLogEnabled(Logger.RED)) {
+                simulator.putLog(owner.getCurrentTime(), owner.getId() + " could not find a free wavelength for a new circuit..." +
+                        ocsRoute, Logger.RED, -1, -1);
+            }
 
         } else {
             Time addedTime = new Time(time.getTime() + OCSSetupHandleTime);
@@ -226,8 +239,10 @@ public class OCSEndSender extends Sender {
             request.getOCSRoute().setWavelength(wavelength);
             //Sends the OCS circuit request to the source (could be this 
             //entity) and lets the receive method handle the OCS request.
-            simulator.putLog(owner.getCurrentTime(), owner.getId() + " made an OCS setup request for " +
-                    ocsRoute, Logger.ORANGE, -1, -1);
+            if (simulator.isLogEnabled(Logger.ORANGE)) {
+                simulator.putLog(owner.getCurrentTime(), owner.getId() + " made an OCS setup request for " +
+                        ocsRoute, Logger.ORANGE, -1, -1);
+            }
 
             //TODO:Calculate timings
             owner.sendNow(ocsRoute.getSource(), request, addedTime);
@@ -281,8 +296,10 @@ public class OCSEndSender extends Sender {
      */
     public void handleOCScircuitTearDown(OCSTeardownMessage msg) {
         if (msg.getDestination().equals(owner)) {
-            simulator.putLog(owner.getCurrentTime(), "OCS circuit has been tear down between " + msg.getSource() +
-                    " and " + msg.getDestination(), Logger.ORANGE, msg.getSize(), msg.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.ORANGE)) {
+                simulator.putLog(owner.getCurrentTime(), "OCS circuit has been tear down between " + msg.getSource() +
+                        " and " + msg.getDestination(), Logger.ORANGE, msg.getSize(), msg.getWavelengthID());
+            }
         } else {
             //find the circuits which have been used by this entity
             List routes = linkMapping.get(msg.getDestination());
@@ -299,8 +316,10 @@ public class OCSEndSender extends Sender {
                         linkMapping.remove(msg.getDestination());
                     }
                     msg.getOutport().removeWavelength(msg.getWavelenght());
-                    simulator.putLog(owner.getCurrentTime(), "OCS Circuit teardown message send from " + owner +
-                            " to " + msg.getOutport().getTarget().getOwner(), Logger.ORANGE, msg.getSize(), msg.getWavelenght());
+                    if (simulator.isLogEnabled(Logger.ORANGE)) {
+                        simulator.putLog(owner.getCurrentTime(), "OCS Circuit teardown message send from " + owner +
+                                " to " + msg.getOutport().getTarget().getOwner(), Logger.ORANGE, msg.getSize(), msg.getWavelenght());
+                    }
                     simulator.addStat(owner, Stat.OCS_CIRCUIT_TEAR_DOWN);
                     Time addedTime = new Time(owner.getCurrentTime().getTime() + OCSSetupHandleTime);
                     owner.send(msg.getOutport(), msg, addedTime);
@@ -338,12 +357,16 @@ public class OCSEndSender extends Sender {
         List<LinkWavelengthPair> destinationList = linkMapping.get(destination);
         if (destinationList.remove(new LinkWavelengthPair(port, msg.getWavelength()))) {
             simulator.addStat(owner, Stat.OCS_CIRCUIT_PART_OF_CONFLICT);
-            simulator.putLog(owner.getCurrentTime(), "End of tear down reached " + route, Logger.ORANGE, msg.getSize(), msg.getWavelength());
+            if (simulator.isLogEnabled(Logger.ORANGE)) {
+                simulator.putLog(owner.getCurrentTime(), "End of tear down reached " + route, Logger.ORANGE, msg.getSize(), msg.getWavelength());
+            }
             return true;
         } else {
 
         }
-        simulator.putLog(owner.getCurrentTime(), "End of tear down reached, but tear down did not work..." + route, Logger.RED, msg.getSize(), msg.getWavelength());
+        if (simulator.isLogEnabled(Logger.RED)) {
+            simulator.putLog(owner.getCurrentTime(), "End of tear down reached, but tear down did not work..." + route, Logger.RED, msg.getSize(), msg.getWavelength());
+        }
         return false;
     }
 
@@ -1,7 +1,6 @@
 package Grid.Sender.OCS;
 
 import Grid.Entity;
-import Grid.GridSimulation;
 import Grid.GridSimulator;
 import Grid.Interfaces.ClientNode;
 import Grid.Interfaces.Messages.GridMessage;
@@ -17,14 +16,13 @@ import Grid.Nodes.Hybrid.Parallel.HybridResourceNode;
 import Grid.Nodes.Hybrid.Parallel.HybridSwitchImpl;
 import Grid.Nodes.LinkWavelengthPair;
 import Grid.OCS.OCSRoute;
-import Grid.OCS.stats.ManagerOCS;
 import Grid.Port.GridInPort;
 import Grid.Port.GridOutPort;
 import Grid.Route;
 import Grid.Sender.Hybrid.Parallel.HyrbidEndSender;
 import Grid.Sender.OBS.OBSSender;
 import Grid.Sender.Sender;
-import Grid.Utilities.Config;
+import Grid.Utilities.ConfigSnapshot;
 import java.util.*;
 import simbase.Port.SimBaseInPort;
 import simbase.Port.SimBaseOutPort;
@@ -46,7 +44,8 @@ public class OCSSwitchSender extends Sender {
     private double OCSSetupHandle;
     private double costFindCommonWavelenght;
     private double costAllocateWavelenght;
-    private double confirmOCSDelay = GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.confirmOCSDelay);
+    private ConfigSnapshot configSnapshot = owner.getConfigSnapshot();
+    private double confirmOCSDelay = configSnapshot.getConfirmOCSDelay();
     private short signalingCostDepartureCoef = 4;
     private short departureNextAttemptCoef = 2;
 
@@ -88,8 +87,9 @@ public class OCSSwitchSender extends Sender {
         if (wavelength == -1) {
             //Find the next hop on the path
             Route route = msg.getRoute();
-            int index = route.indexOf(owner);
-            if (index == route.size() - 1) {
+            //Without the full path this switch is the last hop recorded
+            int index = route == null ? -1 : route.indexOf(owner);
+            if (route == null || index == route.size() - 1) {
                 return true; //This is the end on the path
             } else {
                 int nextHopIndex = index + 1;
@@ -105,8 +105,10 @@ public class OCSSwitchSender extends Sender {
 
             if (outgoingPair == null) {
                 if (outputFail) {
-                    simulator.putLog(simulator.getMasterClock(), "FAIL: Sending failed because no reservation is made for "
-                            + owner.getId() + " --> " + msg.getDestination().getId(), Logger.RED, msg.getSize(), msg.getWavelengthID());
+                    if (simulator.isLogEnabled(Logger.RED)) {
+                        simulator.putLog(simulator.getMasterClock(), "FAIL: Sending failed because no reservation is made for "
+                                + owner.getId() + " --> " + msg.getDestination().getId(), Logger.RED, msg.getSize(), msg.getWavelengthID());
+                    }
                 }
                 return false;
             } else {
@@ -132,9 +134,7 @@ public class OCSSwitchSender extends Sender {
     @Override
     public boolean send(GridMessage message, Time t, boolean outputFail) {
         //find the inport on which this message was received
-        Route route = message.getRoute();
-
-        Entity previousHop = route.getLastHopAddedToPath();
+        Entity previousHop = message.getPreviousHop();
         //previoushop cannot be null because a switch cannot send on it own
         List inports = owner.getInPorts();
         Iterator<GridInPort> gridInportIterator = inports.iterator();
@@ -173,10 +173,12 @@ public class OCSSwitchSender extends Sender {
         //Check if this hop is the last on the circuit
         if (ocsRoute.getDestination().equals(owner)) {
 
-            simulator.putLog(simulator.getMasterClock(), "<u>OCS: end of OCS Path reached" + ocsReqMsg.getOCSRoute() + "</u>", Logger.ORANGE, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.ORANGE)) {
+                simulator.putLog(simulator.getMasterClock(), "<u>OCS: end of OCS Path reached" + ocsReqMsg.getOCSRoute() + "</u>", Logger.ORANGE, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
+            }
             simulator.addStat(owner, Stat.OCS_CIRCUIT_SET_UP);
 //             System.out.println("MensajeLSp "+ocsReqMsg+"  "+owner.getCurrentTime().getTime());
-            ManagerOCS.getInstance().confirmInstanceOCS(ocsReqMsg,owner.getCurrentTime().getTime(),ocsRoute.getWavelength());
+            simulator.getContext().getManagerOCS().confirmInstanceOCS(ocsReqMsg,owner.getCurrentTime().getTime(),ocsRoute.getWavelength());
             if (ocsReqMsg.isPermanent()) {
                 if(!simulator.confirmRequestedCircuit(ocsRoute)){
                     System.out.println("No pudo confirmar OCS entre "+ocsRoute.getSource()+"->"+ocsRoute.getDestination()+" con Color:"+ocsRoute.getWavelength());
@@ -256,16 +258,22 @@ public class OCSSwitchSender extends Sender {
                                 simulator.addRequestedCircuit(ocsRoute);
                             }
 
-                            simulator.putLog(simulator.getMasterClock(), "OCS: OCS requestmessage send from <b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b> " + "for <b>" + ocsRoute.getDestination() + "</b> reserving wavelength <b>" + beginningWavelength + " </b>", Logger.ORANGE, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
+                            if (simulator.isLogEnabled(Logger.ORANGE)) {
+                                simulator.putLog(simulator.getMasterClock(), "OCS: OCS requestmessage send from <b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b> " + "for <b>" + ocsRoute.getDestination() + "</b> reserving wavelength <b>" + beginningWavelength + " </b>", Logger.ORANGE, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
+                            }
                             return true;
                         } else {
-                            simulator.putLog(simulator.getMasterClock(), "OCS: OCS Requestmessage could not be send <b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b>", Logger.ORANGE, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
-                            ManagerOCS.getInstance().notifyError(ocsReqMsg, addedTime.getTime(), owner, "OCS Requestmessage could not be send");
+                            if (simulator.isLogEnabled(Logger.ORANGE)) {
+                                simulator.putLog(simulator.getMasterClock(), "OCS: OCS Requestmessage could not be send <b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b>", Logger.ORANGE, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
+                            }
+                            simulator.getContext().getManagerOCS().notifyError(ocsReqMsg, addedTime.getTime(), owner, "OCS Requestmessage could not be send");
                             return false;
                         }
                     } else {
-                        simulator.putLog(simulator.getMasterClock(), "OCS: OCS setup could not be realized because no free wavelength could be found on </b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b>", Logger.RED, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
-                        ManagerOCS.getInstance().notifyError(ocsReqMsg, addedTime.getTime(), owner, "OCS setup could not be realized because no free wavelength could be found ");
+                        if (simulator.isLogEnabled(Logger.RED)) {
+                            simulator.putLog(simulator.getMasterClock(), "OCS: OCS setup could not be realized because no free wavelength could be found on </b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b>", Logger.RED, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
+                        }
+                        simulator.getContext().getManagerOCS().notifyError(ocsReqMsg, addedTime.getTime(), owner, "OCS setup could not be realized because no free wavelength could be found ");
                         return false;
                     }
                 }
@@ -286,8 +294,10 @@ public class OCSSwitchSender extends Sender {
 
             // There is no match between inport and outport
             if (ownerOutPort == null || ownerInPort == null) {
-                simulator.putLog(simulator.getMasterClock(), "FAIL: OCS setup failed because of outport/inport mismatch "
-                        + owner.getId(), Logger.RED, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.RED)) {
+                    simulator.putLog(simulator.getMasterClock(), "FAIL: OCS setup failed because of outport/inport mismatch "
+                            + owner.getId(), Logger.RED, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
+                }
                 simulator.addStat(owner, Stat.OCS_CIRCUIT_SETUP_DID_NOT_WORK);
                 if (ocsReqMsg.isPermanent()) {
                     simulator.cancelRequestedCircuit(ocsRoute);
@@ -296,7 +306,7 @@ public class OCSSwitchSender extends Sender {
                 if (!ocsReqMsg.getSource().equals(owner)) {
                     rollBackOCSSetup(ocsRoute);
                 }
-                ManagerOCS.getInstance().notifyError(ocsReqMsg, addedTime.getTime(), owner, "OCS setup failed because of outport/inport mismatch ");
+                simulator.getContext().getManagerOCS().notifyError(ocsReqMsg, addedTime.getTime(), owner, "OCS setup failed because of outport/inport mismatch ");
                 return false;
             } else {
                 //Found outport, know the wavelength -->update linktable (wavelength here is wavelengthId)
@@ -308,15 +318,17 @@ public class OCSSwitchSender extends Sender {
 
                 if (linkMapping.containsKey(incomingPair)) {
 
-                    simulator.putLog(owner.getCurrentTime(), "FAIL: OCS " + owner.getId() + " got a OCS setup message for a part of an "
-                            + "already existing circuit... [route : " + ocsRoute + "] " + incomingPair, Logger.RED, ocsRoute.getWavelength(), (int) ocsReqMsg.getSize());
+                    if (simulator.isLogEnabled(Logger.RED)) {
+                        simulator.putLog(owner.getCurrentTime(), "FAIL: OCS " + owner.getId() + " got a OCS setup message for a part of an "
+                                + "already existing circuit... [route : " + ocsRoute + "] " + incomingPair, Logger.RED, ocsRoute.getWavelength(), (int) ocsReqMsg.getSize());
+                    }
 
                     rollBackOCSSetup(ocsRoute);
                     simulator.addStat(owner, Stat.OCS_CIRCUIT_CONFLICT);
                     if (ocsReqMsg.isPermanent()) {
                         simulator.cancelRequestedCircuit(ocsRoute);
                     }
-                    ManagerOCS.getInstance().notifyError(ocsReqMsg, addedTime.getTime(), owner, " got a OCS setup message for a part of an "
+                    simulator.getContext().getManagerOCS().notifyError(ocsReqMsg, addedTime.getTime(), owner, " got a OCS setup message for a part of an "
                             + "already existing circuit... [route : " + ocsRoute + "] ");
                     return false;
                 }
@@ -346,22 +358,28 @@ public class OCSSwitchSender extends Sender {
                     LinkWavelengthPair outGoingPair = new LinkWavelengthPair(ownerOutPort, newWaveLength);
                     ownerOutPort.addWavelength(newWaveLength);
                     linkMapping.put(incomingPair, outGoingPair);
-                    simulator.putLog(simulator.getMasterClock(), "OCS: OCS link setup between <b>" + owner.getId()
-                            + "</b> and <b>" + nextHopOnPath + "</b> on " + newWaveLength + " " + ocsRoute, Logger.ORANGE, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
+                    if (simulator.isLogEnabled(Logger.ORANGE)) {
+                        simulator.putLog(simulator.getMasterClock(), "OCS: OCS link setup between <b>" + owner.getId()
+                                + "</b> and <b>" + nextHopOnPath + "</b> on " + newWaveLength + " " + ocsRoute, Logger.ORANGE, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
+                    }
                     simulator.addStat(owner, Stat.OCS_PART_OF_CIRCUIT_SET_UP);
 
                     if (owner.sendNow(nextHopOnPath, ocsReqMsg, addedTime)) {
                         //simulator.putLog(simulator.getMasterClock(), "OCS: OCS requestmessage send from <b>" + owner.getId() + "</b> to <b>" + newHopOnPath + "</b>", Logger.ORANGE, m.getSize(), m.getWavelengthID());
                         return true;
                     } else {
-                        simulator.putLog(simulator.getMasterClock(), "OCS: OCS Requestmessage could not be send <b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b>", Logger.RED, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
-                        ManagerOCS.getInstance().notifyError(ocsReqMsg, addedTime.getTime(), owner, "OCS Requestmessage could not be send ");
+                        if (simulator.isLogEnabled(Logger.RED)) {
+                            simulator.putLog(simulator.getMasterClock(), "OCS: OCS Requestmessage could not be send <b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b>", Logger.RED, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
+                        }
+                        simulator.getContext().getManagerOCS().notifyError(ocsReqMsg, addedTime.getTime(), owner, "OCS Requestmessage could not be send ");
                         return false;
                     }
                 } else {
                     //No new wavelengths could be found. Undo all changes.
-                    simulator.putLog(simulator.getMasterClock(), "OCS: OCS setup could not be realized because no free wavelength could be found on </b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b>", Logger.RED, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
-                    ManagerOCS.getInstance().notifyError(ocsReqMsg, addedTime.getTime(), owner, " OCS setup could not be realized because no free wavelength could be found on ");
+                    if (simulator.isLogEnabled(Logger.RED)) {
+                        simulator.putLog(simulator.getMasterClock(), "OCS: OCS setup could not be realized because no free wavelength could be found on </b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b>", Logger.RED, ocsReqMsg.getSize(), ocsReqMsg.getWavelengthID());
+                    }
+                    simulator.getContext().getManagerOCS().notifyError(ocsReqMsg, addedTime.getTime(), owner, " OCS setup could not be realized because no free wavelength could be found on ");
                     rollBackOCSSetup(ocsRoute);
                     return false;
                 }
@@ -389,8 +407,7 @@ public class OCSSwitchSender extends Sender {
     public void requestOCSCircuit(OCSRoute ocsRoute, boolean permanent, Time time) {
         StringBuffer buffer = new StringBuffer();
         buffer.append("ocsRequest ");
-        buffer.append(Entity.OCSRequestID);
-        Entity.OCSRequestID++;
+        buffer.append(simulator.getContext().nextOCSRequestNumber());
         buffer.append(":");
         buffer.append(ocsRoute.getSource().getId());
         buffer.append("-");
@@ -442,7 +459,9 @@ public class OCSSwitchSender extends Sender {
                     teardownMsg.setFirstWaveLengthID(lambdaToSetFree);
 //                    teardownMsg.setWavelenght(lambdaToSetFree);
                     teardownMsg.setWavelengthID(lambdaToSetFree);
-                    simulator.putLog(simulator.getMasterClock(), "<u>OCS Teardown: HEAD of OCS Path " + teardownMsg.getOcsRoute() + "</u>", Logger.GRAY, teardownMsg.getSize(), teardownMsg.getWavelengthID());
+                    if (simulator.isLogEnabled(Logger.GRAY)) {
+                        simulator.putLog(simulator.getMasterClock(), "<u>OCS Teardown: HEAD of OCS Path " + teardownMsg.getOcsRoute() + "</u>", Logger.GRAY, teardownMsg.getSize(), teardownMsg.getWavelengthID());
+                    }
 
                     if(simulator.circuitTearDown(ocsRouteMsg,lambdaToSetFree)){
 //                        System.out.println("Saco OCS del simulador en t:"+owner.getCurrentTime().getTime());
@@ -460,9 +479,11 @@ public class OCSSwitchSender extends Sender {
 
             //System.out.println("Ruta:"+teardownMsg.getOcsRoute()+" Color de inicio:"+teardownMsg.getFirstWaveLengthID() );
             
-            simulator.putLog(owner.getCurrentTime(), "<u>OCS Teardown: END of OCS Path reached " + teardownMsg.getOcsRoute() + "</u>", Logger.GRAY, teardownMsg.getSize(), teardownMsg.getWavelengthID());
+            if (simulator.isLogEnabled(Logger.GRAY)) {
+                simulator.putLog(owner.getCurrentTime(), "<u>OCS Teardown: END of OCS Path reached " + teardownMsg.getOcsRoute() + "</u>", Logger.GRAY, teardownMsg.getSize(), teardownMsg.getWavelengthID());
+            }
             simulator.addStat(owner, Stat.OCS_CIRCUIT_TEAR_DOWN);
-            ManagerOCS.getInstance().confirmTearDownOCS(teardownMsg, owner.getCurrentTime().getTime(),teardownMsg.getFirstWaveLengthID());
+            simulator.getContext().getManagerOCS().confirmTearDownOCS(teardownMsg, owner.getCurrentTime().getTime(),teardownMsg.getFirstWaveLengthID());
             return true;
 
         } else {
@@ -475,8 +496,10 @@ public class OCSSwitchSender extends Sender {
 
             if (outgoingPair == null) {
 
-                simulator.putLog(simulator.getMasterClock(), "Deleting OCS failed because no incomin<->outcoming wavelenght not found between "
-                        + owner.getId() + " --> " + teardownMsg.getDestination().getId(), Logger.RED, teardownMsg.getSize(), teardownMsg.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.RED)) {
+                    simulator.putLog(simulator.getMasterClock(), "Deleting OCS failed because no incomin<->outcoming wavelenght not found between "
+                            + owner.getId() + " --> " + teardownMsg.getDestination().getId(), Logger.RED, teardownMsg.getSize(), teardownMsg.getWavelengthID());
+                }
 
                 return false;
             } else {
@@ -488,16 +511,22 @@ public class OCSSwitchSender extends Sender {
                 if (owner.send(outPortToNextHop, teardownMsg, addedTime)) {
                     //Set free resources
                     if (outPortToNextHop.removeWavelength(wavelenghToNextHop) && linkMapping.remove(incomingPair) != null) {
-                        simulator.putLog(simulator.getMasterClock(), "OCS Circuit torn down between " + inport.getSource().getOwner() + " and " + owner, Logger.GREEN, teardownMsg.getSize(), teardownMsg.getWavelenght());
+                        if (simulator.isLogEnabled(Logger.GREEN)) {
+                            simulator.putLog(simulator.getMasterClock(), "OCS Circuit torn down between " + inport.getSource().getOwner() + " and " + owner, Logger.GREEN, teardownMsg.getSize(), teardownMsg.getWavelenght());
+                        }
                         return true;
                     } else {
-                        simulator.putLog(simulator.getMasterClock(), "Can NOT set free resources. Problem inport:" + inport + " Arrive wavelength:" + arriveMsgWavelength + " and "
-                                + " outPortToNextHop:" + outPortToNextHop + " wavelenghToNextHop:" + wavelenghToNextHop
-                                + owner, Logger.RED, teardownMsg.getSize(), teardownMsg.getWavelenght());
+                        if (simulator.isLogEnabled(Logger.RED)) {
+                            simulator.putLog(simulator.getMasterClock(), "Can NOT set free resources. Problem inport:" + inport + " Arrive wavelength:" + arriveMsgWavelength + " and "
+                                    + " outPortToNextHop:" + outPortToNextHop + " wavelenghToNextHop:" + wavelenghToNextHop
+                                    + owner, Logger.RED, teardownMsg.getSize(), teardownMsg.getWavelenght());
+                        }
                     }
                 } else {
-                    simulator.putLog(simulator.getMasterClock(), "Can NOT send Teardown message between " + owner.getId() + " and " + outPortToNextHop.getTarget().getOwner().getId(),
-                            Logger.RED, teardownMsg.getSize(), teardownMsg.getWavelengthID());
+                    if (simulator.isLogEnabled(Logger.RED)) {
+                        simulator.putLog(simulator.getMasterClock(), "Can NOT send Teardown message between " + owner.getId() + " and " + outPortToNextHop.getTarget().getOwner().getId(),
+                                Logger.RED, teardownMsg.getSize(), teardownMsg.getWavelengthID());
+                    }
                 }
 
                 return false;
@@ -543,14 +572,18 @@ public class OCSSwitchSender extends Sender {
                 linkMapping.remove(pair);
                 //Reset the wavelength, they do not necessarily have to be the same
                 msg.setWavelength(pair.getWavelength());
-                simulator.putLog(owner.getCurrentTime(), "Circuit-part has been torn down between " + owner.getId() + " and " + lastHopOnPath, Logger.RED, msg.getSize(), msg.getWavelength());
+                if (simulator.isLogEnabled(Logger.RED)) {
+                    simulator.putLog(owner.getCurrentTime(), "Circuit-part has been torn down between " + owner.getId() + " and " + lastHopOnPath, Logger.RED, msg.getSize(), msg.getWavelength());
+                }
                 simulator.addStat(owner, Stat.OCS_CIRCUIT_PART_OF_CONFLICT);
                 break;
             }
         }
         //Forward the message
         if (route.getSource().equals(owner)) {
-            simulator.putLog(owner.getCurrentTime(), "End of tear down reached " + route, Logger.RED, msg.getSize(), msg.getWavelength());
+            if (simulator.isLogEnabled(Logger.RED)) {
+                simulator.putLog(owner.getCurrentTime(), "End of tear down reached " + route, Logger.RED, msg.getSize(), msg.getWavelength());
+            }
             return true;
         } else {
             return owner.sendNow(route.get(index - 1), msg);
@@ -579,7 +612,8 @@ public class OCSSwitchSender extends Sender {
 
         double b;
         if (isTheHeadOCS) {
-            b = getBandwidthToGrant(bandwidthFree, trafficPriority, channelSize);
+            b = getBandwidthToGrant(bandwidthFree, trafficPriority, channelSize,
+                    simulator.getContext().getMinBandwidthToGrant());
             message.setAssigned_b(b);
         } else {
             b = message.getAssigned_b();
@@ -590,15 +624,14 @@ public class OCSSwitchSender extends Sender {
         }
 
 //        if (owner.isOutPortFree(port, message.getWavelengthID(), t)) {   
-        if (owner.isAnyChannelFree(b, outport, message.getWavelengthID(), t)) {
+        if (owner.isAnyChannelFree(b, outport, message.getWavelengthID(), t.getTime())) {
 
             double messageSize = message.getSize();
             double switchingSpeed = outport.getSwitchingSpeed();
-            double ocsDelay = GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.OCS_SwitchingDelay);
+            double ocsDelay = configSnapshot.getOCSSwitchingDelay();
 
-            //Calculate the portFreeAgainTime, the time the link will be free again
-            Time portFreeAgainTime = new Time(0);
-            Time reachingTime = new Time(0);
+            //Calculate the reachingTime, the time the message arrives at the next hop
+            double reachingTime = 0;
 
             Entity entitySource = message.getSource();
             Entity entityDestination = message.getDestination();
@@ -639,17 +672,17 @@ public class OCSSwitchSender extends Sender {
             }
 
             if (isTheHeadOCS) {
-                reachingTime.addTime(messageSize / b);
-                reachingTime.addTime((messageSize / switchingSpeed));
-                reachingTime.addTime(ocsDelay);
+                reachingTime += messageSize / b;
+                reachingTime += messageSize / switchingSpeed;
+                reachingTime += ocsDelay;
                 double reserveTime = ((messageSize / b) * (hopsOCS + 1)) + (messageSize / switchingSpeed) + ((hopsOCS + 1) * ocsDelay);
-                owner.reserve(entitySource, entityDestination, b, outport, message.getWavelengthID(), t, reserveTime);
+                owner.reserve(entitySource, entityDestination, b, outport, message.getWavelengthID(), t.getTime(), reserveTime);
 
             } else {
-                reachingTime.addTime(messageSize / b);
-                reachingTime.addTime(ocsDelay);
+                reachingTime += messageSize / b;
+                reachingTime += ocsDelay;
             }
-            reachingTime.addTime(t);
+            reachingTime += t.getTime();
 
 //            Map<Integer, Time> map = owner.getPortUsage().get(port);
 //            map.put(new Integer(message.getWavelengthID()), portFreeAgainTime);
@@ -764,11 +797,15 @@ public class OCSSwitchSender extends Sender {
             if (owner.sendNow(nextHopOnPath, ocsConfirmSetupMessage, confirmTime)) {
 
                 //System.out.println("Confirmacion Enviada:" + owner + " Desde:" + msg.getSource());
-                simulator.putLog(simulator.getMasterClock(), "OCS: OCS confirm send from <b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b> " + "for <b>" + ocsRoute.getDestination() + "</b> reserving wavelength <b>" + beginningWavelength + " </b>", Logger.ORANGE, ocsConfirmSetupMessage.getSize(), ocsConfirmSetupMessage.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.ORANGE)) {
+                    simulator.putLog(simulator.getMasterClock(), "OCS: OCS confirm send from <b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b> " + "for <b>" + ocsRoute.getDestination() + "</b> reserving wavelength <b>" + beginningWavelength + " </b>", Logger.ORANGE, ocsConfirmSetupMessage.getSize(), ocsConfirmSetupMessage.getWavelengthID());
+                }
                 return true;
             } else {
                 //System.out.println("Confirmacion NO Enviada:" + owner + " Desde:" + msg.getSource());
-                simulator.putLog(simulator.getMasterClock(), "OCS: OCS Requestmessage could not be send <b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b>", Logger.ORANGE, ocsConfirmSetupMessage.getSize(), ocsConfirmSetupMessage.getWavelengthID());
+                if (simulator.isLogEnabled(Logger.ORANGE)) {
+                    simulator.putLog(simulator.getMasterClock(), "OCS: OCS Requestmessage could not be send <b>" + owner.getId() + "</b> to <b>" + nextHopOnPath + "</b>", Logger.ORANGE, ocsConfirmSetupMessage.getSize(), ocsConfirmSetupMessage.getWavelengthID());
+                }
                 return false;
             }
         }
@@ -816,7 +853,8 @@ public class OCSSwitchSender extends Sender {
                             }
                         }
 
-                        OCSRequestTeardownMessage requestTeardownMsg = new OCSRequestTeardownMessage(multicostMsg.getId(), t, beginingWavelength, beginingOutport, ocsRouteReverse, multicostMsg, ocsExecutedInstruction);
+                        OCSRequestTeardownMessage requestTeardownMsg = new OCSRequestTeardownMessage(
+                                multicostMsg.getId() + "-reqTeardownOCS_" + simulator.getContext().nextTeardownRequestNumber(), t, beginingWavelength, beginingOutport, ocsRouteReverse, multicostMsg, ocsExecutedInstruction);
                         requestTeardownMsg.setSource(owner);
                         requestTeardownMsg.setDestination(ocsExecutedInstruction.getSource());
                         requestTeardownMsg.setWavelengthID(-1);
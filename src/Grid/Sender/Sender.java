@@ -4,11 +4,9 @@
 package Grid.Sender;
 
 import Grid.Entity;
-import Grid.GridSimulation;
 import Grid.GridSimulator;
 import Grid.Interfaces.Messages.GridMessage;
 import Grid.Port.GridOutPort;
-import Grid.Utilities.Config;
 import java.io.Serializable;
 import simbase.Time;
 
@@ -30,15 +28,7 @@ public abstract class Sender implements Serializable {
      * La variable minNumberChannels nunca puede ser menor a 1;
      */
     private static final int minNumberChannels = 3;
-    /**
-     * Min. bandwidth to grant inside a OCS. This is the width of a channel.
-     */
-    public static final double MIN_BANDWIDHT_TO_GRANT = 0.03 * GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.linkSpeed);//units Mbps
     public static final int INVALID_BANDWIDHT = -1;
-    /**
-     * Indicates if the AG2 Resource selector is selected or not.
-     */
-    private transient static boolean ag2ResourceSelectorSelected = false;
 
     /**
      * Constructor
@@ -115,10 +105,13 @@ public abstract class Sender implements Serializable {
      * @param availableBandwith in Mbps.
      * @param trafficPriority
      * @param numberOfChannels
+     * @param minBandwidthToGrant Min. bandwidth to grant inside a OCS, see
+     * {@link Grid.SimulationContext#getMinBandwidthToGrant()}.
      * @return Ancho de banda sugerido en Mbps siempre y cuando este sea mayor o
      * igual q 1Mbps, si no -1.
      */
-    public static double getBandwidthToGrant(double availableBandwith, int trafficPriority, int numberOfChannels) {
+    public static double getBandwidthToGrant(double availableBandwith, int trafficPriority, int numberOfChannels,
+            double minBandwidthToGrant) {
 
         double bandwithToGrant = -1;
         double pendant = 0;
@@ -139,14 +132,6 @@ public abstract class Sender implements Serializable {
          */
         bandwithToGrant = (pendant * trafficPriority) + constant;
         //Nunca se asignan anchos de banda inferiores a 1
-        return ((bandwithToGrant < MIN_BANDWIDHT_TO_GRANT) ? INVALID_BANDWIDHT : bandwithToGrant);
-    }
-
-    public static boolean isAg2ResourceSelectorSelected() {
-        return ag2ResourceSelectorSelected;
-    }
-
-    public static void setAg2ResourceSelectorSelected(boolean ag2ResourceSelectorSelected) {
-        Sender.ag2ResourceSelectorSelected = ag2ResourceSelectorSelected;
+        return ((bandwithToGrant < minBandwidthToGrant) ? INVALID_BANDWIDHT : bandwithToGrant);
     }
 }
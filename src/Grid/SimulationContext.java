@@ -0,0 +1,196 @@
+/*
+ * The state of a simulation which used to be shared between all simulations
+ * in the virtual machine.
+ */
+package Grid;
+
+import Grid.OCS.stats.ManagerOCS;
+import Grid.Utilities.Config;
+import Grid.Utilities.ConfigSnapshot;
+import java.io.Serializable;
+import simbase.SimBaseSimulator;
+import simbase.SimulationInstance;
+
+/**
+ * The context of a single simulation: its configuration, the counters which
+ * number the jobs, CPUs and OCS requests, and the OCS statistics. Every
+ * {@link GridSimulator} owns one, so that simulations can run in parallel
+ * threads without sharing state.
+ */
+public class SimulationContext implements Serializable {
+
+    /**
+     * The configuration of the simulation.
+     */
+    private Config configuration;
+    /**
+     * The parsed values of the configuration, null without a configuration.
+     */
+    private ConfigSnapshot configSnapshot;
+    /**
+     * The number of the next job.
+     */
+    private int jobCounter = 0;
+    /**
+     * The number of the next CPU.
+     */
+    private int cpuCounter = 0;
+    /**
+     * The number of the next OCS request.
+     */
+    private int ocsRequestCounter = 0;
+    /**
+     * The number of the next OCS teardown request.
+     */
+    private int teardownRequestCounter = 0;
+    /**
+     * The number of messages sent by the hybrid switches.
+     */
+    private int switchedMessages = 0;
+    /**
+     * Indicates if the AG2 Resource selector is selected or not.
+     */
+    private transient boolean ag2ResourceSelectorSelected = false;
+    /**
+     * Min. bandwidth to grant inside a OCS, NaN until it is first asked for.
+     */
+    private double minBandwidthToGrant = Double.NaN;
+    /**
+     * The OCS statistics, created when first asked for.
+     */
+    private transient ManagerOCS managerOCS;
+
+    /**
+     * Constructor
+     *
+     * @param configuration The configuration of the simulation.
+     * @exception IllegalArgumentException a value of the configuration cannot
+     * be parsed
+     */
+    public SimulationContext(Config configuration) {
+        this.configuration = configuration;
+        if (configuration != null) {
+            configSnapshot = new ConfigSnapshot(configuration);
+        }
+    }
+
+    /**
+     * Returns the configuration of the given simulator. Simulators which are
+     * no GridSimulator use the default configuration of
+     * {@link SimulationInstance}.
+     *
+     * @param simulator The simulator.
+     * @return The configuration of the simulator.
+     */
+    public static Config getConfiguration(SimBaseSimulator simulator) {
+        if (simulator instanceof GridSimulator) {
+            return ((GridSimulator) simulator).getContext().getConfiguration();
+        }
+        return SimulationInstance.configuration;
+    }
+
+    public Config getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Returns the values of the configuration as they were when the
+     * simulation was created.
+     *
+     * @return The snapshot of the configuration.
+     */
+    public ConfigSnapshot getConfigSnapshot() {
+        return configSnapshot;
+    }
+
+    /**
+     * Returns the number for a new job.
+     *
+     * @return The number for a new job.
+     */
+    public int nextJobNumber() {
+        return jobCounter++;
+    }
+
+    /**
+     * Returns the number for a new CPU.
+     *
+     * @return The number for a new CPU.
+     */
+    public int nextCpuNumber() {
+        return cpuCounter++;
+    }
+
+    /**
+     * Returns the number for a new OCS request.
+     *
+     * @return The number for a new OCS request.
+     */
+    public int nextOCSRequestNumber() {
+        return ocsRequestCounter++;
+    }
+
+    /**
+     * Returns the number for a new OCS teardown request.
+     *
+     * @return The number for a new OCS teardown request.
+     */
+    public int nextTeardownRequestNumber() {
+        return teardownRequestCounter++;
+    }
+
+    /**
+     * Counts a message sent by a hybrid switch.
+     *
+     * @return The number of messages sent before this one.
+     */
+    public int countSwitchedMessage() {
+        return switchedMessages++;
+    }
+
+    public boolean isAg2ResourceSelectorSelected() {
+        return ag2ResourceSelectorSelected;
+    }
+
+    public void setAg2ResourceSelectorSelected(boolean ag2ResourceSelectorSelected) {
+        this.ag2ResourceSelectorSelected = ag2ResourceSelectorSelected;
+    }
+
+    /**
+     * Returns the minimum bandwidth to grant inside a OCS circuit, which is the
+     * width of a channel: 3% of the link speed.
+     *
+     * @return The minimum bandwidth to grant (Mbps).
+     */
+    public double getMinBandwidthToGrant() {
+        if (Double.isNaN(minBandwidthToGrant)) {
+            minBandwidthToGrant = 0.03 * configSnapshot.getLinkSpeed();
+        }
+        return minBandwidthToGrant;
+    }
+
+    /**
+     * Returns the OCS statistics of the simulation.
+     *
+     * @return The OCS statistics.
+     */
+    public ManagerOCS getManagerOCS() {
+        if (managerOCS == null) {
+            managerOCS = new ManagerOCS();
+        }
+        return managerOCS;
+    }
+
+    /**
+     * Resets the counters and the OCS statistics, the configuration is kept.
+     */
+    public void reset() {
+        jobCounter = 0;
+        ocsRequestCounter = 0;
+        teardownRequestCounter = 0;
+        switchedMessages = 0;
+        if (managerOCS != null) {
+            managerOCS.clean();
+        }
+    }
+}
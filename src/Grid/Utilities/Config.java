@@ -25,7 +25,7 @@ public class Config extends Properties {
 
         simulationTime,
         //true if output to html file, false if not
-        //  output,
+        output,
         //Offset for checking if the simulation can stop.
         stopEventOffSetTime,
         switchingSpeed, defaultWavelengths,
@@ -33,6 +33,12 @@ public class Config extends Properties {
         ACKsize, OBSHandleTime,
         defaultCapacity, defaultCPUCount, defaultQueueSize,
         defaultFlopSize, defaultDataSize, defaultJobIAT, maxDelay, outputFileName,
+        //If set, the log is written as a binary trace to this file instead of HTML
+        traceFile,
+        //How messages record the hops they pass: full (default) or count
+        hopRecording,
+        //If set, entity listeners get a snapshot at this interval instead of every change
+        stateSampleInterval,
         OCSSetupHandleTime,
         allocateWavelenght,
         findCommonWavelenght,
@@ -97,7 +103,7 @@ public class Config extends Properties {
                 setProperty("OCSSetupHandleTime", "0.5");
                 setProperty("linkSpeed", "100");
                 setProperty("OBSHandleTime", "10"); 
-                setProperty("defaultCpuCapacity", "100");
+                setProperty("defaultCapacity", "100");
                 save(fileOutputStream,"--Edit from SIM_AG2---" );
             } catch (IOException ex) {
                 Logger.getLogger(Config.class.getName()).log(Level.SEVERE, null, ex);
@@ -107,6 +113,19 @@ public class Config extends Properties {
 
     }
 
+    /**
+     * Constructor, which copies a configuration without reading or writing
+     * the configuration file. Simulations which run on several threads take a
+     * copy of a configuration which was read once.
+     *
+     * @param configuration The configuration to copy.
+     */
+    public Config(Config configuration) {
+        super();
+        fileName = configuration.fileName;
+        putAll(configuration);
+    }
+
 
     public void save() {
         FileOutputStream fileOutputStream = null;
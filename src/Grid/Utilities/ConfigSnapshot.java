@@ -0,0 +1,228 @@
+/*
+ * The values of a configuration, parsed once.
+ */
+package Grid.Utilities;
+
+import Grid.Interfaces.Messages.GridMessage;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of a {@link Config}, with its values parsed into their
+ * types. Every {@link Grid.GridSimulator} takes one of its configuration when
+ * it is created, so the simulation does not look up and parse properties while
+ * it runs. Changes to the configuration after that are not seen.
+ *
+ * A value which cannot be parsed is reported when the snapshot is taken. A
+ * value which is missing is only reported when it is asked for, as the
+ * configuration files only contain the values their simulations use.
+ */
+public final class ConfigSnapshot implements Serializable {
+
+    /**
+     * The numeric values on the ordinal of their key, NaN if they are missing
+     * or the key is not numeric.
+     */
+    private final double[] numbers;
+    /**
+     * The output flag, null if it is missing.
+     */
+    private final Boolean output;
+    private final String outputFileName;
+    private final String traceFile;
+    /**
+     * The hop recording mode, FULL if it is missing.
+     */
+    private final GridMessage.HopRecording hopRecording;
+
+    /**
+     * Constructor
+     *
+     * @param configuration The configuration to take the snapshot of.
+     * @exception IllegalArgumentException a value cannot be parsed
+     */
+    public ConfigSnapshot(Config configuration) {
+        numbers = new double[Config.ConfigEnum.values().length];
+        Arrays.fill(numbers, Double.NaN);
+        for (Config.ConfigEnum key : Config.ConfigEnum.values()) {
+            String value = configuration.getProperty(key.toString());
+            if (value != null && isNumeric(key)) {
+                numbers[key.ordinal()] = parse(key, value.trim());
+            }
+        }
+        String value = configuration.getProperty(Config.ConfigEnum.output.toString());
+        output = value == null ? null : Boolean.valueOf(value.trim());
+        outputFileName = configuration.getProperty(Config.ConfigEnum.outputFileName.toString());
+        value = configuration.getProperty(Config.ConfigEnum.traceFile.toString());
+        traceFile = value == null || value.length() == 0 ? null : value;
+        value = configuration.getProperty(Config.ConfigEnum.hopRecording.toString());
+        if (value == null || value.length() == 0) {
+            hopRecording = GridMessage.HopRecording.FULL;
+        } else {
+            try {
+                hopRecording = GridMessage.HopRecording.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(Config.ConfigEnum.hopRecording + " is no hop recording mode: " + value);
+            }
+        }
+        if (!Double.isNaN(numbers[Config.ConfigEnum.stateSampleInterval.ordinal()])
+                && !(getStateSampleInterval() > 0)) {
+            throw new IllegalArgumentException(Config.ConfigEnum.stateSampleInterval + " must be larger than 0: "
+                    + getStateSampleInterval());
+        }
+    }
+
+    private static boolean isNumeric(Config.ConfigEnum key) {
+        switch (key) {
+            case output:
+            case outputFileName:
+            case traceFile:
+            case hopRecording:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private static boolean isInteger(Config.ConfigEnum key) {
+        switch (key) {
+            case defaultWavelengths:
+            case defaultCPUCount:
+            case defaultQueueSize:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static double parse(Config.ConfigEnum key, String value) {
+        double number;
+        try {
+            number = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " is no number: " + value);
+        }
+        if (isInteger(key) && number != Math.rint(number)) {
+            throw new IllegalArgumentException(key + " is no whole number: " + value);
+        }
+        return number;
+    }
+
+    /**
+     * Returns a numeric value.
+     *
+     * @param key The key of the value.
+     * @return The value.
+     * @exception IllegalArgumentException the value is missing or not numeric
+     */
+    public double getDouble(Config.ConfigEnum key) {
+        double number = numbers[key.ordinal()];
+        if (Double.isNaN(number)) {
+            throw new IllegalArgumentException(key.toString() + " is not in the config file");
+        }
+        return number;
+    }
+
+    /**
+     * Returns a whole numeric value.
+     *
+     * @param key The key of the value.
+     * @return The value.
+     * @exception IllegalArgumentException the value is missing or not numeric
+     */
+    public int getInt(Config.ConfigEnum key) {
+        return (int) getDouble(key);
+    }
+
+    /**
+     * Returns if a value is in the configuration.
+     *
+     * @param key The key of the value.
+     * @return True if the value is there.
+     */
+    public boolean contains(Config.ConfigEnum key) {
+        switch (key) {
+            case output:
+                return output != null;
+            case outputFileName:
+                return outputFileName != null;
+            case traceFile:
+                return traceFile != null;
+            case hopRecording:
+                return true;
+            default:
+                return !Double.isNaN(numbers[key.ordinal()]);
+        }
+    }
+
+    public double getSimulationTime() {
+        return getDouble(Config.ConfigEnum.simulationTime);
+    }
+
+    public double getStopEventOffSetTime() {
+        return getDouble(Config.ConfigEnum.stopEventOffSetTime);
+    }
+
+    public double getSwitchingSpeed() {
+        return getDouble(Config.ConfigEnum.switchingSpeed);
+    }
+
+    public int getDefaultWavelengths() {
+        return getInt(Config.ConfigEnum.defaultWavelengths);
+    }
+
+    public double getLinkSpeed() {
+        return getDouble(Config.ConfigEnum.linkSpeed);
+    }
+
+    public double getOBSHandleTime() {
+        return getDouble(Config.ConfigEnum.OBSHandleTime);
+    }
+
+    public double getOCSSetupHandleTime() {
+        return getDouble(Config.ConfigEnum.OCSSetupHandleTime);
+    }
+
+    public double getOCSSwitchingDelay() {
+        return getDouble(Config.ConfigEnum.OCS_SwitchingDelay);
+    }
+
+    public double getConfirmOCSDelay() {
+        return getDouble(Config.ConfigEnum.confirmOCSDelay);
+    }
+
+    /**
+     * Returns the output flag.
+     *
+     * @return The output flag, null if it is not in the configuration.
+     */
+    public Boolean getOutput() {
+        return output;
+    }
+
+    public String getOutputFileName() {
+        return outputFileName;
+    }
+
+    /**
+     * Returns the file the log is written to as a binary trace.
+     *
+     * @return The trace file, null if there is none.
+     */
+    public String getTraceFile() {
+        return traceFile;
+    }
+
+    public GridMessage.HopRecording getHopRecording() {
+        return hopRecording;
+    }
+
+    /**
+     * Returns the interval at which the state of the entities is sampled.
+     *
+     * @return The interval, NaN if the state is not sampled.
+     */
+    public double getStateSampleInterval() {
+        return numbers[Config.ConfigEnum.stateSampleInterval.ordinal()];
+    }
+}
@@ -68,7 +68,128 @@ public class SampleAverage implements Serializable{
     public double getAverage(){
         return average/numberOfSamples;
     }
-    
-    
+
+    /**
+     * Returns the (unbiased) variance of the samples.
+     * @return The variance of the samples, 0 if there are less than 2.
+     */
+    public double getVariance() {
+        if (numberOfSamples < 2) {
+            return 0;
+        }
+        double mean = getAverage();
+        return Math.max(0, (square - numberOfSamples * mean * mean) / (numberOfSamples - 1));
+    }
+
+    /**
+     * Returns the half width of the confidence interval of the average, based
+     * on the Student t distribution with nr of samples - 1 degrees of freedom.
+     * @param confidence The confidence level, for example 0.95.
+     * @return The half width of the confidence interval, NaN if there are
+     * less than 2 samples.
+     */
+    public double getHalfWidth(double confidence) {
+        if (confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("The confidence level has to be in (0,1): " + confidence);
+        }
+        if (numberOfSamples < 2) {
+            return Double.NaN;
+        }
+        double t = studentQuantile(0.5 + confidence / 2, numberOfSamples - 1);
+        return t * Math.sqrt(getVariance() / numberOfSamples);
+    }
+
+    /**
+     * Returns the quantile p (p &gt; 0.5) of the Student t distribution, by
+     * bisection on its distribution function.
+     */
+    private static double studentQuantile(double p, double degrees) {
+        double low = 0;
+        double high = 1;
+        while (studentDistribution(high, degrees) < p) {
+            low = high;
+            high *= 2;
+        }
+        for (int i = 0; i < 100 && high - low > 1e-12 * high; i++) {
+            double middle = (low + high) / 2;
+            if (studentDistribution(middle, degrees) < p) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    /**
+     * The distribution function of the Student t distribution, for t &gt;= 0.
+     */
+    private static double studentDistribution(double t, double degrees) {
+        return 1 - 0.5 * incompleteBeta(degrees / 2, 0.5, degrees / (degrees + t * t));
+    }
+
+    /**
+     * The regularized incomplete beta function I_x(a,b), evaluated with its
+     * continued fraction.
+     */
+    private static double incompleteBeta(double a, double b, double x) {
+        if (x <= 0) {
+            return 0;
+        }
+        if (x >= 1) {
+            return 1;
+        }
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b)
+                + a * Math.log(x) + b * Math.log(1 - x));
+        if (x < (a + 1) / (a + b + 2)) {
+            return front * betaFraction(a, b, x) / a;
+        } else {
+            return 1 - front * betaFraction(b, a, 1 - x) / b;
+        }
+    }
+
+    private static double betaFraction(double a, double b, double x) {
+        final double tiny = 1e-300;
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = 1 / (Math.abs(d) < tiny ? tiny : d);
+        double h = d;
+        for (int m = 1; m <= 300; m++) {
+            int m2 = 2 * m;
+            double aa = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+            d = 1 + aa * d;
+            d = 1 / (Math.abs(d) < tiny ? tiny : d);
+            c = 1 + aa / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            h *= d * c;
+            aa = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+            d = 1 + aa * d;
+            d = 1 / (Math.abs(d) < tiny ? tiny : d);
+            c = 1 + aa / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < 1e-15) {
+                break;
+            }
+        }
+        return h;
+    }
+
+    /**
+     * The logarithm of the gamma function (Lanczos approximation).
+     */
+    private static double logGamma(double x) {
+        double[] coefficients = {76.18009172947146, -86.50532032941677, 24.01409824083091,
+            -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (int i = 0; i < coefficients.length; i++) {
+            series += coefficients[i] / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
 
 }
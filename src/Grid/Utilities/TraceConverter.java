@@ -0,0 +1,138 @@
+/*
+ * Converts a binary trace to HTML or CSV.
+ */
+package Grid.Utilities;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import simbase.Stats.Logger;
+
+/**
+ * Converts a trace written by {@link TraceWriter} to the HTML the simulator
+ * writes when it logs directly, or to CSV with one record per line.
+ *
+ * Usage: TraceConverter &lt;trace file&gt; html|csv &lt;output file&gt;
+ */
+public class TraceConverter {
+
+    /**
+     * Formats the time, as Logger does.
+     */
+    private NumberFormat timeFormat = NumberFormat.getInstance();
+    /**
+     * Formats the size, as SimBaseSimulator does.
+     */
+    private DecimalFormat sizeFormat = new DecimalFormat();
+
+    public TraceConverter() {
+        timeFormat.setMinimumIntegerDigits(12);
+        timeFormat.setMaximumFractionDigits(3);
+        timeFormat.setMinimumFractionDigits(3);
+        timeFormat.setGroupingUsed(true);
+        sizeFormat.setMaximumFractionDigits(3);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 || !(args[1].equals("html") || args[1].equals("csv"))) {
+            System.err.println("Usage: TraceConverter <trace file> html|csv <output file>");
+            System.exit(1);
+        }
+        long records = new TraceConverter().convert(args[0], args[1].equals("html"), args[2]);
+        System.out.println(records + " records written to " + args[2]);
+    }
+
+    /**
+     * Converts a trace.
+     *
+     * @param traceFile The trace to read.
+     * @param html True for HTML, false for CSV.
+     * @param outputFile The file to write.
+     * @return The number of records.
+     * @throws IOException If the trace can not be read or the output can not
+     * be written.
+     */
+    public long convert(String traceFile, boolean html, String outputFile) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(traceFile), 64 * 1024));
+        PrintStream out = new PrintStream(new FileOutputStream(outputFile), false, "UTF-8");
+        long records = 0;
+        try {
+            if (in.readInt() != TraceWriter.MAGIC) {
+                throw new IOException(traceFile + " is not a trace");
+            }
+            int version = in.readInt();
+            if (version != TraceWriter.VERSION) {
+                throw new IOException("Unknown trace version " + version);
+            }
+            if (html) {
+                out.println(" <html>");
+                out.println("<head>");
+                out.println("<title>");
+                out.print("Output for " + traceFile);
+                out.println("</title>");
+                out.println("</head>");
+                out.println("<body>");
+                out.println("<FONT FACE=\"courier\">");
+            } else {
+                out.println("time,color,size,wavelength,message");
+            }
+
+            StringBuilder line = new StringBuilder(256);
+            while (true) {
+                double time;
+                try {
+                    time = in.readDouble();
+                } catch (EOFException e) {
+                    break;
+                }
+                int color = in.readByte();
+                double size = in.readDouble();
+                int wavelength = in.readInt();
+                byte[] message = new byte[in.readInt()];
+                in.readFully(message);
+                String log = new String(message, "UTF-8");
+
+                line.setLength(0);
+                if (html) {
+                    if (Double.isNaN(time)) {
+                        line.append("              ");
+                    } else {
+                        line.append(timeFormat.format(time)).append(": ");
+                    }
+                    line.append("<FONT COLOR=").append(Logger.getColorName(color)).append('>');
+                    line.append(log).append(" (").append(wavelength).append(") (");
+                    line.append(sizeFormat.format(size)).append(")</FONT>");
+                    if (!Double.isNaN(time)) {
+                        line.append("<br>");
+                    }
+                } else {
+                    if (!Double.isNaN(time)) {
+                        line.append(time);
+                    }
+                    line.append(',').append(Logger.getColorName(color));
+                    line.append(',').append(size);
+                    line.append(',').append(wavelength);
+                    line.append(",\"").append(log.replace("\"", "\"\"")).append('"');
+                }
+                out.println(line);
+                records++;
+            }
+
+            if (html) {
+                out.println("</FONT>");
+                out.println("</body>");
+                out.println("</html>");
+            }
+        } finally {
+            in.close();
+            out.close();
+        }
+        return records;
+    }
+}
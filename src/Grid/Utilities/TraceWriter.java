@@ -0,0 +1,282 @@
+/*
+ * Writes the log of a simulation as a compact binary trace, on a background
+ * thread.
+ */
+package Grid.Utilities;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Binary trace of the log lines of a simulation. The simulation thread encodes
+ * the records in fixed size buffers; full buffers are handed to a background
+ * thread which writes them to the file. The buffers form a bounded ring: when
+ * the writer thread falls behind and all buffers are full, the simulation
+ * waits for a buffer to come free, so no record is ever lost.
+ *
+ * The file starts with the magic number {@link #MAGIC} and the format
+ * {@link #VERSION}, followed by the records:
+ * <pre>
+ * double time (NaN if the line had no time)
+ * byte   color
+ * double size
+ * int    wavelength
+ * int    length of the message in bytes
+ * byte[] message, UTF-8
+ * </pre>
+ * Use {@link TraceConverter} to turn a trace into HTML or CSV.
+ */
+public class TraceWriter {
+
+    /**
+     * The first bytes of a trace file: "PHTR".
+     */
+    public static final int MAGIC = 0x50485452;
+    /**
+     * The version of the format.
+     */
+    public static final int VERSION = 1;
+    /**
+     * The fixed part of a record: time, color, size, wavelength and length.
+     */
+    private static final int HEADER_SIZE = 8 + 1 + 8 + 4 + 4;
+    /**
+     * Marks the end of the trace on the queue of full buffers.
+     */
+    private static final byte[] END = new byte[0];
+    /**
+     * The buffers which are full, with the number of bytes used.
+     */
+    private BlockingQueue<Chunk> full;
+    /**
+     * The buffers which can be filled.
+     */
+    private BlockingQueue<byte[]> free;
+    /**
+     * The size of the buffers of the ring.
+     */
+    private final int bufferSize;
+    /**
+     * The buffer which is being filled.
+     */
+    private byte[] buffer;
+    /**
+     * The number of bytes used in the buffer.
+     */
+    private int position = 0;
+    private OutputStream out;
+    private Thread writerThread;
+    /**
+     * The error of the writer thread, if any.
+     */
+    private volatile IOException error;
+    private boolean closed = false;
+
+    /**
+     * Creates a trace with 16 buffers of 64 kB.
+     *
+     * @param file The file to write the trace to.
+     * @throws IOException If the file can not be created.
+     */
+    public TraceWriter(File file) throws IOException {
+        this(file, 16, 64 * 1024);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param file The file to write the trace to.
+     * @param nrOfBuffers The number of buffers in the ring, at least 2.
+     * @param bufferSize The size of a buffer in bytes.
+     * @throws IOException If the file can not be created.
+     */
+    public TraceWriter(File file, int nrOfBuffers, int bufferSize) throws IOException {
+        if (nrOfBuffers < 2 || bufferSize < HEADER_SIZE) {
+            throw new IllegalArgumentException("Need at least 2 buffers of " + HEADER_SIZE + " bytes");
+        }
+        this.bufferSize = bufferSize;
+        full = new ArrayBlockingQueue<Chunk>(nrOfBuffers + 1);
+        free = new ArrayBlockingQueue<byte[]>(nrOfBuffers);
+        for (int i = 1; i < nrOfBuffers; i++) {
+            free.add(new byte[bufferSize]);
+        }
+        buffer = new byte[bufferSize];
+        out = new BufferedOutputStream(new FileOutputStream(file), bufferSize);
+        putInt(MAGIC);
+        putInt(VERSION);
+
+        writerThread = new Thread(new Runnable() {
+
+            public void run() {
+                drain();
+            }
+        }, "TraceWriter " + file.getName());
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Adds a record to the trace.
+     *
+     * @param time The time of the log line, NaN if there is none.
+     * @param color The color of the log line.
+     * @param size The size of the message which is logged.
+     * @param wavelength The wavelength of the message which is logged.
+     * @param log The log line.
+     */
+    public void write(double time, int color, double size, int wavelength, String log) {
+        if (closed) {
+            throw new IllegalStateException("The trace is closed");
+        }
+        // A character takes at most 3 bytes in UTF-8.
+        int maxSize = HEADER_SIZE + 3 * log.length();
+        if (position + maxSize > buffer.length) {
+            publish();
+            if (maxSize > buffer.length) {
+                // Does not fit in a buffer, give it one of its own.
+                byte[] normal = buffer;
+                buffer = new byte[maxSize];
+                encode(time, color, size, wavelength, log);
+                publish(normal);
+                return;
+            }
+        }
+        encode(time, color, size, wavelength, log);
+    }
+
+    private void encode(double time, int color, double size, int wavelength, String log) {
+        putLong(Double.doubleToLongBits(time));
+        buffer[position++] = (byte) color;
+        putLong(Double.doubleToLongBits(size));
+        putInt(wavelength);
+        int lengthPosition = position;
+        position += 4;
+        for (int i = 0; i < log.length(); i++) {
+            char c = log.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        int end = position;
+        position = lengthPosition;
+        putInt(end - lengthPosition - 4);
+        position = end;
+    }
+
+    private void putInt(int value) {
+        buffer[position++] = (byte) (value >>> 24);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    private void putLong(long value) {
+        putInt((int) (value >>> 32));
+        putInt((int) value);
+    }
+
+    /**
+     * Hands the current buffer to the writer thread and takes a free one.
+     */
+    private void publish() {
+        publish(null);
+    }
+
+    /**
+     * Hands the current buffer to the writer thread and continues with the
+     * given buffer, or with a free one if it is null.
+     */
+    private void publish(byte[] next) {
+        if (error != null) {
+            throw new IllegalStateException("Writing the trace failed: " + error.getMessage());
+        }
+        if (position == 0 && next == null) {
+            return;
+        }
+        try {
+            full.put(new Chunk(buffer, position));
+            buffer = next != null ? next : free.take();
+            position = 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing the trace");
+        }
+    }
+
+    /**
+     * Writes the full buffers, on the writer thread.
+     */
+    private void drain() {
+        try {
+            while (true) {
+                Chunk chunk = full.take();
+                if (chunk.data == END) {
+                    break;
+                }
+                if (error == null) {
+                    try {
+                        out.write(chunk.data, 0, chunk.length);
+                    } catch (IOException e) {
+                        error = e;
+                    }
+                }
+                // Buffers made for a single large record are not reused.
+                if (chunk.data.length == bufferSize) {
+                    free.offer(chunk.data);
+                }
+            }
+            out.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    /**
+     * Writes the remaining records, waits until they are on disk and closes
+     * the file.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        publish();
+        closed = true;
+        try {
+            full.put(new Chunk(END, 0));
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (error != null) {
+            throw new IllegalStateException("Writing the trace failed: " + error.getMessage());
+        }
+    }
+
+    /**
+     * A buffer with the number of bytes used.
+     */
+    private static class Chunk {
+
+        private byte[] data;
+        private int length;
+
+        public Chunk(byte[] data, int length) {
+            this.data = data;
+            this.length = length;
+        }
+    }
+}
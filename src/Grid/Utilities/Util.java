@@ -6,7 +6,6 @@ package Grid.Utilities;
 import Distributions.ConstantDistribution;
 import Distributions.DDNegExp;
 import Grid.Entity;
-import Grid.GridSimulation;
 import Grid.GridSimulator;
 import Grid.Interfaces.ClientNode;
 import Grid.Interfaces.ResourceNode;
@@ -42,16 +41,17 @@ import simbase.Time;
 public class Util {
 
     private static void insertOptionsForClient(ClientNode client, GridSimulator simulator) {
+        ConfigSnapshot configuration = simulator.getContext().getConfigSnapshot();
         client.getState().setJobInterArrival(new DDNegExp(simulator,
-                GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.defaultJobIAT)));
+                configuration.getDouble(Config.ConfigEnum.defaultJobIAT)));
         client.getState().setFlops(new DDNegExp(simulator,
-                GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.defaultFlopSize)));
+                configuration.getDouble(Config.ConfigEnum.defaultFlopSize)));
         client.getState().setMaxDelayInterval(new DDNegExp(simulator,
-                GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.maxDelay)));
+                configuration.getDouble(Config.ConfigEnum.maxDelay)));
 
         client.getState().setSizeDistribution(new DDNegExp(simulator,
-                GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.defaultDataSize)));
-        double ackSize = GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.ACKsize);
+                configuration.getDouble(Config.ConfigEnum.defaultDataSize)));
+        double ackSize = configuration.getDouble(Config.ConfigEnum.ACKsize);
         if (ackSize == 0) {
             client.getState().setAckSizeDistribution(new ConstantDistribution(ackSize));
         } else {
@@ -107,14 +107,15 @@ public class Util {
     }
 
     private static void insertOptionsForResource(ResourceNode resource, GridSimulator simulator) {
-        resource.setCpuCapacity(GridSimulation.configuration.getDoubleProperty(
+        ConfigSnapshot configuration = simulator.getContext().getConfigSnapshot();
+        resource.setCpuCapacity(configuration.getDouble(
                 Config.ConfigEnum.defaultCapacity));
-        resource.setQueueSize(GridSimulation.configuration.getIntProperty(
+        resource.setQueueSize(configuration.getInt(
                 Config.ConfigEnum.defaultQueueSize));
-        resource.setCpuCount(GridSimulation.configuration.getIntProperty(
-                Config.ConfigEnum.defaultCPUCount), GridSimulation.configuration.getDoubleProperty(
+        resource.setCpuCount(configuration.getInt(
+                Config.ConfigEnum.defaultCPUCount), configuration.getDouble(
                 Config.ConfigEnum.defaultCapacity));
-        resource.setCpuCapacity(GridSimulation.configuration.getDoubleProperty(
+        resource.setCpuCapacity(configuration.getDouble(
                 Config.ConfigEnum.defaultCapacity));
     }
 
@@ -135,13 +136,14 @@ public class Util {
     public static ResourceNode createOBSResource(
             String id, GridSimulator simulator, int nrOfCpus,
             double cpuCapacity) {
+        ConfigSnapshot configuration = simulator.getContext().getConfigSnapshot();
         ResourceNode resource = new OBSResourceNodeImpl(id, simulator);
-        resource.setCpuCapacity(GridSimulation.configuration.getDoubleProperty(
+        resource.setCpuCapacity(configuration.getDouble(
                 Config.ConfigEnum.defaultCapacity));
-        resource.setQueueSize(GridSimulation.configuration.getIntProperty(
+        resource.setQueueSize(configuration.getInt(
                 Config.ConfigEnum.defaultQueueSize));
         resource.setCpuCount(nrOfCpus, cpuCapacity);
-        resource.setCpuCapacity(GridSimulation.configuration.getDoubleProperty(
+        resource.setCpuCapacity(configuration.getDouble(
                 Config.ConfigEnum.defaultCapacity));
         simulator.register(resource);
         return resource;
@@ -175,7 +177,7 @@ public class Util {
     public static OBSSwitch createOBSSwitch(
             String id, GridSimulator simulator, boolean waveLengthConversion) {
         OBSSwitch sw = new OBSSwitchImpl(id, simulator, waveLengthConversion);
-        sw.setHandleDelay(new Time(GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.OBSHandleTime)));
+        sw.setHandleDelay(new Time(simulator.getContext().getConfigSnapshot().getOBSHandleTime()));
         simulator.register(sw);
         return sw;
     }
@@ -206,7 +208,7 @@ public class Util {
     public static Switch createOBSSwitch(
             String id, GridSimulator simulator, boolean waveLengthConversion, int waveLengths) {
         OBSSwitch sw = new OBSSwitchImpl(id, simulator, waveLengthConversion);
-        sw.setHandleDelay(new Time(GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.OBSHandleTime)));
+        sw.setHandleDelay(new Time(simulator.getContext().getConfigSnapshot().getOBSHandleTime()));
         simulator.register(sw);
         return sw;
     }
@@ -242,7 +244,7 @@ public class Util {
      */
     public static Switch createHybridSwitch(String id, GridSimulator simulator) {
         Switch sw = new HybridSwitchImpl(id, simulator);
-        sw.setHandleDelay(new Time(GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.OBSHandleTime)));
+        sw.setHandleDelay(new Time(simulator.getContext().getConfigSnapshot().getOBSHandleTime()));
         simulator.register(sw);
         return sw;
     }
@@ -252,7 +254,7 @@ public class Util {
      */
     public static Switch createHybridOutputSwitch(String id, GridSimulator simulator) {
         Switch sw = new OuputSwitchForHybridCase(id, simulator);
-        sw.setHandleDelay(new Time(GridSimulation.configuration.getDoubleProperty(Config.ConfigEnum.OBSHandleTime)));
+        sw.setHandleDelay(new Time(simulator.getContext().getConfigSnapshot().getOBSHandleTime()));
         simulator.register(sw);
         return sw;
     }
@@ -309,16 +311,17 @@ public class Util {
      * @throws IllegalEdgeException
      */
     public static void createLink(Entity from, Entity to) throws IllegalEdgeException {
+        ConfigSnapshot configuration = from.getConfigSnapshot();
         if (from.supportsOBS() == to.supportsOBS() && from.supportsOCS() == to.supportsOCS()) {
             StringBuffer buffer = new StringBuffer(from.getId());
             buffer.append("-");
             buffer.append(to.getId());
             GridOutPort out = new GridOutPort(buffer.toString(), from,
-                    GridSimulation.configuration.getDoubleProperty(
+                    configuration.getDouble(
                     Config.ConfigEnum.switchingSpeed),
-                    GridSimulation.configuration.getDoubleProperty(
+                    configuration.getDouble(
                     Config.ConfigEnum.linkSpeed),
-                    GridSimulation.configuration.getIntProperty(
+                    configuration.getInt(
                     Config.ConfigEnum.defaultWavelengths));
             GridInPort in = new GridInPort(buffer.toString(), to);
             out.setTarget(in);
@@ -333,14 +336,15 @@ public class Util {
     }
 
     public static void createLink(Entity from, Entity to, int wavelengths) throws IllegalEdgeException {
+        ConfigSnapshot configuration = from.getConfigSnapshot();
         if (from.supportsOBS() == to.supportsOBS() && from.supportsOCS() == to.supportsOCS()) {
             StringBuffer buffer = new StringBuffer(from.getId());
             buffer.append("-");
             buffer.append(to.getId());
             GridOutPort out = new GridOutPort(buffer.toString(), from,
-                    GridSimulation.configuration.getDoubleProperty(
+                    configuration.getDouble(
                     Config.ConfigEnum.switchingSpeed),
-                    GridSimulation.configuration.getDoubleProperty(
+                    configuration.getDouble(
                     Config.ConfigEnum.linkSpeed),
                     wavelengths);
             GridInPort in = new GridInPort(buffer.toString(), to);
@@ -0,0 +1,377 @@
+package simbase.EventList;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import simbase.SimBaseEvent;
+
+/**
+ * Calendar queue implementation of the event list (R. Brown, "Calendar
+ * queues: a fast O(1) priority queue implementation for the simulation event
+ * set problem", CACM 31(10), 1988).
+ * <p>
+ * Time is divided in buckets ("days") of a fixed width; an event falls in
+ * bucket floor(time / width) modulo the number of buckets. Every bucket is a
+ * sorted linked list, so events with equal time keep the SimBaseEvent
+ * ordering. The number of buckets follows the size of the queue and the width
+ * is re-estimated from the separation of the first events at every resize,
+ * which keeps add and pollFirst at O(1) amortized.
+ * <p>
+ * The events are dequeued in exactly the same order as with
+ * {@link TreeSetEventList}, and equal events are rejected the same way.
+ *
+ * @version 1.0
+ */
+public class CalendarQueueEventList implements SimBaseEventList, Serializable {
+
+    /**
+     * The minimal number of buckets.
+     */
+    private static final int MIN_BUCKETS = 16;
+    /**
+     * The number of events used to estimate the bucket width.
+     */
+    private static final int WIDTH_SAMPLE = 25;
+    /**
+     * The first node of each bucket.
+     */
+    private Node[] heads;
+    /**
+     * The last node of each bucket.
+     */
+    private Node[] tails;
+    /**
+     * Number of buckets - 1, the number of buckets is a power of two.
+     */
+    private int mask;
+    /**
+     * The width of a bucket.
+     */
+    private double width;
+    /**
+     * The virtual bucket where the search for the next event starts. No event
+     * in the queue has a lower virtual bucket.
+     */
+    private long currentBucket;
+    /**
+     * The number of events in the queue.
+     */
+    private int size;
+
+    /**
+     * Constructor. The bucket width is estimated as soon as the queue grows.
+     */
+    public CalendarQueueEventList() {
+        this(1.0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param width the initial width of a bucket, typically about three times
+     * the mean time between two consecutive events
+     */
+    public CalendarQueueEventList(double width) {
+        if (!(width > 0)) {
+            throw new IllegalArgumentException("The bucket width must be positive: " + width);
+        }
+        init(MIN_BUCKETS, width);
+    }
+
+    private void init(int buckets, double width) {
+        heads = new Node[buckets];
+        tails = new Node[buckets];
+        mask = buckets - 1;
+        this.width = width;
+        currentBucket = 0;
+        size = 0;
+    }
+
+    public boolean add(SimBaseEvent event) {
+        Node node = new Node(event, virtualBucket(event));
+        if (!insert(node)) {
+            return false;
+        }
+        size++;
+        if (size > 2 * heads.length) {
+            resize(2 * heads.length);
+        }
+        return true;
+    }
+
+    public SimBaseEvent first() {
+        Node node = locateFirst();
+        return node == null ? null : node.event;
+    }
+
+    public SimBaseEvent pollFirst() {
+        Node node = locateFirst();
+        if (node == null) {
+            return null;
+        }
+        int index = (int) (node.bucket & mask);
+        heads[index] = node.next;
+        if (node.next == null) {
+            tails[index] = null;
+        }
+        size--;
+        if (size < heads.length / 2 && heads.length > MIN_BUCKETS) {
+            resize(heads.length / 2);
+        }
+        return node.event;
+    }
+
+    public boolean remove(SimBaseEvent event) {
+        if (removeFrom((int) (virtualBucket(event) & mask), event)) {
+            return true;
+        }
+        // The time of the event was changed after it was added.
+        for (int i = 0; i < heads.length; i++) {
+            if (removeFrom(i, event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        init(MIN_BUCKETS, width);
+    }
+
+    /**
+     * Iterates over the events. The events are NOT returned in time order.
+     *
+     * @return an iterator over the events
+     */
+    public Iterator<SimBaseEvent> iterator() {
+        return new Iterator<SimBaseEvent>() {
+
+            private int index = -1;
+            private Node next = advance(null);
+
+            private Node advance(Node node) {
+                if (node != null && node.next != null) {
+                    return node.next;
+                }
+                while (++index < heads.length) {
+                    if (heads[index] != null) {
+                        return heads[index];
+                    }
+                }
+                return null;
+            }
+
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            public SimBaseEvent next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Node node = next;
+                next = advance(node);
+                return node.event;
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Returns the width of a bucket.
+     *
+     * @return the width of a bucket
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the number of buckets.
+     *
+     * @return the number of buckets
+     */
+    public int getNrOfBuckets() {
+        return heads.length;
+    }
+
+    private long virtualBucket(SimBaseEvent event) {
+        return (long) Math.floor(event.getTime().getTime() / width);
+    }
+
+    /**
+     * Inserts a node in its bucket, keeping the bucket sorted.
+     *
+     * @param node the node to insert
+     * @return false if an equal event is already in the bucket
+     */
+    private boolean insert(Node node) {
+        int index = (int) (node.bucket & mask);
+        Node tail = tails[index];
+        if (tail == null) {
+            heads[index] = node;
+            tails[index] = node;
+        } else {
+            int c = tail.event.compareTo(node.event);
+            if (c < 0) {
+                // Most events are scheduled after the ones already pending.
+                tail.next = node;
+                tails[index] = node;
+            } else if (c == 0) {
+                return false;
+            } else {
+                Node previous = null;
+                Node current = heads[index];
+                while ((c = current.event.compareTo(node.event)) < 0) {
+                    previous = current;
+                    current = current.next;
+                }
+                if (c == 0) {
+                    return false;
+                }
+                node.next = current;
+                if (previous == null) {
+                    heads[index] = node;
+                } else {
+                    previous.next = node;
+                }
+            }
+        }
+        if (node.bucket < currentBucket) {
+            currentBucket = node.bucket;
+        }
+        return true;
+    }
+
+    /**
+     * Finds the first event and moves the current bucket to it.
+     *
+     * @return the node with the first event, null if the queue is empty
+     */
+    private Node locateFirst() {
+        if (size == 0) {
+            return null;
+        }
+        for (int i = 0; i < heads.length; i++) {
+            Node head = heads[(int) ((currentBucket + i) & mask)];
+            if (head != null && head.bucket <= currentBucket + i) {
+                currentBucket = head.bucket;
+                return head;
+            }
+        }
+        // Nothing in the coming year: search the earliest event directly.
+        Node first = null;
+        for (int i = 0; i < heads.length; i++) {
+            if (heads[i] != null && (first == null || heads[i].event.compareTo(first.event) < 0)) {
+                first = heads[i];
+            }
+        }
+        currentBucket = first.bucket;
+        return first;
+    }
+
+    private boolean removeFrom(int index, SimBaseEvent event) {
+        Node previous = null;
+        Node current = heads[index];
+        while (current != null && current.event != event) {
+            previous = current;
+            current = current.next;
+        }
+        if (current == null) {
+            return false;
+        }
+        if (previous == null) {
+            heads[index] = current.next;
+        } else {
+            previous.next = current.next;
+        }
+        if (tails[index] == current) {
+            tails[index] = previous;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Copies all events to a calendar with the given number of buckets and a
+     * newly estimated bucket width.
+     *
+     * @param buckets the new number of buckets
+     */
+    private void resize(int buckets) {
+        int count = size;
+        Node[] sorted = new Node[count];
+        for (int i = 0; i < count; i++) {
+            Node node = locateFirst();
+            int index = (int) (node.bucket & mask);
+            heads[index] = node.next;
+            if (node.next == null) {
+                tails[index] = null;
+            }
+            node.next = null;
+            size--;
+            sorted[i] = node;
+        }
+
+        init(buckets, estimateWidth(sorted));
+        for (Node node : sorted) {
+            node.bucket = virtualBucket(node.event);
+            insert(node);
+        }
+        size = count;
+    }
+
+    /**
+     * Estimates the bucket width as three times the average separation of the
+     * first events, leaving out separations larger than twice the average.
+     *
+     * @param sorted the events in time order
+     * @return the new bucket width
+     */
+    private double estimateWidth(Node[] sorted) {
+        int n = Math.min(sorted.length, WIDTH_SAMPLE);
+        if (n < 2) {
+            return width;
+        }
+        double first = sorted[0].event.getTime().getTime();
+        double average = (sorted[n - 1].event.getTime().getTime() - first) / (n - 1);
+        double total = 0;
+        int separations = 0;
+        for (int i = 1; i < n; i++) {
+            double separation = sorted[i].event.getTime().getTime()
+                    - sorted[i - 1].event.getTime().getTime();
+            if (separation <= 2 * average) {
+                total += separation;
+                separations++;
+            }
+        }
+        double newWidth = separations == 0 ? 0 : 3 * total / separations;
+        return newWidth > 0 ? newWidth : width;
+    }
+
+    /**
+     * An entry in a bucket.
+     */
+    private static final class Node implements Serializable {
+
+        private SimBaseEvent event;
+        private long bucket;
+        private Node next;
+
+        private Node(SimBaseEvent event, long bucket) {
+            this.event = event;
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Interface for the future event list of the simulator.
+ */
+package simbase.EventList;
+
+import simbase.SimBaseEvent;
+
+/**
+ * A SimBaseEventList holds the pending events of a simulation, ordered by
+ * the natural ordering of SimBaseEvent. Like a set, an event which compares
+ * equal to an event already in the list is not added a second time.
+ *
+ * @version 1.0
+ */
+public interface SimBaseEventList extends Iterable<SimBaseEvent> {
+
+    /**
+     * Adds an event to the list.
+     *
+     * @param event the event to add
+     * @return true if the event was added, false if an equal event was already
+     * in the list
+     */
+    public boolean add(SimBaseEvent event);
+
+    /**
+     * Returns the first (earliest) event, without removing it.
+     *
+     * @return the first event, or null if the list is empty
+     */
+    public SimBaseEvent first();
+
+    /**
+     * Returns and removes the first (earliest) event.
+     *
+     * @return the first event, or null if the list is empty
+     */
+    public SimBaseEvent pollFirst();
+
+    /**
+     * Removes the given event from the list.
+     *
+     * @param event the event to remove
+     * @return true if the event was in the list
+     */
+    public boolean remove(SimBaseEvent event);
+
+    /**
+     * Returns the number of pending events.
+     *
+     * @return the number of pending events
+     */
+    public int size();
+
+    /**
+     * Returns whether there are no pending events.
+     *
+     * @return true if there are no pending events
+     */
+    public boolean isEmpty();
+
+    /**
+     * Removes all pending events.
+     */
+    public void clear();
+}
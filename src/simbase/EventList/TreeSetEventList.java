@@ -0,0 +1,60 @@
+package simbase.EventList;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.TreeSet;
+import simbase.SimBaseEvent;
+
+/**
+ * The default event list, backed by a TreeSet. Every operation costs
+ * O(log n).
+ *
+ * @version 1.0
+ */
+public class TreeSetEventList implements SimBaseEventList, Serializable {
+
+    /**
+     * The sorted events
+     */
+    private TreeSet<SimBaseEvent> events = new TreeSet<SimBaseEvent>();
+
+    public boolean add(SimBaseEvent event) {
+        return events.add(event);
+    }
+
+    public SimBaseEvent first() {
+        if (events.isEmpty()) {
+            return null;
+        }
+        return events.first();
+    }
+
+    public SimBaseEvent pollFirst() {
+        return events.pollFirst();
+    }
+
+    public boolean remove(SimBaseEvent event) {
+        return events.remove(event);
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    public void clear() {
+        events.clear();
+    }
+
+    /**
+     * Iterates over the events in time order.
+     *
+     * @return an iterator over the events
+     */
+    public Iterator<SimBaseEvent> iterator() {
+        return events.iterator();
+    }
+}
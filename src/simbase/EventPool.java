@@ -0,0 +1,143 @@
+/*
+ * Recycles the events of a simulator.
+ */
+package simbase;
+
+import java.util.ArrayDeque;
+import simbase.Port.SimBasePort;
+
+/**
+ * A free list of events. A simulator with a pool, see
+ * {@link SimBaseSimulator#setEventPool}, takes the events it schedules from
+ * the pool and gives them back once they have been dispatched, so no event is
+ * allocated once the pool has filled up. A released event no longer holds its
+ * port, message and time.
+ *
+ * In debug mode a released event is marked, and using it throws an
+ * IllegalStateException; releasing an event twice does as well. A released
+ * event is only reused after as many other events have been released as the
+ * capacity of the pool, so that a stale reference is caught before the event
+ * has a new life.
+ */
+public class EventPool {
+
+    /**
+     * The default number of free events kept.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+    /**
+     * The free events.
+     */
+    private ArrayDeque<SimBaseEvent> free;
+    /**
+     * The maximum number of free events kept, and in debug mode the number
+     * of releases an event stays unused.
+     */
+    private int capacity;
+    private boolean debug;
+    /**
+     * The number of events created by the pool.
+     */
+    private long created = 0;
+    /**
+     * The number of events taken from the free list.
+     */
+    private long reused = 0;
+
+    /**
+     * Constructor, a pool of {@link #DEFAULT_CAPACITY} events without checks.
+     */
+    public EventPool() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param capacity The maximum number of free events kept, at least 1.
+     * @param debug True to check for use after release.
+     */
+    public EventPool(int capacity, boolean debug) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+        this.debug = debug;
+        free = new ArrayDeque<SimBaseEvent>(debug ? capacity + 1 : capacity);
+    }
+
+    /**
+     * Returns an event for the given port, message and time: a free one if
+     * there is one, a new one otherwise.
+     *
+     * @param port The port.
+     * @param message The message.
+     * @param time The time of arrival at the receiving end.
+     * @return The event.
+     */
+    public SimBaseEvent obtain(SimBasePort port, SimBaseMessage message, Time time) {
+        SimBaseEvent event = null;
+        if (debug) {
+            if (free.size() > capacity) {
+                event = free.pollFirst();
+            }
+        } else {
+            event = free.pollLast();
+        }
+        if (event == null) {
+            event = new SimBaseEvent(port, message, time);
+            event.pooled = true;
+            created++;
+        } else {
+            event.released = false;
+            event.init(port, message, time);
+            reused++;
+        }
+        return event;
+    }
+
+    /**
+     * Gives a dispatched event back to the pool. Events which were not
+     * created by a pool are left alone.
+     *
+     * @param event The event, which may no longer be used.
+     */
+    public void release(SimBaseEvent event) {
+        if (!event.pooled) {
+            return;
+        }
+        if (debug) {
+            if (event.released) {
+                throw new IllegalStateException("Event released twice");
+            }
+            event.released = true;
+        }
+        event.clear();
+        if (debug || free.size() < capacity) {
+            free.offerLast(event);
+        }
+    }
+
+    /**
+     * Drops the free events.
+     */
+    public void clear() {
+        free.clear();
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getReused() {
+        return reused;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Named random number streams, derived from one master seed.
+ */
+package simbase;
+
+import cern.jet.random.engine.MersenneTwister;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A set of named, independent random number streams which are all derived from
+ * one master seed. The seed of a stream only depends on the master seed and
+ * the name of the stream, not on the order in which the streams are created
+ * or on the other streams. Two simulations with the same master seed
+ * therefore draw the same numbers for the same purpose, even if one of them
+ * has more entities or draws more numbers elsewhere: this gives common random
+ * numbers when two configurations are compared.
+ *
+ * The MersenneTwister only takes a 32 bit seed, so the streams are seeded
+ * with a SplitMix64 mix of the master seed and a 64 bit hash of the name.
+ */
+public class RandomStreams implements Serializable {
+
+    /**
+     * The master seed.
+     */
+    private long seed;
+    /**
+     * The streams which have been asked for, on name.
+     */
+    private Map<String, MersenneTwister> streams = new HashMap<String, MersenneTwister>();
+
+    /**
+     * Constructor
+     *
+     * @param seed The master seed.
+     */
+    public RandomStreams(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the stream with the given name, created on first use. Asking
+     * twice for the same name returns the same stream.
+     *
+     * @param name The name of the stream, for example "CLIENT1.iat".
+     * @return The stream.
+     */
+    public synchronized MersenneTwister getStream(String name) {
+        MersenneTwister stream = streams.get(name);
+        if (stream == null) {
+            stream = new MersenneTwister(getStreamSeed(seed, name));
+            streams.put(name, stream);
+        }
+        return stream;
+    }
+
+    /**
+     * Returns the seed of a stream.
+     *
+     * @param seed The master seed.
+     * @param name The name of the stream.
+     * @return The seed of the stream.
+     */
+    public static int getStreamSeed(long seed, String name) {
+        // FNV-1a over the characters of the name.
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        long z = seed + hash * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (int) (z ^ (z >>> 32));
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
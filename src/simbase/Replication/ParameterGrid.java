@@ -0,0 +1,93 @@
+/*
+ * The grid of parameter values of a parameter sweep.
+ */
+package simbase.Replication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A grid of parameter values: every parameter has a list of values, and the
+ * points of the grid are all combinations of them. The points are numbered
+ * with the last parameter varying fastest, in the order in which the
+ * parameters were added.
+ */
+public class ParameterGrid {
+
+    /**
+     * The values of the parameters, on the name of the parameter.
+     */
+    private LinkedHashMap<String, List<Object>> parameters = new LinkedHashMap<String, List<Object>>();
+
+    /**
+     * Adds a parameter to the grid.
+     *
+     * @param name The name of the parameter.
+     * @param values The values of the parameter, at least one.
+     * @return This grid.
+     */
+    public ParameterGrid add(String name, Object... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Parameter " + name + " needs at least one value");
+        }
+        if (parameters.containsKey(name)) {
+            throw new IllegalArgumentException("Parameter " + name + " is already in the grid");
+        }
+        parameters.put(name, Collections.unmodifiableList(new ArrayList<Object>(Arrays.asList(values))));
+        return this;
+    }
+
+    /**
+     * Returns the names of the parameters.
+     *
+     * @return The names of the parameters, in the order they were added.
+     */
+    public List<String> getNames() {
+        return new ArrayList<String>(parameters.keySet());
+    }
+
+    /**
+     * Returns the number of points in the grid.
+     *
+     * @return The number of points in the grid.
+     */
+    public int size() {
+        if (parameters.isEmpty()) {
+            return 0;
+        }
+        int size = 1;
+        for (List<Object> values : parameters.values()) {
+            size *= values.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns a point of the grid.
+     *
+     * @param index The number of the point.
+     * @return The value of every parameter, on its name.
+     */
+    public Map<String, Object> getPoint(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IllegalArgumentException("No point " + index + " in a grid of " + size());
+        }
+        List<String> names = getNames();
+        Object[] values = new Object[names.size()];
+        int rest = index;
+        for (int i = names.size() - 1; i >= 0; i--) {
+            List<Object> parameterValues = parameters.get(names.get(i));
+            values[i] = parameterValues.get(rest % parameterValues.size());
+            rest /= parameterValues.size();
+        }
+        Map<String, Object> point = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < names.size(); i++) {
+            point.put(names.get(i), values[i]);
+        }
+        return Collections.unmodifiableMap(point);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Runs an experiment in all points of a parameter grid, in parallel.
+ */
+package simbase.Replication;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs an experiment in every point of a {@link ParameterGrid} on a number of
+ * worker threads, and writes a CSV row for every point as soon as it is
+ * finished. The rows are written in the order the points finish; the first
+ * column is the number of the point in the grid, followed by the parameters
+ * and the results. The header is written with the first row, when the names
+ * of the results are known.
+ *
+ * A point which fails does not stop the others; once all points are done
+ * the first failure is thrown.
+ */
+public class ParameterSweep {
+
+    /**
+     * The grid of parameter values.
+     */
+    private ParameterGrid grid;
+    /**
+     * The experiment to run in every point.
+     */
+    private SweepExperiment experiment;
+    /**
+     * The number of points which run at the same time.
+     */
+    private int workers = Runtime.getRuntime().availableProcessors();
+    /**
+     * The names of the results, known once the first point is finished.
+     */
+    private List<String> resultNames;
+
+    /**
+     * Constructor
+     *
+     * @param grid The grid of parameter values.
+     * @param experiment The experiment to run in every point.
+     */
+    public ParameterSweep(ParameterGrid grid, SweepExperiment experiment) {
+        this.grid = grid;
+        this.experiment = experiment;
+    }
+
+    /**
+     * Runs all points and writes the results. Only the calling thread writes
+     * to out, which is flushed after every row.
+     *
+     * @param out Where to write the CSV.
+     * @return The number of rows written.
+     * @throws IOException If writing fails.
+     */
+    public int run(Writer out) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        CompletionService<Row> completion = new ExecutorCompletionService<Row>(executor);
+        int points = grid.size();
+        int rows = 0;
+        Throwable failure = null;
+        try {
+            for (int i = 0; i < points; i++) {
+                final int index = i;
+                completion.submit(new Callable<Row>() {
+
+                    public Row call() {
+                        Map<String, Object> point = grid.getPoint(index);
+                        return new Row(index, point, experiment.run(point));
+                    }
+                });
+            }
+            for (int i = 0; i < points; i++) {
+                try {
+                    Row row = completion.take().get();
+                    if (resultNames == null) {
+                        resultNames = new ArrayList<String>(row.results.keySet());
+                        writeHeader(out);
+                    }
+                    writeRow(out, row);
+                    rows++;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running the sweep");
+        } finally {
+            executor.shutdownNow();
+        }
+        if (failure != null) {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            throw new IllegalStateException("A point of the sweep failed: " + failure, failure);
+        }
+        return rows;
+    }
+
+    private void writeHeader(Writer out) throws IOException {
+        StringBuffer buffer = new StringBuffer("point");
+        for (String name : grid.getNames()) {
+            buffer.append(',');
+            appendField(buffer, name);
+        }
+        for (String name : resultNames) {
+            buffer.append(',');
+            appendField(buffer, name);
+        }
+        buffer.append('\n');
+        out.write(buffer.toString());
+    }
+
+    private void writeRow(Writer out, Row row) throws IOException {
+        StringBuffer buffer = new StringBuffer();
+        buffer.append(row.index);
+        for (Object value : row.point.values()) {
+            buffer.append(',');
+            appendField(buffer, value);
+        }
+        for (String name : resultNames) {
+            buffer.append(',');
+            appendField(buffer, row.results.get(name));
+        }
+        buffer.append('\n');
+        out.write(buffer.toString());
+        out.flush();
+    }
+
+    /**
+     * Appends a CSV field, quoted if needed. A missing value is left empty.
+     */
+    private static void appendField(StringBuffer buffer, Object value) {
+        if (value == null) {
+            return;
+        }
+        String field = value.toString();
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) {
+            buffer.append(field);
+        } else {
+            buffer.append('"');
+            buffer.append(field.replace("\"", "\"\""));
+            buffer.append('"');
+        }
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Sets the number of points which run at the same time.
+     *
+     * @param workers The number of worker threads, at least 1.
+     */
+    public void setWorkers(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is needed: " + workers);
+        }
+        this.workers = workers;
+    }
+
+    /**
+     * The results of a point of the grid.
+     */
+    private static class Row {
+
+        private int index;
+        private Map<String, Object> point;
+        private Map<String, Object> results;
+
+        public Row(int index, Map<String, Object> point, Map<String, Object> results) {
+            this.index = index;
+            this.point = point;
+            this.results = results;
+        }
+    }
+}
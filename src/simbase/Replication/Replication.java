@@ -0,0 +1,27 @@
+/*
+ * One replication of a simulation experiment.
+ */
+package simbase.Replication;
+
+import java.util.Map;
+
+/**
+ * A replication of a simulation experiment. Every call builds a new
+ * simulation, with its own simulator and entities, runs it and returns the
+ * output measures of the run.
+ *
+ * Replications are run concurrently by the {@link ReplicationRunner}, so an
+ * implementation should only use state which belongs to the run itself.
+ */
+public interface Replication {
+
+    /**
+     * Runs one replication.
+     *
+     * @param index The number of the replication, starting at 0.
+     * @param seed The seed for the random engine of the simulator of this
+     * replication, see {@link simbase.SimBaseSimulator#setEngine}.
+     * @return The output measures of the run, on their name.
+     */
+    public Map<String, Double> run(int index, int seed);
+}
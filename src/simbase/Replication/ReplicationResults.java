@@ -0,0 +1,138 @@
+/*
+ * The results of the replications of a simulation experiment.
+ */
+package simbase.Replication;
+
+import Grid.Utilities.SampleAverage;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The output measures of all replications of an experiment, with their
+ * averages and confidence intervals over the replications.
+ */
+public class ReplicationResults {
+
+    /**
+     * The results, on the number of the replication.
+     */
+    private List<Map<String, Double>> results;
+
+    /**
+     * Constructor
+     *
+     * @param results The results, on the number of the replication.
+     */
+    public ReplicationResults(List<Map<String, Double>> results) {
+        this.results = Collections.unmodifiableList(new ArrayList<Map<String, Double>>(results));
+    }
+
+    /**
+     * Returns the number of replications.
+     *
+     * @return The number of replications.
+     */
+    public int getReplications() {
+        return results.size();
+    }
+
+    /**
+     * Returns the results of a single replication.
+     *
+     * @param index The number of the replication.
+     * @return The output measures of the replication.
+     */
+    public Map<String, Double> getResult(int index) {
+        return Collections.unmodifiableMap(results.get(index));
+    }
+
+    /**
+     * Returns the names of all output measures, in the order in which they
+     * were first returned.
+     *
+     * @return The names of the output measures.
+     */
+    public Set<String> getNames() {
+        Set<String> names = new LinkedHashSet<String>();
+        for (Map<String, Double> result : results) {
+            names.addAll(result.keySet());
+        }
+        return names;
+    }
+
+    /**
+     * Returns the average of an output measure over the replications which
+     * returned it.
+     *
+     * @param name The name of the output measure.
+     * @return The sample average of the measure.
+     */
+    public SampleAverage getSampleAverage(String name) {
+        SampleAverage average = new SampleAverage();
+        for (Map<String, Double> result : results) {
+            Double value = result.get(name);
+            if (value != null) {
+                average.addSample(value.doubleValue());
+            }
+        }
+        return average;
+    }
+
+    /**
+     * Returns the mean of an output measure over the replications.
+     *
+     * @param name The name of the output measure.
+     * @return The mean of the output measure.
+     */
+    public double getMean(String name) {
+        return getSampleAverage(name).getAverage();
+    }
+
+    /**
+     * Returns the half width of the confidence interval of the mean of an
+     * output measure.
+     *
+     * @param name The name of the output measure.
+     * @param confidence The confidence level, for example 0.95.
+     * @return The half width of the confidence interval.
+     */
+    public double getHalfWidth(String name, double confidence) {
+        return getSampleAverage(name).getHalfWidth(confidence);
+    }
+
+    /**
+     * Returns a table with the mean and the confidence interval of every
+     * output measure.
+     *
+     * @param confidence The confidence level, for example 0.95.
+     * @return The table, one line per output measure.
+     */
+    public String toString(double confidence) {
+        DecimalFormat format = new DecimalFormat("0.######");
+        StringBuffer buffer = new StringBuffer();
+        for (String name : getNames()) {
+            SampleAverage average = getSampleAverage(name);
+            buffer.append(name);
+            buffer.append('\t');
+            buffer.append(format.format(average.getAverage()));
+            buffer.append(" +/- ");
+            buffer.append(format.format(average.getHalfWidth(confidence)));
+            buffer.append("\t(");
+            buffer.append((int) average.getNrOfSamples());
+            buffer.append(" replications, ");
+            buffer.append(format.format(confidence * 100));
+            buffer.append("%)\n");
+        }
+        return buffer.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toString(0.95);
+    }
+}
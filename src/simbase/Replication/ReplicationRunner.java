@@ -0,0 +1,146 @@
+/*
+ * Runs independent replications of a simulation on a fork join pool.
+ */
+package simbase.Replication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs a number of independent replications of a simulation in parallel.
+ * The seed of every replication is derived from the seed of the experiment
+ * and the number of the replication only, so the results of an experiment
+ * do not depend on the parallelism or on the order in which the replications
+ * happen to run.
+ *
+ * A Grid replication should create its simulator with its own configuration,
+ * see {@link Grid.GridSimulator#GridSimulator(Grid.Utilities.Config)}.
+ */
+public class ReplicationRunner {
+
+    /**
+     * The replication to run.
+     */
+    private Replication replication;
+    /**
+     * The number of replications.
+     */
+    private int replications;
+    /**
+     * The seed of the experiment.
+     */
+    private long seed;
+    /**
+     * The number of replications which run at the same time.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Constructor
+     *
+     * @param replication The replication to run.
+     * @param replications The number of replications, at least 1.
+     * @param seed The seed of the experiment.
+     */
+    public ReplicationRunner(Replication replication, int replications, long seed) {
+        if (replications < 1) {
+            throw new IllegalArgumentException("At least one replication is needed: " + replications);
+        }
+        this.replication = replication;
+        this.replications = replications;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs all replications and waits until they are finished. A failing
+     * replication makes the whole experiment fail.
+     *
+     * @return The results of the replications.
+     */
+    public ReplicationResults run() {
+        List<Map<String, Double>> results = new ArrayList<Map<String, Double>>(replications);
+        for (int i = 0; i < replications; i++) {
+            results.add(null);
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ReplicationTask(results, 0, replications));
+        } finally {
+            pool.shutdown();
+        }
+        return new ReplicationResults(results);
+    }
+
+    /**
+     * Returns the seed of a replication. The seed is a mix (SplitMix64) of
+     * the seed of the experiment and the number of the replication, so that
+     * neighbouring replications get unrelated streams.
+     *
+     * @param seed The seed of the experiment.
+     * @param index The number of the replication.
+     * @return The seed of the replication.
+     */
+    public static int getReplicationSeed(long seed, int index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (int) (z ^ (z >>> 32));
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of replications which run at the same time.
+     *
+     * @param parallelism The parallelism, at least 1.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism has to be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Runs the replications from (inclusive) to (exclusive), by splitting
+     * the range in two until a single replication is left.
+     */
+    private class ReplicationTask extends RecursiveAction {
+
+        private List<Map<String, Double>> results;
+        private int from;
+        private int to;
+
+        public ReplicationTask(List<Map<String, Double>> results, int from, int to) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                Map<String, Double> result = replication.run(from, getReplicationSeed(seed, from));
+                // Every task writes its own slot, the pool publishes it on join.
+                results.set(from, result);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ReplicationTask(results, from, middle), new ReplicationTask(results, middle, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * The experiment which is run in every point of a parameter sweep.
+ */
+package simbase.Replication;
+
+import java.util.Map;
+
+/**
+ * The experiment of a {@link ParameterSweep}. Every call builds and runs a
+ * new simulation for one point of the grid; the points run in parallel
+ * threads, so an implementation should only use state which belongs to the
+ * run itself.
+ */
+public interface SweepExperiment {
+
+    /**
+     * Runs the experiment in one point of the grid.
+     *
+     * @param point The value of every parameter, on its name.
+     * @return The results of the run, on their name. Every run should return
+     * the same names.
+     */
+    public Map<String, Object> run(Map<String, Object> point);
+}
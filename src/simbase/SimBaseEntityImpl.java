@@ -100,6 +100,9 @@ public abstract class SimBaseEntityImpl implements SimBaseEntity, Comparable, Se
      */
     public void setID(String id) {
         this.id = id;
+        if (simulator != null) {
+            simulator.reindexEntities();
+        }
     }
 
     /**
@@ -143,7 +146,7 @@ public abstract class SimBaseEntityImpl implements SimBaseEntity, Comparable, Se
      */
     public boolean sendNow(SimBaseEntity e, SimBaseMessage m) {
         try {
-            if (simulator.entities.contains(e)) {
+            if (simulator.isRegistered(e)) {
                 simulator.addEvent(e.getSelfIn(), m, currentTime);
                 return true;
             }
@@ -169,7 +172,7 @@ public abstract class SimBaseEntityImpl implements SimBaseEntity, Comparable, Se
      */
     public boolean sendNow(SimBaseEntity e, SimBaseMessage m, Time t) {
         try {
-            if (simulator.entities.contains(e)) {
+            if (simulator.isRegistered(e)) {
                 simulator.addEvent(e.getSelfIn(), m, t);
                
                 return true;
@@ -181,6 +184,32 @@ public abstract class SimBaseEntityImpl implements SimBaseEntity, Comparable, Se
         }
     }
 
+    /**
+     * Sends a message to any entity, on its SelfIn port, bypassing the normal
+     * links
+     * 
+     * @param e
+     *            the destination
+     * @param m
+     *            the message
+     * @param t 
+     *            the time of sending
+     * 
+     * @return true if sent; false on error
+     */
+    public boolean sendNow(SimBaseEntity e, SimBaseMessage m, double t) {
+        try {
+            if (simulator.isRegistered(e)) {
+                simulator.addEvent(e.getSelfIn(), m, t);
+                return true;
+            }
+            return false;
+        } catch (TimeException ex) {
+            System.err.println(ex.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Will send out a message on a given outgoing port.
      * 
@@ -216,6 +245,28 @@ public abstract class SimBaseEntityImpl implements SimBaseEntity, Comparable, Se
         }
     }
 
+    /**
+     * Sends a message out through an outport
+     * 
+     * @param outport
+     *            the outport through which to send the message
+     * @param msg
+     *            the message to be sent
+     * @param time
+     *            the time at which the message should arrive at the receiving
+     *            end
+     * @return whether the sending was successfull or not
+     */
+    public boolean send(SimBaseOutPort outport, SimBaseMessage msg, double time) {
+        try {
+            simulator.addEvent(outport, msg, time); // absolute time!
+            return true;
+        } catch (TimeException ex) {
+            System.err.println(ex.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Sends a message to itself
      * 
@@ -230,6 +281,20 @@ public abstract class SimBaseEntityImpl implements SimBaseEntity, Comparable, Se
         return true;
     }
 
+    /**
+     * Sends a message to itself
+     * 
+     * @param m
+     *            the message
+     * @param t
+     *            the time of arrival
+     * @return whether the sending was successfull or not
+     */
+    public boolean sendSelf(SimBaseMessage m, double t) {
+        send(selfOut, m, t);
+        return true;
+    }
+
     /**
      * The receive method which handles incoming messages. Abstract method
      * 
@@ -30,6 +30,19 @@ public class SimBaseEvent implements Comparable, Serializable {
      * The time the message is sent
      */
     protected Time time = new Time();
+    /**
+     * The sequence number, given by the simulator when the event is
+     * scheduled. Orders simultaneous events in the order they were scheduled.
+     */
+    protected long sequence = 0;
+    /**
+     * Whether the event was created by an {@link EventPool}.
+     */
+    boolean pooled = false;
+    /**
+     * Set while the event is released to a pool in debug mode.
+     */
+    boolean released = false;
 
     /**
      * DefaultConstructor, used for testing purposes.
@@ -76,6 +89,23 @@ public class SimBaseEvent implements Comparable, Serializable {
     }
 
     public SimBaseEvent(SimBasePort port, SimBaseMessage message, Time time) {
+        init(port, message, time);
+    }
+
+    /**
+     * Sets the port, message and time of an event which is reused.
+     *
+     * @param port
+     *            the inport where the message will be received or the
+     *            outport through which it was sent
+     * @param message
+     *            the message
+     * @param time
+     *            the time of arrival at the receiving end
+     */
+    final void init(SimBasePort port, SimBaseMessage message, Time time) {
+        source = null;
+        target = null;
         if (port instanceof SimBaseInPort) {
             if (target != null) {
                 source = ((SimBaseInPort)target).getSource();
@@ -103,12 +133,32 @@ public class SimBaseEvent implements Comparable, Serializable {
         this(s.getSource(), s.getMessage(), s.getTime());
     }
 
+    /**
+     * Drops the port, message and time of an event which is released.
+     */
+    void clear() {
+        source = null;
+        target = null;
+        message = null;
+        time = null;
+    }
+
+    /**
+     * Fails if the event has been released to a pool which checks for it.
+     */
+    private void checkReleased() {
+        if (released) {
+            throw new IllegalStateException("Event used after it was released to the pool");
+        }
+    }
+
     /**
      * Returns the source outport
      * 
      * @return the source outport
      */
     public SimBaseOutPort getSource() {
+        checkReleased();
         return source;
     }
 
@@ -118,6 +168,7 @@ public class SimBaseEvent implements Comparable, Serializable {
      * @return the destination inport
      */
     public SimBaseInPort getTarget() {
+        checkReleased();
         return target;
     }
 
@@ -127,6 +178,7 @@ public class SimBaseEvent implements Comparable, Serializable {
      * @return the message
      */
     public SimBaseMessage getMessage() {
+        checkReleased();
         return message;
     }
 
@@ -154,15 +206,54 @@ public class SimBaseEvent implements Comparable, Serializable {
      * @return the arrival time
      */
     public Time getTime() {
+        checkReleased();
         return time;
     }
 
+    /**
+     * Compares on time first; simultaneous events are ordered on their
+     * sequence number, so they are executed first in, first out.
+     *
+     * @param event the event to compare with
+     * @return -1, 0 or +1
+     */
     public int compareTo(Object event) {
-        int a = this.time.compareTo(((SimBaseEvent) event).getTime());
-        if (a == 0) {
-            a = this.message.id.compareTo(((SimBaseEvent) event).getMessage().id);
+        SimBaseEvent other = (SimBaseEvent) event;
+        if (released || other.released) {
+            throw new IllegalStateException("Event used after it was released to the pool");
+        }
+        double otherTime = other.time.getTime();
+        if (time.getTime() < otherTime) {
+            return -1;
+        }
+        if (time.getTime() > otherTime) {
+            return 1;
+        }
+        if (sequence < other.sequence) {
+            return -1;
         }
-        return a;
+        if (sequence > other.sequence) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the sequence number of this event.
+     *
+     * @return the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Sets the sequence number of this event.
+     *
+     * @param sequence the sequence number
+     */
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
     }
 
     public void setTime(Time time) {
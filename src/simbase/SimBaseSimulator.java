@@ -1,6 +1,8 @@
 package simbase;
 
 import Grid.Utilities.Config;
+import simbase.EventList.SimBaseEventList;
+import simbase.EventList.TreeSetEventList;
 import simbase.Stop.StopEvent;
 import simbase.Port.SimBaseInPort;
 import simbase.Port.SimBaseOutPort;
@@ -21,7 +23,7 @@ import simbase.Exceptions.TimeException;
  * and executing them. Keeps track of the layout of the simulation (entities and
  * their interaction), and statistics.
  *
- * @version 1.3
+ * @version 1.4
  */
 public class SimBaseSimulator implements SimBaseStats, Serializable {
 
@@ -44,7 +46,7 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
     /**
      * The list of events
      */
-    protected TreeSet<SimBaseEvent> events = new TreeSet<SimBaseEvent>();
+    protected SimBaseEventList events = new TreeSetEventList();
     /**
      * The master clock of the simulation
      */
@@ -53,15 +55,44 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
      * The number of events processed
      */
     protected long eventCount = 0;
+    /**
+     * The sequence number for the next scheduled event
+     */
+    protected long nextSequence = 0;
+    /**
+     * The pool the events are recycled in, null if they are not recycled.
+     */
+    private EventPool eventPool = null;
+    /**
+     * Samples the state of the entities, null if they are not sampled.
+     */
+    private StateSampler stateSampler = null;
     /**
      * Entities in the simulation
      */
     protected ArrayList<SimBaseEntity> entities = new ArrayList<SimBaseEntity>();
+    /**
+     * The registered entities, for fast membership tests
+     */
+    protected HashSet<SimBaseEntity> registeredEntities = new HashSet<SimBaseEntity>();
+    /**
+     * Index of the entities on their ID. If two entities share an ID, the
+     * first registered one is kept.
+     */
+    protected HashMap<String, SimBaseEntity> entitiesById = new HashMap<String, SimBaseEntity>();
+    /**
+     * Index of the entities on the types which have been asked for
+     */
+    protected HashMap<Class<?>, ArrayList<SimBaseEntity>> entitiesByType = new HashMap<Class<?>, ArrayList<SimBaseEntity>>();
     /**
      * The random generator
      */
     //private MersenneTwister engine = new MersenneTwister(new Date(System.currentTimeMillis()));
     private MersenneTwister engine = new MersenneTwister((int) System.currentTimeMillis());
+    /**
+     * The named random streams, null if all distributions share the engine.
+     */
+    private RandomStreams randomStreams = null;
     /**
      * The logger
      *
@@ -71,6 +102,26 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
      * Formatter for the decimals.
      */
     private DecimalFormat format = new DecimalFormat();
+    /**
+     * Reused to build the log lines.
+     */
+    private transient StringBuilder logBuffer;
+
+    /**
+     * Constructor, the events are kept in a {@link TreeSetEventList}.
+     */
+    public SimBaseSimulator() {
+    }
+
+    /**
+     * Constructor
+     *
+     * @param events the (empty) event list to use
+     * @since 1.4
+     */
+    public SimBaseSimulator(SimBaseEventList events) {
+        this.events = events;
+    }
 
     /* **************************************************************** */
     /* EVENT HANDLING */
@@ -84,13 +135,30 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
      */
     public void addEvent(SimBasePort port, SimBaseMessage msg, Time time) throws TimeException {
         if (time.getTime() >= masterClock.getTime()) {
-            SimBaseEvent event = new SimBaseEvent(port, msg, time);
+            SimBaseEvent event = eventPool != null ? eventPool.obtain(port, msg, time) : new SimBaseEvent(port, msg, time);
+            event.setSequence(nextSequence++);
             events.add(event);
         } else {
             throw new TimeException("Events cannot be added before the masterclock. Time: " + masterClock);
         }
     }
 
+    /**
+     * Adds a new event to the event queue. The event gets a Time of its own,
+     * so callers need not allocate or copy one.
+     *
+     * @param port the port
+     * @param msg the message
+     * @param time the time of arrival at the receiving end
+     */
+    public void addEvent(SimBasePort port, SimBaseMessage msg, double time) throws TimeException {
+        if (time >= masterClock.getTime()) {
+            addEvent(port, msg, new Time(time));
+        } else {
+            throw new TimeException("Events cannot be added before the masterclock. Time: " + masterClock);
+        }
+    }
+
     /**
      * Adds a stopevent to the queue.
      *
@@ -102,6 +170,7 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
     public void addStopEvent(StopEvent stop, Time t) throws TimeException {
         if (t.getTime() >= masterClock.getTime()) {
             stop.setTime(t);
+            stop.setSequence(nextSequence++);
             events.add(stop);
         } else {
             throw new TimeException("Events cannot be added before the masterclock. Time: " + masterClock);
@@ -120,16 +189,20 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
             throw new StopException("There are no events to execute anymore");
         }
         eventCount++;
-        SimBaseEvent nextEvent = events.first();
-
-        events.remove(nextEvent);
+        SimBaseEvent nextEvent = events.pollFirst();
 
+        if (stateSampler != null) {
+            stateSampler.advanceTo(this, nextEvent.getTime().getTime());
+        }
         masterClock = nextEvent.getTime();
         nextEvent.getTarget().getOwner().updateTime(masterClock);
         SimBaseInPort port = nextEvent.getTarget();
         SimBaseMessage msg = nextEvent.getMessage();
         SimBaseEntity entity = nextEvent.getTarget().getOwner();
         entity.receive(port, msg);
+        if (eventPool != null) {
+            eventPool.release(nextEvent);
+        }
         ////System.out.println("Tiempo: "+masterClock.getTime());
         return true;
 
@@ -163,14 +236,28 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
     }
 
     /**
-     * Return the treeset with the events.
+     * Return the list with the events.
      *
-     * @return The TreeSet with the events.
+     * @return The list with the events.
      */
-    public TreeSet<SimBaseEvent> getEvents() {
+    public SimBaseEventList getEvents() {
         return events;
     }
 
+    /**
+     * Sets the event list. The pending events are moved to the new list.
+     *
+     * @param events the new event list
+     * @since 1.4
+     */
+    public void setEvents(SimBaseEventList events) {
+        SimBaseEvent event;
+        while ((event = this.events.pollFirst()) != null) {
+            events.add(event);
+        }
+        this.events = events;
+    }
+
     /**
      * Returns the maximum number of simultaneous events in the eventlist.
      *
@@ -208,6 +295,86 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
         this.engine = engine;
     }
 
+    /**
+     * Returns the pool the events are recycled in.
+     *
+     * @return The pool, null if events are not recycled.
+     */
+    public EventPool getEventPool() {
+        return eventPool;
+    }
+
+    /**
+     * Lets the simulator recycle its events in a pool. Code which keeps a
+     * reference to an event after it has been dispatched, should not use a
+     * pool; a pool in debug mode detects it.
+     *
+     * @param eventPool The pool, or null to allocate every event.
+     */
+    public void setEventPool(EventPool eventPool) {
+        this.eventPool = eventPool;
+    }
+
+    /**
+     * Returns the sampler which takes snapshots of the state of the entities.
+     *
+     * @return The sampler, null if the entities report every change.
+     */
+    public StateSampler getStateSampler() {
+        return stateSampler;
+    }
+
+    /**
+     * Lets the state of the entities be sampled at a fixed interval, instead
+     * of on every change. The first sample is taken at the current time.
+     *
+     * @param stateSampler The sampler, or null to report every change.
+     */
+    public void setStateSampler(StateSampler stateSampler) {
+        this.stateSampler = stateSampler;
+        if (stateSampler != null) {
+            stateSampler.reset(masterClock.getTime());
+        }
+    }
+
+    /**
+     * Seeds the simulation: the engine is seeded from the master seed, and
+     * named random streams are derived from it. Should be called before the
+     * entities are created, as they take their streams when they are created.
+     *
+     * @param seed The master seed.
+     */
+    public void setSeed(long seed) {
+        randomStreams = new RandomStreams(seed);
+        engine = randomStreams.getStream("engine");
+    }
+
+    /**
+     * Returns the named random streams of this simulation.
+     *
+     * @return The random streams, null if no seed has been set and all
+     * distributions share the engine.
+     */
+    public RandomStreams getRandomStreams() {
+        return randomStreams;
+    }
+
+    /**
+     * Sets the named random streams of this simulation.
+     *
+     * @param randomStreams The random streams, or null to share the engine.
+     */
+    public void setRandomStreams(RandomStreams randomStreams) {
+        this.randomStreams = randomStreams;
+    }
+
+    /**
+     * Returns the list of entities. Entities have to be added and removed via
+     * {@link #register(SimBaseEntity)} and {@link #unRegister(SimBaseEntity)},
+     * so that the indexes on the entities stay up to date.
+     *
+     * @return the list of entities
+     */
     public ArrayList<SimBaseEntity> getEntities() {
         return entities;
     }
@@ -219,14 +386,18 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
      * @return all the entities of the given class
      * @since 1.2
      */
-    public ArrayList<SimBaseEntity> getEntitiesOfType(Class type) {
-        ArrayList<SimBaseEntity> res = new ArrayList<SimBaseEntity>();
-        for (SimBaseEntity entity : entities) {
-            if (type.isInstance(entity)) {
-                res.add(entity);
+    public ArrayList<SimBaseEntity> getEntitiesOfType(Class<?> type) {
+        ArrayList<SimBaseEntity> res = entitiesByType.get(type);
+        if (res == null) {
+            res = new ArrayList<SimBaseEntity>();
+            for (SimBaseEntity entity : entities) {
+                if (type.isInstance(entity)) {
+                    res.add(entity);
+                }
             }
+            entitiesByType.put(type, res);
         }
-        return res;
+        return new ArrayList<SimBaseEntity>(res);
     }
 
     /**
@@ -237,23 +408,37 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
      * @since 1.2
      */
     public SimBaseEntity getEntityWithId(String id) {
+        return entitiesById.get(id);
+    }
 
-        for (SimBaseEntity entity : entities) {
-            if (entity.getId().equals(id)) {
-                return entity;
-            }
-        }
-        return null;
+    /**
+     * Returns whether the given entity is registered with this simulator.
+     *
+     * @param entity the entity
+     * @return true if the entity is registered
+     * @since 1.4
+     */
+    public boolean isRegistered(SimBaseEntity entity) {
+        return registeredEntities.contains(entity);
     }
 
     /**
-     * Resets the whole simulation
+     * Resets the whole simulation. The state of the run is dropped explicitly,
+     * so that it can be reclaimed without forcing a collection.
      */
     public void resetSimulation() {
         resetAllStats();
+        batchStats.reset();
         events.clear();
+        if (eventPool != null) {
+            eventPool.clear();
+        }
+        nextSequence = 0;
         masterClock = new Time(0);
-        System.gc();
+        if (stateSampler != null) {
+            stateSampler.reset(0);
+        }
+        logBuffer = null;
     }
 
 
@@ -270,56 +455,76 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
     public void putLogClose(Time time, String log, int color, double size, int wavelength) {
 
         putLog(time, log, color, size, wavelength);
-        logger.close();
+        if (logger != null) {
+            logger.close();
+        }
     }
 
-    public void putLog(Time time, String log, int color, double size, int wavelength) {
-        //  if (SimulationInstance.configuration.getBooleanProperty(Config.ConfigEnum.output)) {
-        StringBuffer buffer = new StringBuffer();
-        buffer.append("<FONT COLOR=");
-        switch (color) {
-            case Logger.BLACK:
-                buffer.append("BLACK");
-                break;
-            case Logger.BLUE:
-                buffer.append("BLUE");
-                break;
-            case Logger.GREEN:
-                buffer.append("GREEN");
-                break;
-            case Logger.ORANGE:
-                buffer.append("ORANGE");
-                break;
-            case Logger.YELLOW:
-                buffer.append("YELLOW");
-                break;
-            case Logger.RED:
-                buffer.append("RED");
-                break;
-            case Logger.BROWN:
-                buffer.append("BROWN");
-                break;
-            case Logger.GRAY:
-                buffer.append("GRAY");
-                break;
+    /**
+     * Writes the rest of the binary trace, if any, and closes it.
+     *
+     * @since 1.4
+     */
+    public void closeTrace() {
+        if (logger != null) {
+            logger.closeTrace();
         }
-        buffer.append(">");
-        buffer.append(log);
-        buffer.append(" (");
-        buffer.append(wavelength);
-        buffer.append(")");
-        buffer.append(" (");
-        buffer.append(format.format(size));
-        buffer.append(")");
-
-        buffer.append("</FONT>");
-        logger.putLog(time, buffer.toString());
-
-
-
+    }
 
-        //  }
+    /**
+     * Logs an event, if its color is enabled. Callers which build the log
+     * string should check {@link #isLogEnabled(int)} first.
+     *
+     * @param time the time the event occurs
+     * @param log the event description to log
+     * @param color the color of this message
+     * @param size the size of the message
+     * @param wavelength the wavelength of the message
+     */
+    public void putLog(Time time, String log, int color, double size, int wavelength) {
+        if (!isLogEnabled(color)) {
+            return;
+        }
+        if (logger.isTracing()) {
+            logger.putTrace(time, log, color, size, wavelength);
+            return;
+        }
+        if (logBuffer == null) {
+            logBuffer = new StringBuilder(256);
+        }
+        logBuffer.setLength(0);
+        logBuffer.append("<FONT COLOR=");
+        logBuffer.append(Logger.getColorName(color));
+        logBuffer.append('>');
+        logBuffer.append(log);
+        logBuffer.append(" (");
+        logBuffer.append(wavelength);
+        logBuffer.append(") (");
+        logBuffer.append(format.format(size));
+        logBuffer.append(")</FONT>");
+        logger.putLog(time, logBuffer.toString());
+    }
+
+    /**
+     * Returns whether log lines of the given color are written. When it
+     * returns false, a call to putLog with this color does nothing.
+     *
+     * @param color the color of the log line
+     * @return true if lines of this color are logged
+     * @since 1.4
+     */
+    public boolean isLogEnabled(int color) {
+        return logger != null && logger.isEnabled(color);
+    }
 
+    /**
+     * Returns the logger of this simulator.
+     *
+     * @return the logger, or null if this simulator does not log
+     * @since 1.4
+     */
+    public Logger getLogger() {
+        return logger;
     }
 
     /**
@@ -455,10 +660,44 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
      */
     public void register(SimBaseEntity entity) {
         entities.add(entity);
+        index(entity);
     }
 
     public void setEntities(ArrayList<SimBaseEntity> entities) {
         this.entities = entities;
+        reindexEntities();
+    }
+
+    /**
+     * Adds an entity to the indexes.
+     *
+     * @param entity the entity to add
+     */
+    private void index(SimBaseEntity entity) {
+        registeredEntities.add(entity);
+        if (!entitiesById.containsKey(entity.getId())) {
+            entitiesById.put(entity.getId(), entity);
+        }
+        for (Map.Entry<Class<?>, ArrayList<SimBaseEntity>> entry : entitiesByType.entrySet()) {
+            if (entry.getKey().isInstance(entity)) {
+                entry.getValue().add(entity);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the indexes on the entities, has to be called when an entity
+     * is removed or changes its ID.
+     *
+     * @since 1.4
+     */
+    public void reindexEntities() {
+        registeredEntities.clear();
+        entitiesById.clear();
+        entitiesByType.clear();
+        for (SimBaseEntity entity : entities) {
+            index(entity);
+        }
     }
 
     /**
@@ -524,9 +763,12 @@ public class SimBaseSimulator implements SimBaseStats, Serializable {
     public void addEntity(SimBaseEntity entity) {
         //if(!entities.contains(entity))
         entities.add(entity);
+        index(entity);
     }
 
     public void unRegister(SimBaseEntity entity) {
-        entities.remove(entity);
+        if (entities.remove(entity)) {
+            reindexEntities();
+        }
     }
 }
\ No newline at end of file
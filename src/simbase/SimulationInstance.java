@@ -1,7 +1,6 @@
 package simbase;
 
-import Grid.Interfaces.Messages.JobRequestMessage;
-import Grid.Sender.Hybrid.Parallel.HybridSwitchSender;
+import Grid.SimulationContext;
 import Grid.Utilities.Config;
 import simbase.Stop.StopMessage;
 import simbase.Stop.StopEvent;
@@ -33,7 +32,9 @@ public class SimulationInstance implements Units, Serializable {
      */
     protected SimBaseSimulator simulator;
     /**
-     * The configuration file.
+     * The default configuration, for the simulators which are created without
+     * one. A simulation uses the configuration of its simulator, see
+     * {@link Grid.GridSimulator#getContext()}.
      */
     public static Config configuration;
     /**
@@ -65,11 +66,13 @@ public class SimulationInstance implements Units, Serializable {
                 eventCount++;
             }
         } catch (StopException e) {
-            HybridSwitchSender.numeroMsg=0;
-            JobRequestMessage.jobCounter= 0; 
             System.out.println("Cantidad de ocs´s vivos al final de la simulacion:" + ((Grid.GridSimulator) simulator).getEstablishedCircuits().size());
             simulator.putLog(simulator.getMasterClock(), e.getMessage(), Logger.BLACK, 0, 0);
             simulator.putLogClose(simulator.getMasterClock(), "Simulation finished", Logger.BLACK, 0, 0);
+        } finally {
+            // Also when the events run out or one fails: the trace is written
+            // on a daemon thread, which does not keep the JVM alive.
+            simulator.closeTrace();
         }
     }
 
@@ -89,7 +92,7 @@ public class SimulationInstance implements Units, Serializable {
         try {
             if (stopEntity == null) {
                 stopEntity = new TimeStopper("STOPENTITY", simulator,
-                        new Time(SimulationInstance.configuration.getDoubleProperty(Config.ConfigEnum.stopEventOffSetTime)));
+                        new Time(SimulationContext.getConfiguration(simulator).getDoubleProperty(Config.ConfigEnum.stopEventOffSetTime)));
             }
             StopMessage message = new StopMessage("STOPMESSAGE");
             StopEvent stopEvent = new StopEvent(message, stopEntity);
@@ -0,0 +1,99 @@
+/*
+ * Samples the state of the entities at a fixed interval.
+ */
+package simbase;
+
+/**
+ * Takes snapshots of the state of the entities of a simulator at a fixed
+ * interval of simulated time, instead of on every change. A simulator with a
+ * sampler, see {@link SimBaseSimulator#setStateSampler}, lets it take the
+ * samples which are due before the clock moves on to the next event, so the
+ * samples see the state as it was at their time, and nothing is done for the
+ * events in between.
+ *
+ * The entities which want to be sampled implement {@link Target}.
+ */
+public class StateSampler {
+
+    /**
+     * An entity whose state can be sampled.
+     */
+    public interface Target {
+
+        /**
+         * Takes a snapshot of the state.
+         *
+         * @param time The time of the sample.
+         */
+        public void sampleState(Time time);
+    }
+    /**
+     * The time between two samples.
+     */
+    private double interval;
+    /**
+     * The time of the first sample.
+     */
+    private double start = 0;
+    /**
+     * The number of the next sample, counted from the first. Its time is
+     * computed from the start, so rounding errors do not add up over a run.
+     */
+    private long next = 0;
+    /**
+     * The number of samples taken.
+     */
+    private long sampleCount = 0;
+
+    /**
+     * Constructor
+     *
+     * @param interval The time between two samples, larger than 0.
+     */
+    public StateSampler(double interval) {
+        if (!(interval > 0)) {
+            throw new IllegalArgumentException("The sample interval must be larger than 0: " + interval);
+        }
+        this.interval = interval;
+    }
+
+    /**
+     * Takes the samples which are due before the clock advances to the given
+     * time.
+     *
+     * @param simulator The simulator, whose entities are sampled.
+     * @param time The time the clock advances to.
+     */
+    public void advanceTo(SimBaseSimulator simulator, double time) {
+        double nextSampleTime = start + next * interval;
+        while (nextSampleTime <= time) {
+            Time sampleTime = new Time(nextSampleTime);
+            for (SimBaseEntity entity : simulator.getEntities()) {
+                if (entity instanceof Target) {
+                    ((Target) entity).sampleState(sampleTime);
+                }
+            }
+            sampleCount++;
+            next++;
+            nextSampleTime = start + next * interval;
+        }
+    }
+
+    /**
+     * Lets the next sample be taken at the given time.
+     *
+     * @param time The time of the next sample.
+     */
+    public void reset(double time) {
+        start = time;
+        next = 0;
+    }
+
+    public double getInterval() {
+        return interval;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+}
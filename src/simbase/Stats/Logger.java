@@ -3,10 +3,14 @@
  *
  * Version 1.0
  * 	- Extracted the logging facility from SimBaseSimulator
+ * Version 1.1
+ * 	- Logging can be switched off, per color
+ * 	- Optional binary trace instead of HTML
  */
 package simbase.Stats;
 
 import Grid.Utilities.HtmlWriter;
+import Grid.Utilities.TraceWriter;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
@@ -14,10 +18,17 @@ import java.text.NumberFormat;
 import simbase.Time;
 
 /**
- * A logging facility.
+ * A logging facility. Every log line has a color; the colors can be switched
+ * off one by one, or all at once. Callers which have to build their message
+ * should check {@link #isEnabled(int)} first, so that a switched off color
+ * costs no string work at all. The output file is only created when the first
+ * line is logged.
+ *
+ * When a {@link TraceWriter} is set, the log lines are written to it as
+ * binary records instead of to the HTML output.
  *
  * @author Jens Buysse
- * @version 1.0
+ * @version 1.1
  */
 public class Logger implements Serializable {
 
@@ -30,6 +41,19 @@ public class Logger implements Serializable {
     public final static int BROWN = 6;
     public final static int PURPLE = 7;
     public final static int GRAY = 8;
+    /**
+     * The HTML names of the colors, on their color.
+     */
+    private final static String[] COLOR_NAMES = {
+        "BLACK", "GREEN", "BLUE", "YELLOW", "ORANGE", "RED", "BROWN", "", "GRAY"};
+    /**
+     * Bit mask of all colors.
+     */
+    public final static int ALL = (1 << (GRAY + 1)) - 1;
+    /**
+     * The colors which are logged, one bit per color.
+     */
+    private int enabledColors = ALL;
     /**
      * The stream to print to.
      */
@@ -42,6 +66,14 @@ public class Logger implements Serializable {
      * The timestamp formatter.
      */
     private NumberFormat formatter = NumberFormat.getInstance();
+    /**
+     * Reused to build the log lines.
+     */
+    private StringBuilder line = new StringBuilder(256);
+    /**
+     * The binary trace, null to write HTML.
+     */
+    private transient TraceWriter traceWriter;
 
     /**
      * Constructor. Creates a log with given timelength and printstream.
@@ -51,12 +83,28 @@ public class Logger implements Serializable {
      * @since 1.0
      */
     public void close() {
-        out.close();
+        if (out != null) {
+            out.close();
+        }
+        closeTrace();
+    }
+
+    /**
+     * Writes the rest of the binary trace, if any, and closes it. The lines
+     * after this go to the HTML output, until a new trace writer is set.
+     *
+     * @since 1.1
+     */
+    public void closeTrace() {
+        if (traceWriter != null) {
+            TraceWriter closing = traceWriter;
+            traceWriter = null;
+            closing.close();
+        }
     }
 
     public Logger(int timeLength) {
         this.timeLength = timeLength;
-        this.out = HtmlWriter.getInstance();
         formatter.setMinimumIntegerDigits(timeLength);
         formatter.setMaximumFractionDigits(3);
         formatter.setMinimumFractionDigits(3);
@@ -73,29 +121,114 @@ public class Logger implements Serializable {
      */
     public void putLog(Time time, String log) {
         this.out = HtmlWriter.getInstance();
+        line.setLength(0);
         if (time != null) {
-            out.println(formatter.format(time.getTime()) + ": " + log
-                    + "<br>");
+            line.append(formatter.format(time.getTime())).append(": ").append(log).append("<br>");
         } else {
-            out.println(repeat(" ", timeLength + 2) + log);
+            for (int i = 0; i < timeLength + 2; i++) {
+                line.append(' ');
+            }
+            line.append(log);
         }
+        out.println(line.toString());
+    }
 
+    /**
+     * Writes a log line to the binary trace.
+     *
+     * @param time timestamp, may be null
+     * @param log log text
+     * @param color the color of the line
+     * @param size the size of the message which is logged
+     * @param wavelength the wavelength of the message which is logged
+     * @since 1.1
+     */
+    public void putTrace(Time time, String log, int color, double size, int wavelength) {
+        traceWriter.write(time == null ? Double.NaN : time.getTime(), color, size, wavelength, log);
     }
 
     /**
-     * Repeats a string for a given times
+     * Returns whether lines are written to a binary trace instead of HTML.
      *
-     * @param src the string to repeat
-     * @param repeat the times it has to be repeated
-     * @return the repeated string
-     * @since 1.0
+     * @return True if a trace writer is set.
+     * @since 1.1
+     */
+    public boolean isTracing() {
+        return traceWriter != null;
+    }
+
+    public TraceWriter getTraceWriter() {
+        return traceWriter;
+    }
+
+    /**
+     * Writes the log lines to a binary trace from now on.
+     *
+     * @param traceWriter The trace, or null to write HTML again.
+     * @since 1.1
+     */
+    public void setTraceWriter(TraceWriter traceWriter) {
+        this.traceWriter = traceWriter;
+    }
+
+    /**
+     * Returns the HTML name of a color.
+     *
+     * @param color The color.
+     * @return The name, empty for an unknown color.
+     * @since 1.1
      */
-    private String repeat(String src, int repeat) {
-        StringBuffer buf = new StringBuffer();
-        for (int i = 0; i < repeat; i++) {
-            buf.append(src);
+    public static String getColorName(int color) {
+        return color >= 0 && color < COLOR_NAMES.length ? COLOR_NAMES[color] : "";
+    }
+
+    /**
+     * Returns whether lines of the given color are logged.
+     *
+     * @param color The color.
+     * @return True if the color is logged.
+     * @since 1.1
+     */
+    public boolean isEnabled(int color) {
+        if (color < 0 || color > GRAY) {
+            return enabledColors != 0;
+        }
+        return (enabledColors & (1 << color)) != 0;
+    }
+
+    /**
+     * Switches the logging of a color on or off.
+     *
+     * @param color The color.
+     * @param enabled True to log lines of this color.
+     * @since 1.1
+     */
+    public void setEnabled(int color, boolean enabled) {
+        if (color < 0 || color > GRAY) {
+            throw new IllegalArgumentException("Unknown color: " + color);
+        }
+        if (enabled) {
+            enabledColors |= 1 << color;
+        } else {
+            enabledColors &= ~(1 << color);
+        }
+    }
+
+    /**
+     * Switches the logging of all colors on or off.
+     *
+     * @param enabled True to log all colors, false to log nothing.
+     * @since 1.1
+     */
+    public void setEnabled(boolean enabled) {
+        enabledColors = enabled ? ALL : 0;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (line == null) {
+            line = new StringBuilder(256);
         }
-        return buf.toString();
     }
 
     public void logToStdOutput(Time time, String log) {
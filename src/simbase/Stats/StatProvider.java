@@ -2,18 +2,24 @@ package simbase.Stats;
 
 import java.io.Serializable;
 import simbase.*;
-import java.util.EnumMap;
 import java.util.HashMap;
 
 import simbase.Stats.SimBaseStats.Stat;
 
 /**
  * The StatProvider provides a statistics gathering mechanism for the simulator.
+ * The stats of an entity are kept in an array, indexed on the ordinal of the
+ * stat.
  * 
  * @author Joachim Vermeir
- * @version 1.0
+ * @version 1.1
  */
 public class StatProvider  implements Serializable{
+	/**
+	 * The number of stats
+	 */
+	private static final int STAT_COUNT = Stat.values().length;
+
 	/**
 	 * The table containing the mappings between entities and their stats
 	 */
@@ -41,11 +47,25 @@ public class StatProvider  implements Serializable{
 	 *            the stat
 	 */
 	public void addStat(SimBaseEntity entity, Stat stat) {
-		if (!entities.containsKey(entity))
-			entities.put(entity, new Statistics());
-		entities.get(entity).addStat(stat);
+		getStatistics(entity).addStat(stat);
 		total.addStat(stat);
 	}
+
+	/**
+	 * Returns the stats of an entity, they are created if needed.
+	 * 
+	 * @param entity
+	 *            the entity
+	 * @return the stats of the entity
+	 */
+	private Statistics getStatistics(SimBaseEntity entity) {
+		Statistics statistics = entities.get(entity);
+		if (statistics == null) {
+			statistics = new Statistics();
+			entities.put(entity, statistics);
+		}
+		return statistics;
+	}
 	
 	/**
 	 * Adds a given global stat
@@ -68,9 +88,7 @@ public class StatProvider  implements Serializable{
 	 *            the amount to add
 	 */
 	public void addStat(SimBaseEntity entity, Stat stat, final double value) {
-		if (!entities.containsKey(entity))
-			entities.put(entity, new Statistics());
-		entities.get(entity).addStat(stat, value);
+		getStatistics(entity).addStat(stat, value);
 		total.addStat(stat, value);
 	}
 	/**
@@ -82,9 +100,7 @@ public class StatProvider  implements Serializable{
 	 *            the stat
 	 */
 	public void resetStat(SimBaseEntity entity, Stat stat) {
-		if (!entities.containsKey(entity))
-			entities.put(entity, new Statistics());
-		entities.get(entity).resetStat(stat);
+		getStatistics(entity).resetStat(stat);
 		total.resetStat(stat);
 	}
 
@@ -118,9 +134,10 @@ public class StatProvider  implements Serializable{
 	 * @return the given global stat
 	 */
 	public double getStat(SimBaseEntity entity, Stat stat) {
-		if (!entities.containsKey(entity))
+		Statistics statistics = entities.get(entity);
+		if (statistics == null)
 			return 0.0;
-		return entities.get(entity).getStat(stat);
+		return statistics.getStat(stat);
 	}
 	
 	/**
@@ -131,9 +148,10 @@ public class StatProvider  implements Serializable{
 	 * @return a list of all stats for the given entity
 	 */
 	public double[] getStats(SimBaseEntity entity) {
-		if (!entities.containsKey(entity))
+		Statistics statistics = entities.get(entity);
+		if (statistics == null)
 			return new double[0];
-		return entities.get(entity).getStats();
+		return statistics.getStats();
 	}
 
 	/**
@@ -149,13 +167,13 @@ public class StatProvider  implements Serializable{
 	 * A class providing stats handling
 	 * 
 	 * @author Joachim Vermeir
-	 * @version 1.0
+	 * @version 1.1
 	 */
 	protected class Statistics implements Serializable{
 		/**
-		 * The list of stats
+		 * The stats, on the ordinal of the stat
 		 */
-		private EnumMap<Stat, Double> stats2 = new EnumMap<Stat, Double>(Stat.class);
+		private double[] stats2 = new double[STAT_COUNT];
 
 		/**
 		 * Raises the given stat with the given value
@@ -166,9 +184,7 @@ public class StatProvider  implements Serializable{
 		 *            the value
 		 */
 		protected void addStat(Stat stat, final double value) {
-			if(!stats2.containsKey(stat))
-				stats2.put(stat,new Double(0));
-			stats2.put(stat, stats2.get(stat).doubleValue() + value);
+			stats2[stat.ordinal()] += value;
 		}
 
 		/**
@@ -176,17 +192,8 @@ public class StatProvider  implements Serializable{
 		 * 
 		 * @return a list with all stats
 		 */
-		 
 		protected double[] getStats() {
-			//Iterator<Double> it = stats2.values().iterator();
-			double res[] = new double[Stat.values().length];
-			int i =0;
-			for(Stat stat : Stat.values())
-			{
-				Double t = stats2.get(stat);
-				res[i++] = t== null?0.0:t;
-			}
-			return res;
+			return stats2.clone();
 		}
 
 		/**
@@ -195,10 +202,8 @@ public class StatProvider  implements Serializable{
 		 * @param stat
 		 *            the stat
 		 */
-				protected void addStat(Stat stat) {
-			if(!stats2.containsKey(stat))
-				stats2.put(stat,new Double(0));
-			stats2.put(stat, stats2.get(stat).doubleValue() + 1.0);
+		protected void addStat(Stat stat) {
+			stats2[stat.ordinal()] += 1.0;
 		}
 		
 		/**
@@ -208,7 +213,7 @@ public class StatProvider  implements Serializable{
 		 *            the stat
 		 */
 		protected void resetStat(Stat stat) {
-			stats2.put(stat, 0.0);
+			stats2[stat.ordinal()] = 0.0;
 		}
 
 		/**
@@ -219,10 +224,7 @@ public class StatProvider  implements Serializable{
 		 * @return the given stat
 		 */
 		protected double getStat(Stat stat) {
-			if (stats2.containsKey(stat))
-				return stats2.get(stat).doubleValue();
-				return 0.0;
-			
+			return stats2[stat.ordinal()];
 		}
 	}
 }
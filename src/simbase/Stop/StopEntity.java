@@ -28,24 +28,29 @@ public abstract class StopEntity extends SimBaseEntityImpl {
      */
     public StopEntity(String id, SimBaseSimulator simulator, Time offset) {
         super(id, simulator);
-        simulator.putLog(simulator.getMasterClock(), id+ " succesfully created", Logger.BLACK, 0, 0);
+        if (simulator.isLogEnabled(Logger.BLACK)) {
+            simulator.putLog(simulator.getMasterClock(), id+ " succesfully created", Logger.BLACK, 0, 0);
+        }
         this.offset = offset;
     }
 
     @Override
     public void receive(SimBaseInPort inPort, SimBaseMessage m) throws StopException {
         if (checkCondition()) {
-            simulator.putLog(currentTime, "events still in queue : " + simulator.getEvents().size(),Logger.BLACK,0,0);        
+            if (simulator.isLogEnabled(Logger.BLACK)) {
+                simulator.putLog(currentTime, "events still in queue : " + simulator.getEvents().size(),Logger.BLACK,0,0);
+            }
             
             throw new StopException("The simulation can stop, criteria reached");
             
         } else {
             Time newStopEventTime = (simulator.getMasterClock()).addTime(offset);
             sendSelf(m, newStopEventTime);
-            StringBuffer buffer = new StringBuffer("New stop event update inserted. New check : ");
-            buffer.append(newStopEventTime);
-            System.gc();
-            simulator.putLog(simulator.getMasterClock(), buffer.toString(),Logger.BLACK,0,0);
+            if (simulator.isLogEnabled(Logger.BLACK)) {
+                StringBuffer buffer = new StringBuffer("New stop event update inserted. New check : ");
+                buffer.append(newStopEventTime);
+                simulator.putLog(simulator.getMasterClock(), buffer.toString(),Logger.BLACK,0,0);
+            }
         }
     }
 
@@ -5,11 +5,11 @@
 package simbase.Stop;
 
 import Grid.Entity;
+import Grid.SimulationContext;
 import Grid.Utilities.Config;
 import java.util.List;
 import simbase.SimBaseEntity;
 import simbase.SimBaseSimulator;
-import simbase.SimulationInstance;
 import simbase.Time;
 
 /**
@@ -36,7 +36,7 @@ public class StopperWhenOCSIsOk extends StopEntity {
             return false;
         } else {
             if (simulator.getMasterClock().getTime() >=
-                    SimulationInstance.configuration.getDoubleProperty(Config.ConfigEnum.simulationTime)) {
+                    SimulationContext.getConfiguration(simulator).getDoubleProperty(Config.ConfigEnum.simulationTime)) {
                 return true;
             } else {
 
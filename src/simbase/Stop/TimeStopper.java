@@ -6,6 +6,7 @@
 package simbase.Stop;
 
 
+import Grid.SimulationContext;
 import Grid.Utilities.Config;
 import simbase.Exceptions.StopException;
 import simbase.Port.SimBaseInPort;
@@ -29,7 +30,6 @@ public class TimeStopper extends StopEntity{
     @Override
     public void receive(SimBaseInPort inPort, SimBaseMessage m) throws StopException {
         super.receive(inPort, m);
-        System.gc();
        // simulator.putLogImmediately(currentTime, simulator.getMasterClock().getTime() / SimulationInstance.configuration.
          //       getDoubleProperty(Config.ConfigEnum.simulationTime)* 100 + "%");
     }
@@ -39,7 +39,7 @@ public class TimeStopper extends StopEntity{
     @Override
     public boolean checkCondition() {
         if(simulator.getMasterClock().getTime() >= 
-                SimulationInstance.configuration.getDoubleProperty(Config.ConfigEnum.simulationTime)){
+                SimulationContext.getConfiguration(simulator).getDoubleProperty(Config.ConfigEnum.simulationTime)){
             return true;
         }
         else {
@@ -0,0 +1,91 @@
+package simulator11;
+
+import java.util.Random;
+import java.util.TreeSet;
+import simbase.EventList.CalendarQueueEventList;
+import simbase.SimBaseEvent;
+import simbase.SimBaseMessage;
+import simbase.Time;
+
+/**
+ * Checks that the CalendarQueueEventList dequeues the events in exactly the
+ * same order as a TreeSet, for a hold model with a growing and a shrinking
+ * queue, simultaneous events and events which are added twice.
+ */
+public class CalendarQueueTest {
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        Random random = new Random(seed);
+        TreeSet<SimBaseEvent> treeSet = new TreeSet<SimBaseEvent>();
+        CalendarQueueEventList calendar = new CalendarQueueEventList();
+        double clock = 0;
+        long sequence = 0;
+        long dequeued = 0;
+
+        // Grow to 100000 events, hold, and drain again.
+        int[] phases = {200000, 300000, 200000};
+        double[] addProbability = {0.75, 0.5, 0.25};
+        for (int phase = 0; phase < phases.length; phase++) {
+            for (int i = 0; i < phases[phase]; i++) {
+                if (random.nextDouble() < addProbability[phase] || treeSet.isEmpty()) {
+                    SimBaseEvent event = createEvent(random, clock);
+                    event.setSequence(sequence++);
+                    if (random.nextDouble() < 0.01 && treeSet.add(event) != calendar.add(event)) {
+                        fail("add differs for " + event.getTime() + " " + event.getMessage());
+                    }
+                    if (treeSet.add(event) != calendar.add(event)) {
+                        fail("add differs for " + event.getTime() + " " + event.getMessage());
+                    }
+                } else {
+                    SimBaseEvent expected = treeSet.pollFirst();
+                    SimBaseEvent actual = calendar.pollFirst();
+                    if (expected != actual) {
+                        fail("event " + dequeued + ": expected " + expected.getTime() + " "
+                                + expected.getMessage() + " but was " + actual.getTime() + " " + actual.getMessage());
+                    }
+                    clock = actual.getTime().getTime();
+                    dequeued++;
+                }
+                if (treeSet.size() != calendar.size()) {
+                    fail("size differs: " + treeSet.size() + " " + calendar.size());
+                }
+            }
+        }
+        while (!treeSet.isEmpty()) {
+            if (treeSet.pollFirst() != calendar.pollFirst()) {
+                fail("event " + dequeued + " differs while draining");
+            }
+            dequeued++;
+        }
+        if (!calendar.isEmpty()) {
+            fail("calendar queue is not empty");
+        }
+        System.out.println("OK: " + dequeued + " events dequeued in TreeSet order (seed " + seed + ")");
+    }
+
+    /**
+     * Creates an event in the future of the clock. Some events are
+     * simultaneous.
+     */
+    private static SimBaseEvent createEvent(Random random, double clock) {
+        double time;
+        double r = random.nextDouble();
+        if (r < 0.2) {
+            time = clock;
+        } else if (r < 0.3) {
+            time = clock + random.nextInt(5);
+        } else {
+            time = clock - 10 * Math.log(random.nextDouble());
+        }
+        SimBaseEvent event = new SimBaseEvent();
+        event.setTime(new Time(time));
+        event.setMessage(new SimBaseMessage("msg" + random.nextInt(1000)));
+        return event;
+    }
+
+    private static void fail(String message) {
+        System.err.println("FAILED: " + message);
+        System.exit(1);
+    }
+}
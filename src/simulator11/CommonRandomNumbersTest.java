@@ -0,0 +1,76 @@
+package simulator11;
+
+import Grid.Interfaces.ResourceNode;
+import Grid.Utilities.Config;
+import Grid.Utilities.SampleAverage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import simbase.Replication.Replication;
+import simbase.Replication.ReplicationResults;
+import simbase.Replication.ReplicationRunner;
+
+/**
+ * Compares the system time of the queue of {@link MM1QueueTest} at two loads,
+ * once with independent seeds for both loads and once with common random
+ * numbers: the same master seed, so that the client of both configurations
+ * draws its interarrival times and job sizes from the same named streams.
+ * Common random numbers should give a much smaller confidence interval for the
+ * difference, and a replication run twice with the same seed should give the
+ * same result.
+ *
+ * Arguments: [replications] [load a] [load b] [seed]
+ */
+public class CommonRandomNumbersTest {
+
+    public static void main(String[] args) {
+        int replications = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        double loadA = args.length > 1 ? Double.parseDouble(args[1]) : 0.5;
+        double loadB = args.length > 2 ? Double.parseDouble(args[2]) : 0.6;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+
+        // Read once here, as the replications may run on several threads.
+        Config defaults = new Config();
+        defaults.setProperty(Config.ConfigEnum.output.toString(), "false");
+
+        ReplicationResults a = new ReplicationRunner(createReplication(defaults, loadA), replications, seed).run();
+        ReplicationResults independentB = new ReplicationRunner(createReplication(defaults, loadB), replications, seed + 1).run();
+        ReplicationResults commonB = new ReplicationRunner(createReplication(defaults, loadB), replications, seed).run();
+
+        SampleAverage independent = new SampleAverage();
+        SampleAverage common = new SampleAverage();
+        for (int i = 0; i < replications; i++) {
+            double systemTimeA = a.getResult(i).get("systemTime");
+            independent.addSample(independentB.getResult(i).get("systemTime") - systemTimeA);
+            common.addSample(commonB.getResult(i).get("systemTime") - systemTimeA);
+        }
+        System.out.println("system time at load " + loadB + " minus load " + loadA + ", " + replications + " replications:");
+        System.out.println("  independent streams    " + independent.getAverage() + " +/- " + independent.getHalfWidth(0.95));
+        System.out.println("  common random numbers  " + common.getAverage() + " +/- " + common.getHalfWidth(0.95));
+
+        ReplicationResults again = new ReplicationRunner(createReplication(defaults, loadA), 1, seed).run();
+        if (!again.getResult(0).equals(a.getResult(0))) {
+            System.out.println("FAILED: the same seed gives " + a.getResult(0) + " and " + again.getResult(0));
+            System.exit(1);
+        }
+        if (common.getHalfWidth(0.95) >= independent.getHalfWidth(0.95)) {
+            System.out.println("FAILED: common random numbers do not reduce the confidence interval");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    private static Replication createReplication(final Config defaults, final double occ) {
+        return new Replication() {
+
+            public Map<String, Double> run(int index, int seed) {
+                MM1Queue queue = new MM1Queue(new Config(defaults), occ, seed);
+                queue.run();
+                ResourceNode resource = queue.getResource();
+
+                Map<String, Double> result = new LinkedHashMap<String, Double>();
+                result.put("systemTime", resource.getSystemTime().getAverage());
+                return result;
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package simulator11;
+
+import Grid.GridSimulator;
+import Grid.Utilities.Config;
+import Grid.Utilities.ConfigSnapshot;
+
+/**
+ * Checks that the snapshot of a configuration has the values of the
+ * configuration, does not follow later changes, and that a malformed value
+ * is reported when the simulator is created.
+ */
+public class ConfigSnapshotTest {
+
+    public static void main(String[] args) {
+        Config configuration = new Config();
+        configuration.setProperty(Config.ConfigEnum.output.toString(), "false");
+        configuration.setProperty(Config.ConfigEnum.OCS_SwitchingDelay.toString(), "0.25");
+        configuration.setProperty(Config.ConfigEnum.defaultWavelengths.toString(), "16 ");
+        configuration.remove(Config.ConfigEnum.traceFile.toString());
+        GridSimulator simulator = new GridSimulator(configuration);
+        ConfigSnapshot snapshot = simulator.getContext().getConfigSnapshot();
+
+        for (Config.ConfigEnum key : Config.ConfigEnum.values()) {
+            String value = configuration.getProperty(key.toString());
+            if (value == null || !snapshot.contains(key)) {
+                continue;
+            }
+            try {
+                double parsed = Double.parseDouble(value);
+                if (snapshot.getDouble(key) != parsed) {
+                    fail(key + " is " + snapshot.getDouble(key) + " instead of " + value);
+                }
+            } catch (NumberFormatException e) {
+                // Not a number.
+            }
+        }
+        if (snapshot.getOCSSwitchingDelay() != 0.25 || snapshot.getDefaultWavelengths() != 16
+                || snapshot.getOutput() != Boolean.FALSE || snapshot.getTraceFile() != null) {
+            fail("the typed values differ from the configuration");
+        }
+
+        configuration.setProperty(Config.ConfigEnum.OCS_SwitchingDelay.toString(), "0.5");
+        if (snapshot.getOCSSwitchingDelay() != 0.25) {
+            fail("the snapshot follows a change of the configuration");
+        }
+
+        configuration.remove(Config.ConfigEnum.confirmOCSDelay.toString());
+        try {
+            new GridSimulator(configuration).getContext().getConfigSnapshot().getConfirmOCSDelay();
+            fail("a missing value is not reported");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        String[][] malformed = {
+            {Config.ConfigEnum.OCS_SwitchingDelay.toString(), "0,5"},
+            {Config.ConfigEnum.defaultCPUCount.toString(), "2.5"},
+            {Config.ConfigEnum.hopRecording.toString(), "some"},
+            {Config.ConfigEnum.stateSampleInterval.toString(), "0"}
+        };
+        for (String[] property : malformed) {
+            Config wrong = new Config();
+            wrong.putAll(configuration);
+            wrong.setProperty(property[0], property[1]);
+            try {
+                new GridSimulator(wrong);
+                fail(property[0] + "=" + property[1] + " is not reported");
+            } catch (IllegalArgumentException e) {
+                System.out.println("reported: " + e.getMessage());
+            }
+        }
+        System.out.println("OK");
+    }
+
+    private static void fail(String message) {
+        System.out.println("FAILED: " + message);
+        System.exit(1);
+    }
+}
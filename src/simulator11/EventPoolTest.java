@@ -0,0 +1,93 @@
+package simulator11;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import simbase.EventList.CalendarQueueEventList;
+import simbase.EventPool;
+import simbase.Exceptions.StopException;
+import simbase.Port.SimBaseInPort;
+import simbase.SimBaseDefaultEntityImpl;
+import simbase.SimBaseEvent;
+import simbase.SimBaseMessage;
+import simbase.SimBaseSimulator;
+import simbase.Time;
+
+/**
+ * Checks that a simulator which recycles its events in an {@link EventPool}
+ * delivers the same messages at the same times as one which does not, with
+ * and without the debug checks, and that the debug mode detects an event
+ * which is used after it is released or released twice.
+ */
+public class EventPoolTest {
+
+    public static void main(String[] args) throws Exception {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42;
+
+        List<String> expected = run(null, seed);
+        if (!expected.equals(run(new EventPool(), seed))) {
+            fail("the pooled simulator delivers other events");
+        }
+        EventPool debugPool = new EventPool(16, true);
+        if (!expected.equals(run(debugPool, seed))) {
+            fail("the pooled simulator in debug mode delivers other events");
+        }
+        if (debugPool.getReused() == 0) {
+            fail("no event was reused");
+        }
+
+        EventPool pool = new EventPool(16, true);
+        SimBaseEvent event = pool.obtain(null, new SimBaseMessage("M"), new Time(1));
+        pool.release(event);
+        try {
+            event.getMessage();
+            fail("use after release is not detected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            pool.release(event);
+            fail("double release is not detected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        System.out.println("OK: " + expected.size() + " events delivered in the same order, "
+                + debugPool.getCreated() + " events created and " + debugPool.getReused() + " reused in debug mode");
+    }
+
+    /**
+     * Runs a hold model: every delivered message schedules a new one.
+     *
+     * @return The delivered messages with their times.
+     */
+    private static List<String> run(EventPool pool, long seed) throws StopException {
+        final Random random = new Random(seed);
+        final List<String> delivered = new ArrayList<String>();
+        final SimBaseSimulator simulator = new SimBaseSimulator(new CalendarQueueEventList());
+        simulator.setEventPool(pool);
+        SimBaseDefaultEntityImpl entity = new SimBaseDefaultEntityImpl("ENTITY", simulator) {
+
+            @Override
+            public void receive(SimBaseInPort inPort, SimBaseMessage m) {
+                delivered.add(m.getId() + "@" + getCurrentTime().getTime());
+                if (delivered.size() < 100000) {
+                    double delay = random.nextInt(4) == 0 ? 0 : -10 * Math.log(1 - random.nextDouble());
+                    sendSelf(new SimBaseMessage("M" + delivered.size()), getCurrentTime().getTime() + delay);
+                }
+            }
+        };
+        simulator.register(entity);
+        for (int i = 0; i < 100; i++) {
+            entity.sendSelf(new SimBaseMessage("START" + i), 10 * random.nextDouble());
+        }
+        while (!simulator.getEvents().isEmpty()) {
+            simulator.runNextEvent();
+        }
+        return delivered;
+    }
+
+    private static void fail(String message) {
+        System.out.println("FAILED: " + message);
+        System.exit(1);
+    }
+}
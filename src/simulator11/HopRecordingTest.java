@@ -0,0 +1,70 @@
+package simulator11;
+
+import Grid.Entity;
+import Grid.GridSimulator;
+import Grid.Interfaces.Messages.GridMessage;
+import Grid.Interfaces.Messages.JobMessage;
+import Grid.Route;
+import Grid.Utilities.Config;
+import Grid.Utilities.Util;
+import java.util.ArrayList;
+import java.util.List;
+import simbase.Time;
+
+/**
+ * Checks that a message gives the same previous hop and hop count whatever it
+ * records of its hops, and that it only has a route when it records the full
+ * path.
+ */
+public class HopRecordingTest {
+
+    public static void main(String[] args) {
+        for (GridMessage.HopRecording hopRecording : GridMessage.HopRecording.values()) {
+            check(hopRecording);
+        }
+        System.out.println("OK");
+    }
+
+    private static void check(GridMessage.HopRecording hopRecording) {
+        Config configuration = new Config();
+        configuration.setProperty(Config.ConfigEnum.output.toString(), "false");
+        GridSimulator simulator = new GridSimulator(configuration);
+        simulator.setHopRecording(hopRecording);
+
+        List<Entity> path = new ArrayList<Entity>();
+        path.add((Entity) Util.createOBSClient("client", simulator));
+        for (int i = 0; i < 6; i++) {
+            path.add((Entity) Util.createOBSSwitch("switch" + i, simulator, false));
+        }
+        path.add((Entity) Util.createOBSResource("resource", simulator));
+
+        GridMessage message = new JobMessage("job", new Time(0));
+        message.setSource(path.get(0));
+        message.setDestination(path.get(path.size() - 1));
+        for (int i = 1; i < path.size(); i++) {
+            message.addHop(path.get(i));
+            if (message.getPreviousHop() != path.get(i)) {
+                fail(hopRecording, "the previous hop is " + message.getPreviousHop() + " instead of " + path.get(i));
+            }
+            if (message.getHopCount() != i + 1) {
+                fail(hopRecording, "the hop count is " + message.getHopCount() + " instead of " + (i + 1));
+            }
+        }
+
+        Route route = message.getRoute();
+        if (hopRecording == GridMessage.HopRecording.FULL) {
+            if (route == null || !route.equals(path) || !route.isClosed()
+                    || route.getSource() != path.get(0) || route.getHopCount() != path.size()) {
+                fail(hopRecording, "the route is " + route + " instead of " + path);
+            }
+        } else if (route != null) {
+            fail(hopRecording, "there is a route " + route);
+        }
+        System.out.println(hopRecording + ": " + message.getHopCount() + " hops, route " + route);
+    }
+
+    private static void fail(GridMessage.HopRecording hopRecording, String message) {
+        System.out.println("FAILED (" + hopRecording + "): " + message);
+        System.exit(1);
+    }
+}
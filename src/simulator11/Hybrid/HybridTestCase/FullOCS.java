@@ -31,14 +31,18 @@ public class FullOCS {
     private SimulationInstance simInstance;
     private GridSimulator simulator;
     private int nrOfServer = 0;
-    private static int nrOfSwitch = 0;
-    private static int nrOfClient = 0;
-    private static int nrOfBroker = 0;
-    private static ServiceNode broker;
+    private int nrOfSwitch = 0;
+    private int nrOfClient = 0;
+    private int nrOfBroker = 0;
+    private ServiceNode broker;
     private ArrayList<Switch> switches = new ArrayList();
-    public static Object[][] output;
+    /**
+     * The table with the results, one column per simulation.
+     */
+    private Object[][] output;
 
-    public FullOCS(double LOAD, int iteration, int initDepth) {
+    public FullOCS(double LOAD, int iteration, int initDepth, Object[][] output) {
+        this.output = output;
         simInstance = new GridSimulation("hybridcase.cfg");
         simInstance.configuration.setProperty(Config.ConfigEnum.defaultWavelengths.toString(), Double.toString(Math.pow(2, initDepth)));
         //paramter configuration
@@ -289,11 +293,11 @@ public class FullOCS {
         nrOfSwitches = 2 * nrOfSwitches;
         nrOfSwitches--;
         //System.out.println(numberEndNodes + " " + nrOfSwitches);
-        output = new Object[(int) nrOfSwitches * 10 + (int) numberEndNodes * 6 + (int) numberEndNodes * 7 + 5][10];
+        Object[][] output = new Object[(int) nrOfSwitches * 10 + (int) numberEndNodes * 6 + (int) numberEndNodes * 7 + 5][10];
 
         double[] LOADS = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 1};
         for (int i = 0; i < LOADS.length; i++) {
-            new FullOCS(LOADS[i], i, initDepth);
+            new FullOCS(LOADS[i], i, initDepth, output);
             System.gc();
         }
 
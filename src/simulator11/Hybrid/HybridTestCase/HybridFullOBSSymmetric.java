@@ -34,10 +34,10 @@ public class HybridFullOBSSymmetric {
     private SimulationInstance simInstance;
     private GridSimulator simulator;
     private int nrOfServer = 0;
-    private static int nrOfSwitch = 0;
-    private static int nrOfClient = 0;
-    private static int nrOfBroker = 0;
-    private static ServiceNode broker;
+    private int nrOfSwitch = 0;
+    private int nrOfClient = 0;
+    private int nrOfBroker = 0;
+    private ServiceNode broker;
     private ArrayList<Switch> switches = new ArrayList();
 
     public HybridFullOBSSymmetric() {
@@ -38,7 +38,10 @@ public class HybridOCSOBSSymmetric {
     private int nrOfBroker = 0;
     private ServiceNode broker;
     private ArrayList<Switch> switches = new ArrayList();
-    public static Object[][] output;
+    /**
+     * The table with the results, one column per simulation.
+     */
+    private Object[][] output;
 
     /**
      * Creates a new Hybrid Case
@@ -46,8 +49,10 @@ public class HybridOCSOBSSymmetric {
      * @param iteration Which simulation are we handlings
      * @param initDepth The depth of the trees
      * @param OCSDepth The depth where we want to put our OCS Circuits.
+     * @param output The table to write the results in.
      */
-    public HybridOCSOBSSymmetric(double LOAD, int iteration, int initDepth, int OCSDepth) {
+    public HybridOCSOBSSymmetric(double LOAD, int iteration, int initDepth, int OCSDepth, Object[][] output) {
+        this.output = output;
         simInstance = new GridSimulation("configFiles\\hybridcase.cfg");
 
         simInstance.configuration.setProperty(Config.ConfigEnum.defaultWavelengths.toString(), Integer.toString((int) Math.pow(2, OCSDepth)));
@@ -327,11 +332,11 @@ public class HybridOCSOBSSymmetric {
         nrOfSwitches = 2 * nrOfSwitches;
         nrOfSwitches--;
         //System.out.println(2 * numberEndNodes + " " + nrOfSwitches);
-        output = new Object[(int) nrOfSwitches * 10 + (int) numberEndNodes * 6 + (int) numberEndNodes * 7 + 5][10];
+        Object[][] output = new Object[(int) nrOfSwitches * 10 + (int) numberEndNodes * 6 + (int) numberEndNodes * 7 + 5][10];
 
         double[] LOADS = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 1};
         for (int i = 0; i < LOADS.length; i++) {
-            new HybridOCSOBSSymmetric(LOADS[i], i, initDepth, OCSDepth);
+            new HybridOCSOBSSymmetric(LOADS[i], i, initDepth, OCSDepth, output);
             System.gc();
         }
 
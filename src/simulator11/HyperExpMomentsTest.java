@@ -0,0 +1,75 @@
+package simulator11;
+
+import Distributions.DDHyperExp;
+import cern.jet.random.engine.MersenneTwister;
+
+/**
+ * Checks that the samples of DDHyperExp, in exact and in bisection mode, have
+ * the mean and second moment of the configured distribution, and compares the
+ * time per sample of both modes.
+ *
+ * A phase with mean m and chance c contributes c * m to the mean and
+ * c * 2 * m^2 to the second moment. The sample moments must lie within 4
+ * standard errors of these values.
+ */
+public class HyperExpMomentsTest {
+
+    public static void main(String[] args) {
+        int samples = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int seed = args.length > 1 ? Integer.parseInt(args[1]) : 42;
+
+        double[] lambdas = {0.5, 2, 20};
+        double[] chances = {0.6, 0.3, 0.1};
+
+        boolean ok = check("exact", lambdas, chances, true, samples, seed);
+        // The bisection is much slower, use less samples.
+        ok &= check("bisection", lambdas, chances, false, samples / 10, seed);
+        ok &= check("exact, one phase", new double[]{3}, new double[]{1}, true, samples, seed);
+        if (!ok) {
+            System.out.println("FAILED");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    private static boolean check(String name, double[] lambdas, double[] chances, boolean exact, int samples, int seed) {
+        double mean = 0;
+        double second = 0;
+        double fourth = 0;
+        for (int i = 0; i < lambdas.length; i++) {
+            double m = lambdas[i];
+            mean += chances[i] * m;
+            second += chances[i] * 2 * m * m;
+            fourth += chances[i] * 24 * m * m * m * m;
+        }
+
+        DDHyperExp distribution = new DDHyperExp(lambdas, chances);
+        distribution.setExact(exact);
+        distribution.setMersenneTwister(new MersenneTwister(seed));
+
+        double sum = 0;
+        double squares = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < samples; i++) {
+            double x = distribution.sampleDouble();
+            sum += x;
+            squares += x * x;
+        }
+        double nsPerSample = (double) (System.nanoTime() - start) / samples;
+
+        double sampleMean = sum / samples;
+        double sampleSecond = squares / samples;
+        double meanError = Math.sqrt((second - mean * mean) / samples);
+        double secondError = Math.sqrt((fourth - second * second) / samples);
+        boolean ok = Math.abs(sampleMean - mean) <= 4 * meanError
+                && Math.abs(sampleSecond - second) <= 4 * secondError;
+
+        System.out.println(name + ": " + samples + " samples, " + Math.round(nsPerSample) + " ns/sample");
+        System.out.println("  mean          " + sampleMean + " expected " + mean + " +/- " + meanError);
+        System.out.println("  second moment " + sampleSecond + " expected " + second + " +/- " + secondError);
+        if (!ok) {
+            System.out.println("  moments differ more than 4 standard errors");
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,68 @@
+package simulator11;
+
+import Distributions.ConstantDistribution;
+import Distributions.DDNegExp;
+import Grid.GridSimulation;
+import Grid.GridSimulator;
+import Grid.Interfaces.ClientNode;
+import Grid.Interfaces.ResourceNode;
+import Grid.Interfaces.ServiceNode;
+import Grid.Utilities.Config;
+import Grid.Utilities.Util;
+
+/**
+ * The M/M/1 queue of {@link MM1QueueTest}, for the tests which run it: a
+ * client sends jobs with exponential interarrival times and sizes, through a
+ * broker, to a resource with one CPU of the default capacity. The service
+ * rate is the default capacity over the default flop size.
+ */
+public class MM1Queue {
+
+    private final GridSimulator simulator;
+    private final GridSimulation simInstance;
+    private final ResourceNode resource;
+    private final ServiceNode serviceNode;
+
+    /**
+     * Creates the network of the queue.
+     *
+     * @param configuration The configuration of the simulator.
+     * @param occ The load of the resource.
+     * @param seed The master seed of the simulator.
+     */
+    public MM1Queue(Config configuration, double occ, long seed) {
+        simulator = new GridSimulator(configuration);
+        // Before the entities are created, so the client takes its streams.
+        simulator.setSeed(seed);
+        simInstance = new GridSimulation(simulator);
+        double capacity = configuration.getDoubleProperty(Config.ConfigEnum.defaultCapacity);
+        resource = Util.createOBSResource("resource", simulator, 1, capacity);
+        serviceNode = Util.createOBSServiceNode("broker", simulator);
+        ClientNode client = Util.createOBSClient("client", simulator, serviceNode);
+        double mu = capacity / configuration.getDoubleProperty(Config.ConfigEnum.defaultFlopSize);
+        client.getState().setJobInterArrival(new DDNegExp(simulator, 1 / (occ * mu)));
+        client.getState().setResultSizeDistribution(new ConstantDistribution(1));
+
+        Util.createBiDirectionalLink(resource, serviceNode);
+        Util.createBiDirectionalLink(client, serviceNode);
+        Util.createBiDirectionalLink(client, resource);
+    }
+
+    /**
+     * Routes the network, starts the entities and runs the simulation.
+     */
+    public void run() {
+        simulator.route();
+        simulator.initEntities();
+        resource.addServiceNode(serviceNode);
+        simInstance.run();
+    }
+
+    public GridSimulator getSimulator() {
+        return simulator;
+    }
+
+    public ResourceNode getResource() {
+        return resource;
+    }
+}
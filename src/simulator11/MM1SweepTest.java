@@ -0,0 +1,62 @@
+package simulator11;
+
+import Grid.Interfaces.ResourceNode;
+import Grid.Utilities.Config;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import simbase.Replication.ParameterGrid;
+import simbase.Replication.ParameterSweep;
+import simbase.Replication.SweepExperiment;
+
+/**
+ * Sweeps the load and the seed of the queue of {@link MM1QueueTest} with a
+ * {@link ParameterSweep}, and writes the system time and population of the
+ * resource as CSV.
+ *
+ * Arguments: [workers] [output file, default standard out]
+ */
+public class MM1SweepTest {
+
+    public static void main(String[] args) throws IOException {
+        int workers = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        Writer out = args.length > 1 ? new FileWriter(args[1]) : new OutputStreamWriter(System.out);
+
+        ParameterGrid grid = new ParameterGrid();
+        grid.add("load", 0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9);
+        grid.add("seed", 1, 2, 3);
+
+        // Read once here, as the points run on several threads.
+        final Config defaults = new Config();
+        defaults.setProperty(Config.ConfigEnum.output.toString(), "false");
+
+        SweepExperiment mm1 = new SweepExperiment() {
+
+            public Map<String, Object> run(Map<String, Object> point) {
+                double occ = ((Number) point.get("load")).doubleValue();
+                int seed = ((Number) point.get("seed")).intValue();
+
+                MM1Queue queue = new MM1Queue(new Config(defaults), occ, seed);
+                queue.run();
+                ResourceNode resource = queue.getResource();
+
+                Map<String, Object> result = new LinkedHashMap<String, Object>();
+                result.put("jobs", resource.getSystemTime().getNrOfSamples());
+                result.put("systemTime", resource.getSystemTime().getAverage());
+                result.put("systemPopulation", resource.getSystemPopulation().getAverage());
+                return result;
+            }
+        };
+
+        ParameterSweep sweep = new ParameterSweep(grid, mm1);
+        sweep.setWorkers(workers);
+        try {
+            sweep.run(out);
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package simulator11;
+
+import Grid.Interfaces.ResourceNode;
+import Grid.Utilities.Config;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import simbase.Replication.Replication;
+import simbase.Replication.ReplicationResults;
+import simbase.Replication.ReplicationRunner;
+
+/**
+ * Runs independent replications of the queue of {@link MM1QueueTest} and
+ * prints the confidence intervals of the system time and population of the
+ * resource. The experiment is run twice, to check that the same seed gives
+ * the same results.
+ *
+ * Arguments: [replications] [parallelism] [load] [seed]
+ */
+public class ReplicationTest {
+
+    public static void main(String[] args) {
+        int replications = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final double occ = args.length > 2 ? Double.parseDouble(args[2]) : 0.5;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+
+        // Read once here, as the replications run on several threads.
+        final Config defaults = new Config();
+        defaults.setProperty(Config.ConfigEnum.output.toString(), "false");
+
+        Replication mm1 = new Replication() {
+
+            public Map<String, Double> run(int index, int seed) {
+                // Every replication has its own configuration, without HTML output.
+                MM1Queue queue = new MM1Queue(new Config(defaults), occ, seed);
+                queue.run();
+                ResourceNode resource = queue.getResource();
+
+                Map<String, Double> result = new LinkedHashMap<String, Double>();
+                result.put("systemTime", resource.getSystemTime().getAverage());
+                result.put("systemPopulation", resource.getSystemPopulation().getAverage());
+                return result;
+            }
+        };
+
+        ReplicationRunner runner = new ReplicationRunner(mm1, replications, seed);
+        runner.setParallelism(parallelism);
+        long start = System.currentTimeMillis();
+        ReplicationResults first = runner.run();
+        long duration = System.currentTimeMillis() - start;
+        System.out.print(first.toString(0.95));
+        System.out.println(replications + " replications in " + duration + " ms, parallelism " + parallelism);
+
+        ReplicationResults second = runner.run();
+        for (int i = 0; i < replications; i++) {
+            if (!first.getResult(i).equals(second.getResult(i))) {
+                System.out.println("FAILED: replication " + i + " differs: "
+                        + first.getResult(i) + " " + second.getResult(i));
+                System.exit(1);
+            }
+        }
+        System.out.println("OK: the replications are reproducible");
+    }
+}
@@ -0,0 +1,81 @@
+package simulator11;
+
+import Grid.Nodes.Listeners.MMMListener;
+import Grid.Utilities.Config;
+import simbase.StateSampler;
+
+/**
+ * Samples the number of jobs in the M/M/1 queue of {@link MM1QueueTest} with a
+ * {@link StateSampler}. The samples must be taken at the sampling interval: one
+ * per interval of the run, and the listener gets exactly the samples, none of
+ * the changes in between. Their average is a time average, which must be close
+ * to rho / (1 - rho). For comparison, the listener is also run on every change,
+ * and a run without a listener is timed with and without a sampler; these
+ * times are only printed.
+ *
+ * Arguments: [sample interval] [load] [seed]
+ */
+public class StateSamplingTest {
+
+    public static void main(String[] args) {
+        double interval = args.length > 0 ? Double.parseDouble(args[0]) : 10;
+        double occ = args.length > 1 ? Double.parseDouble(args[1]) : 0.5;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        MMMListener everyChange = run(occ, seed, true, null);
+        StateSampler sampler = new StateSampler(interval);
+        MMMListener sampled = run(occ, seed, true, sampler);
+        double expected = occ / (1 - occ);
+        System.out.println("average number of jobs, expected " + expected);
+        System.out.println("  every change    " + everyChange.getSystemPopulation().getAverage()
+                + " (" + (long) everyChange.getSystemPopulation().getNrOfSamples() + " changes)");
+        System.out.println("  every " + interval + "  " + sampled.getSystemPopulation().getAverage()
+                + " +/- " + sampled.getSystemPopulation().getHalfWidth(0.95)
+                + " (" + sampler.getSampleCount() + " samples)");
+
+        long start = System.nanoTime();
+        run(occ, seed, false, null);
+        long withoutSampler = System.nanoTime() - start;
+        start = System.nanoTime();
+        run(occ, seed, false, new StateSampler(interval));
+        long withSampler = System.nanoTime() - start;
+        System.out.println("without a listener: " + withoutSampler / 1000000 + " ms, with a sampler "
+                + withSampler / 1000000 + " ms");
+
+        if ((long) sampled.getSystemPopulation().getNrOfSamples() != sampler.getSampleCount()) {
+            fail("the listener got " + (long) sampled.getSystemPopulation().getNrOfSamples()
+                    + " samples, the sampler took " + sampler.getSampleCount());
+        }
+        // The samples are correlated, allow a wide margin.
+        if (Math.abs(sampled.getSystemPopulation().getAverage() - expected) > 0.2 * expected) {
+            fail("the sampled average is too far from " + expected);
+        }
+        System.out.println("OK");
+    }
+
+    private static MMMListener run(double occ, long seed, boolean listen, StateSampler sampler) {
+        Config configuration = new Config();
+        configuration.setProperty(Config.ConfigEnum.output.toString(), "false");
+        configuration.setProperty(Config.ConfigEnum.simulationTime.toString(), "100000");
+        MM1Queue queue = new MM1Queue(configuration, occ, seed);
+        queue.getSimulator().setStateSampler(sampler);
+        MMMListener listener = new MMMListener(queue.getResource());
+        if (listen) {
+            queue.getResource().addChangeListener(listener);
+        }
+        queue.run();
+        if (sampler != null) {
+            // A sample at every multiple of the interval up to the last event.
+            long expected = (long) Math.floor(queue.getSimulator().getMasterClock().getTime() / sampler.getInterval()) + 1;
+            if (sampler.getSampleCount() != expected) {
+                fail("the sampler took " + sampler.getSampleCount() + " samples instead of " + expected);
+            }
+        }
+        return listener;
+    }
+
+    private static void fail(String message) {
+        System.out.println("FAILED: " + message);
+        System.exit(1);
+    }
+}